@@ -1,5 +1,7 @@
 package com.coursecomparison.config;
 
+import com.coursecomparison.service.FetchPriority;
+import com.coursecomparison.service.OutboundHttpGateway;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -8,6 +10,7 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * Configuration for asynchronous processing and scheduled tasks
@@ -39,8 +42,63 @@ public class AsyncConfig {
         return executor;
     }
     
+    @Bean(name = "liveSearchExecutor")
+    public ThreadPoolTaskExecutor liveSearchExecutor() {
+        // One thread per platform search: 5 platforms x 8 concurrent live searches. Core equals max
+        // because the pool only grows past core once the queue is full; idle threads time out.
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(40);
+        executor.setMaxPoolSize(40);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setQueueCapacity(50);
+        executor.setThreadNamePrefix("LiveSearch-");
+        executor.setTaskDecorator(FetchPriority.propagating());
+        executor.initialize();
+        return executor;
+    }
+    
+    @Bean(name = "strategyExecutor")
+    public ThreadPoolTaskExecutor strategyExecutor() {
+        // Strategies start on demand and hand off directly; when saturated a strategy is rejected
+        // and the race goes on without it, instead of running it inline on the racing thread
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(10);
+        executor.setMaxPoolSize(40);
+        executor.setQueueCapacity(0);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setThreadNamePrefix("LiveStrategy-");
+        executor.setTaskDecorator(FetchPriority.propagating());
+        executor.initialize();
+        return executor;
+    }
+    
+    @Bean(name = "urlValidationExecutor")
+    public ThreadPoolTaskExecutor urlValidationExecutor() {
+        // Bounded budget for background URL checks; overflow is rejected and picked up by the next sweep
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(500);
+        executor.setThreadNamePrefix("UrlValidation-");
+        executor.initialize();
+        return executor;
+    }
+    
+    @Bean(name = "liveRefreshExecutor")
+    public ThreadPoolTaskExecutor liveRefreshExecutor() {
+        // Background stale-while-revalidate refreshes; overflow is rejected and retried by a later request
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("LiveRefresh-");
+        executor.initialize();
+        return executor;
+    }
+    
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(OutboundHttpGateway outboundHttpGateway) {
+        // Shares the gateway's pooled HTTP/2 client, timeouts and per-host metrics
+        return outboundHttpGateway.createRestTemplate();
     }
 }
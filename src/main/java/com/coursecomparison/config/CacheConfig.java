@@ -36,7 +36,7 @@ public class CacheConfig {
 
     @Bean
     public CaffeineCacheManager courseCacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager("courses", "searchResults", "platforms", "topics");
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager("courses", "platforms", "topics");
         cacheManager.setCaffeine(Caffeine.newBuilder()
                 .initialCapacity(50)
                 .maximumSize(500)
@@ -2,7 +2,9 @@ package com.coursecomparison.controller;
 
 import com.coursecomparison.model.Course;
 import com.coursecomparison.model.User;
+import com.coursecomparison.service.CourseCatalogIndex;
 import com.coursecomparison.service.CourseService;
+import com.coursecomparison.service.SearchQueryPlanner;
 import com.coursecomparison.service.MCDMService.Algorithm;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -41,7 +43,9 @@ public class CourseController {
         
         Map<String, String> endpoints = new HashMap<>();
         endpoints.put("search", "/api/courses/search?keyword=your_search_term");
+        endpoints.put("suggest", "/api/courses/suggest?keyword=your_search_term");
         endpoints.put("advanced_search", "/api/courses/advanced-search (POST with filters)");
+        endpoints.put("advanced_search_explain", "/api/courses/advanced-search/explain (POST with filters)");
         endpoints.put("platform", "/api/courses/platform/{platform_name}");
         endpoints.put("topic", "/api/courses/topic/{topic_name}");
         endpoints.put("topics", "/api/courses/topics");
@@ -50,7 +54,10 @@ public class CourseController {
         endpoints.put("languages", "/api/courses/languages");
         endpoints.put("rank", "/api/courses/rank (POST)");
         endpoints.put("recommendations", "/api/courses/recommendations?limit=10");
+        endpoints.put("facets", "/api/courses/facets?platform=Udemy&minRating=4.0");
         endpoints.put("pagination", "/api/courses/page?page=0&size=20&sortBy=rating&sortDir=desc");
+        endpoints.put("similar", "/api/courses/{id}/similar?limit=6");
+        endpoints.put("cursor_pagination", "/api/courses/cursor?size=20&cursor={nextCursor}");
         
         apiInfo.put("endpoints", endpoints);
         apiInfo.put("algorithms", List.of("TOPSIS", "AHP", "PERSONALIZED"));
@@ -81,6 +88,19 @@ public class CourseController {
         return ResponseEntity.ok(courses);
     }
 
+    @GetMapping("/suggest")
+    @Operation(summary = "Did You Mean", description = "Spelling correction for a search keyword against the catalog vocabulary")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Suggestion computed")
+    })
+    public ResponseEntity<Map<String, Object>> suggestKeyword(
+            @Parameter(description = "Search keyword", required = true) @RequestParam String keyword) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("keyword", keyword);
+        response.put("suggestion", courseService.suggestKeyword(keyword).orElse(null));
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping("/advanced-search")
     public ResponseEntity<List<Course>> advancedSearch(
             @RequestParam(required = false) String keyword,
@@ -100,6 +120,31 @@ public class CourseController {
         return ResponseEntity.ok(courses);
     }
 
+    @PostMapping("/advanced-search/explain")
+    @Operation(summary = "Explain Advanced Search", description = "Plan and execute a filtered search, returning the chosen filter path, selectivity estimates, costs and actual timings")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Search plan returned successfully"),
+        @ApiResponse(responseCode = "400", description = "No filters supplied")
+    })
+    public ResponseEntity<Map<String, Object>> explainAdvancedSearch(
+            @RequestParam(required = false) String keyword,
+            @RequestBody(required = false) Map<String, Object> filters) {
+        
+        Map<String, Object> response = new HashMap<>();
+        if (filters == null || filters.isEmpty()) {
+            response.put("error", "The planner only handles filtered searches; supply at least one filter");
+            return ResponseEntity.badRequest().body(response);
+        }
+        
+        SearchQueryPlanner.QueryPlan plan = courseService.planAdvancedSearch(keyword, filters);
+        List<Course> courses = courseService.executeAdvancedSearch(plan, keyword, filters, null);
+        
+        response.put("plan", plan);
+        response.put("coursesFound", courses.size());
+        response.put("courses", courses);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/platform/{platform}")
     public ResponseEntity<List<Course>> getCoursesByPlatform(
             @PathVariable String platform,
@@ -202,6 +247,20 @@ public class CourseController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/{id}/similar")
+    @Operation(summary = "Similar Courses", description = "Nearest neighbours of a course by cosine similarity over TF-IDF text and criterion vectors")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Similar courses found"),
+        @ApiResponse(responseCode = "404", description = "Course not found")
+    })
+    public ResponseEntity<List<Course>> getSimilarCourses(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "6") int limit) {
+        return courseService.getCourseById(id)
+                .map(course -> ResponseEntity.ok(courseService.getSimilarCourses(course, Math.min(limit, 50))))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/filter")
     public ResponseEntity<List<Course>> filterCourses(
             @RequestParam(required = false) Double minPrice,
@@ -213,20 +272,63 @@ public class CourseController {
             @RequestParam(required = false) String language,
             @RequestParam(required = false) Boolean hasCertificate) {
         
-        Map<String, Object> filters = new HashMap<>();
-        if (minPrice != null) filters.put("minPrice", minPrice);
-        if (maxPrice != null) filters.put("maxPrice", maxPrice);
-        if (minRating != null) filters.put("minRating", minRating);
-        if (platform != null) filters.put("platform", platform);
-        if (topic != null) filters.put("topic", topic);
-        if (difficulty != null) filters.put("difficulty", difficulty);
-        if (language != null) filters.put("language", language);
-        if (hasCertificate != null) filters.put("hasCertificate", hasCertificate);
+        Map<String, Object> filters = buildFilters(minPrice, maxPrice, minRating, platform, topic,
+                                                   difficulty, language, hasCertificate);
         
         List<Course> courses = courseService.advancedSearch(null, filters, null);
         return ResponseEntity.ok(courses);
     }
 
+    @GetMapping("/facets")
+    @Operation(summary = "Faceted Filter", description = "Filter courses through the in-memory bitmap index and return facet counts and numeric histograms")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Filter applied successfully")
+    })
+    public ResponseEntity<CourseCatalogIndex.FacetedResult> facetedFilter(
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Double minRating,
+            @RequestParam(required = false) String platform,
+            @RequestParam(required = false) String topic,
+            @RequestParam(required = false) String difficulty,
+            @RequestParam(required = false) String language,
+            @RequestParam(required = false) Boolean hasCertificate) {
+        
+        Map<String, Object> filters = buildFilters(minPrice, maxPrice, minRating, platform, topic,
+                                                   difficulty, language, hasCertificate);
+        
+        return ResponseEntity.ok(courseService.facetedSearch(filters, null));
+    }
+
+    @GetMapping("/cursor")
+    @Operation(summary = "Cursor Pagination", description = "Page through the fully ranked, filtered result using an opaque (score, id) cursor")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Page returned successfully"),
+        @ApiResponse(responseCode = "400", description = "Malformed cursor, or a cursor issued for other filters")
+    })
+    public ResponseEntity<?> getCoursesByCursor(
+            @Parameter(description = "Cursor from the previous page; omit for the first page") @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Double minRating,
+            @RequestParam(required = false) String platform,
+            @RequestParam(required = false) String topic,
+            @RequestParam(required = false) String difficulty,
+            @RequestParam(required = false) String language,
+            @RequestParam(required = false) Boolean hasCertificate) {
+        
+        Map<String, Object> filters = buildFilters(minPrice, maxPrice, minRating, platform, topic,
+                                                   difficulty, language, hasCertificate);
+        try {
+            return ResponseEntity.ok(courseService.getCoursesByCursor(filters, cursor, size, null));
+        } catch (IllegalArgumentException e) {
+            Map<String, String> response = new HashMap<>();
+            response.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
     @GetMapping("/compare")
     public ResponseEntity<Map<String, List<Course>>> compareAlgorithms(
             @RequestParam List<Long> courseIds) {
@@ -244,6 +346,20 @@ public class CourseController {
         return ResponseEntity.ok(comparison);
     }
 
+    private Map<String, Object> buildFilters(Double minPrice, Double maxPrice, Double minRating, String platform,
+                                             String topic, String difficulty, String language, Boolean hasCertificate) {
+        Map<String, Object> filters = new HashMap<>();
+        if (minPrice != null) filters.put("minPrice", minPrice);
+        if (maxPrice != null) filters.put("maxPrice", maxPrice);
+        if (minRating != null) filters.put("minRating", minRating);
+        if (platform != null) filters.put("platform", platform);
+        if (topic != null) filters.put("topic", topic);
+        if (difficulty != null) filters.put("difficulty", difficulty);
+        if (language != null) filters.put("language", language);
+        if (hasCertificate != null) filters.put("hasCertificate", hasCertificate);
+        return filters;
+    }
+
     @PostMapping("/cache/clear")
     public ResponseEntity<Map<String, String>> clearCache() {
         courseService.clearCache();
@@ -3,15 +3,22 @@ package com.coursecomparison.controller;
 import com.coursecomparison.model.Course;
 import com.coursecomparison.service.LiveCourseService;
 import com.coursecomparison.service.CourseService;
+import com.coursecomparison.service.PlatformFanOut;
+import com.coursecomparison.service.CourseBulkIngestionService;
+import com.coursecomparison.service.ProgressiveSearchService;
 import com.coursecomparison.repository.CourseRepository;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -34,6 +41,38 @@ public class LiveDataController {
     @Autowired
     private CourseRepository courseRepository;
 
+    @Autowired
+    private CourseBulkIngestionService courseBulkIngestionService;
+
+    @Autowired
+    private ProgressiveSearchService progressiveSearchService;
+
+    @Value("${live.search.stream-timeout-ms:30000}")
+    private long streamTimeoutMs;
+
+    @GetMapping(value = "/search/{keyword}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream Live Search", description = "Server-Sent Events: local matches first, then each platform's ranked courses as it finishes, re-ranking events and a final summary")
+    public SseEmitter streamLiveSearch(@PathVariable String keyword) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        try {
+            progressiveSearchService.stream(keyword, new ProgressiveSearchService.EventSink() {
+                @Override
+                public void send(String event, Object data) throws IOException {
+                    emitter.send(SseEmitter.event().name(event).data(data, MediaType.APPLICATION_JSON));
+                }
+
+                @Override
+                public void complete() {
+                    emitter.complete();
+                }
+            });
+        } catch (Exception e) {
+            // Executor saturated
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
     @PostMapping("/search/{keyword}")
     @Operation(summary = "Search Live Courses", description = "Search for live courses and optionally save them to database")
     @ApiResponses(value = {
@@ -45,25 +84,18 @@ public class LiveDataController {
             @RequestParam(defaultValue = "false") boolean saveToDatabase) {
         
         try {
-            List<Course> courses = liveCourseService.searchLiveCourses(keyword);
+            PlatformFanOut.FanOutResult result = liveCourseService.searchLiveCoursesWithOutcomes(keyword);
+            List<Course> courses = result.getCourses();
             
             Map<String, Object> response = new HashMap<>();
             response.put("keyword", keyword);
             response.put("coursesFound", courses.size());
             response.put("courses", courses);
+            response.put("platforms", result.getOutcomes());
             response.put("timestamp", System.currentTimeMillis());
             
             if (saveToDatabase && !courses.isEmpty()) {
-                int savedCount = 0;
-                for (Course course : courses) {
-                    try {
-                        courseRepository.save(course);
-                        savedCount++;
-                    } catch (Exception e) {
-                        // Log error but continue with other courses
-                        System.err.println("Error saving course: " + e.getMessage());
-                    }
-                }
+                int savedCount = courseBulkIngestionService.upsert(courses);
                 response.put("savedToDatabase", savedCount);
                 response.put("message", "Live search completed and " + savedCount + " courses saved to database");
             } else {
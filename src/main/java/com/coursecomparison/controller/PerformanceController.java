@@ -2,6 +2,22 @@ package com.coursecomparison.controller;
 
 import com.coursecomparison.service.ScheduledCourseUpdateService;
 import com.coursecomparison.service.LiveCourseService;
+import com.coursecomparison.service.CourseDeduplicationService;
+import com.coursecomparison.service.SearchResultCache;
+import com.coursecomparison.service.OutboundHttpGateway;
+import com.coursecomparison.service.PlatformResilience;
+import com.coursecomparison.service.PolitenessScheduler;
+import com.coursecomparison.service.HttpDiskCache;
+import com.coursecomparison.service.CourseValidationService;
+import com.coursecomparison.service.CourseBulkIngestionService;
+import com.coursecomparison.service.FallbackCourseService;
+import com.coursecomparison.service.IngestionPipeline;
+import com.coursecomparison.service.LiveSearchCoalescer;
+import com.coursecomparison.service.LiveDataFreshnessService;
+import com.coursecomparison.service.PlatformAdapterRegistry;
+import com.coursecomparison.service.PlatformStubServer;
+import com.coursecomparison.service.HttpFixtureStore;
+import com.coursecomparison.service.LiveSearchBenchmarkService;
 import com.coursecomparison.model.Course;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -29,6 +45,54 @@ public class PerformanceController {
     
     @Autowired
     private LiveCourseService liveCourseService;
+    
+    @Autowired
+    private CourseDeduplicationService courseDeduplicationService;
+    
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Autowired
+    private OutboundHttpGateway outboundHttpGateway;
+
+    @Autowired
+    private PlatformResilience platformResilience;
+
+    @Autowired
+    private PolitenessScheduler politenessScheduler;
+
+    @Autowired
+    private HttpDiskCache httpDiskCache;
+
+    @Autowired
+    private CourseValidationService courseValidationService;
+
+    @Autowired
+    private CourseBulkIngestionService courseBulkIngestionService;
+
+    @Autowired
+    private IngestionPipeline ingestionPipeline;
+
+    @Autowired
+    private LiveSearchCoalescer liveSearchCoalescer;
+
+    @Autowired
+    private LiveDataFreshnessService liveDataFreshnessService;
+
+    @Autowired
+    private FallbackCourseService fallbackCourseService;
+
+    @Autowired
+    private PlatformAdapterRegistry platformAdapterRegistry;
+
+    @Autowired
+    private PlatformStubServer platformStubServer;
+
+    @Autowired
+    private HttpFixtureStore httpFixtureStore;
+
+    @Autowired
+    private LiveSearchBenchmarkService liveSearchBenchmarkService;
 
     @GetMapping("/health")
     @Operation(summary = "System Health Check", description = "Returns system health status and performance metrics")
@@ -120,6 +184,48 @@ public class PerformanceController {
         systemMetrics.put("nanoTime", System.nanoTime());
         metrics.put("system", systemMetrics);
         
+        // Near-duplicate detection
+        metrics.put("deduplication", courseDeduplicationService.getStatistics());
+        
+        // Search result cache
+        metrics.put("searchCache", searchResultCache.getStatistics());
+
+        // Outbound HTTP per host
+        metrics.put("http", outboundHttpGateway.getStatistics());
+
+        // Circuit breakers and concurrency limits per platform
+        metrics.put("resilience", platformResilience.getStatistics());
+
+        // Per-host rate limiting and lane queues
+        metrics.put("politeness", politenessScheduler.getStatistics());
+
+        // Disk HTTP cache
+        metrics.put("httpCache", httpDiskCache.getStatistics());
+
+        // Course URL checks
+        metrics.put("urlValidation", courseValidationService.getStatistics());
+
+        // Bulk course upserts
+        metrics.put("ingestion", courseBulkIngestionService.getStatistics());
+
+        // Ingestion pipeline stage queues, workers and throughput
+        metrics.put("pipeline", ingestionPipeline.getStatistics());
+
+        // Shared live searches and stale-while-revalidate refreshes
+        metrics.put("liveSearch", liveSearchCoalescer.getStatistics());
+        metrics.put("liveFreshness", liveDataFreshnessService.getStatistics());
+
+        // Indexed fallback courses served when live search comes up empty
+        metrics.put("fallback", fallbackCourseService.getStatistics());
+
+        // Per-platform adapter latency, yield and errors
+        metrics.put("platforms", platformAdapterRegistry.getStatistics());
+
+        // Fixture recording and the platform stub server
+        Map<String, Object> stub = new HashMap<>(platformStubServer.getStatistics());
+        stub.put("fixtures", httpFixtureStore.getStatistics());
+        metrics.put("stub", stub);
+        
         return ResponseEntity.ok(metrics);
     }
     
@@ -146,4 +252,25 @@ public class PerformanceController {
             return ResponseEntity.internalServerError().body(response);
         }
     }
+
+    @PostMapping("/live-search/benchmark")
+    @Operation(summary = "Benchmark Live Search", description = "Run concurrent live searches and report throughput and latency percentiles; run against the platform stub server")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Benchmark completed"),
+        @ApiResponse(responseCode = "400", description = "No keywords given")
+    })
+    public ResponseEntity<Map<String, Object>> benchmarkLiveSearch(
+            @RequestParam List<String> keywords,
+            @RequestParam(defaultValue = "50") int requests,
+            @RequestParam(defaultValue = "8") int concurrency) {
+        if (keywords.isEmpty()) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("error", "At least one keyword is required");
+            return ResponseEntity.badRequest().body(response);
+        }
+        Map<String, Object> response = new HashMap<>(liveSearchBenchmarkService.run(keywords, requests, concurrency));
+        response.put("stubbed", platformStubServer.getStatistics().get("running"));
+        response.put("timestamp", System.currentTimeMillis());
+        return ResponseEntity.ok(response);
+    }
 }
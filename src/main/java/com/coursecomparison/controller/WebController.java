@@ -64,6 +64,7 @@ public class WebController {
         
         model.addAttribute("courses", courses);
         model.addAttribute("searchTerm", keyword);
+        model.addAttribute("didYouMean", courseService.suggestKeyword(keyword).orElse(null));
         model.addAttribute("topics", TOPICS);
         return "search-results";
     }
@@ -92,6 +93,7 @@ public class WebController {
                     return "redirect:" + course.getUrl();
                 }
                 model.addAttribute("course", course);
+                model.addAttribute("similarCourses", courseService.getSimilarCourses(course, 4));
                 return "course-details";
             } else {
                 logger.warn("Course not found with ID: {}", id);
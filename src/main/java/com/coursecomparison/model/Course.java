@@ -7,6 +7,7 @@ import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Max;
 import org.hibernate.validator.constraints.URL;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -21,15 +22,24 @@ import java.util.Map;
     @Index(name = "idx_course_language", columnList = "language"),
     @Index(name = "idx_course_active", columnList = "isActive"),
     @Index(name = "idx_course_last_updated", columnList = "lastUpdated"),
+    @Index(name = "idx_course_url_validated", columnList = "urlValidatedAt"),
     @Index(name = "idx_course_mcdm_score", columnList = "mcdmScore"),
     @Index(name = "idx_course_platform_rating", columnList = "platform, rating"),
     @Index(name = "idx_course_topic_rating", columnList = "topic, rating"),
     @Index(name = "idx_course_search", columnList = "title, description, topic")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_course_natural_key", columnNames = "naturalKey")
 })
 public class Course {
+    // Ids are handed out in blocks (pooled-lo), so inserts can be batched and bulk upserts can reserve their own block
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "course_seq")
+    @SequenceGenerator(name = "course_seq", sequenceName = "course_seq", allocationSize = 50)
     private Long id;
+
+    // platform + canonical URL; set on ingestion, see CourseUrlNormalizer#naturalKey
+    @Column(length = 512)
+    private String naturalKey;
     
     @NotBlank(message = "Title is required")
     private String title;
@@ -43,20 +53,17 @@ public class Course {
     @NotBlank(message = "Instructor is required")
     private String instructor;
     
-    @NotNull(message = "Rating is required")
+    // Rating, price, duration and student count stay null when the source does not report them
     @Min(value = 0, message = "Rating must be at least 0")
     @Max(value = 5, message = "Rating must be at most 5")
     private Double rating;
     
-    @NotNull(message = "Price is required")
     @Min(value = 0, message = "Price cannot be negative")
     private Double price;
     
-    @NotNull(message = "Duration in hours is required")
     @Min(value = 0, message = "Duration cannot be negative")
     private Integer durationHours;
     
-    @NotNull(message = "Student count is required")
     @Min(value = 0, message = "Student count cannot be negative")
     private Integer studentCount;
     
@@ -74,6 +81,8 @@ public class Course {
     private String courseImageUrl;
     private LocalDateTime lastUpdated;
     private Boolean isActive = true;
+    private String urlStatus; // Last URL check outcome, see CourseValidationService
+    private LocalDateTime urlValidatedAt;
     
     // MCDM specific fields with validation
     @NotNull(message = "Content quality is required")
@@ -127,6 +136,14 @@ public class Course {
         this.id = id;
     }
 
+    public String getNaturalKey() {
+        return naturalKey;
+    }
+
+    public void setNaturalKey(String naturalKey) {
+        this.naturalKey = naturalKey;
+    }
+
     public String getTitle() {
         return title;
     }
@@ -263,6 +280,22 @@ public class Course {
         this.isActive = isActive;
     }
 
+    public String getUrlStatus() {
+        return urlStatus;
+    }
+
+    public void setUrlStatus(String urlStatus) {
+        this.urlStatus = urlStatus;
+    }
+
+    public LocalDateTime getUrlValidatedAt() {
+        return urlValidatedAt;
+    }
+
+    public void setUrlValidatedAt(LocalDateTime urlValidatedAt) {
+        this.urlValidatedAt = urlValidatedAt;
+    }
+
     public Double getContentQuality() {
         return contentQuality;
     }
@@ -327,6 +360,44 @@ public class Course {
         this.criteriaScores = criteriaScores;
     }
 
+    /**
+     * Detached copy with the same field values, for ranking shared instances without
+     * writing scores into them
+     */
+    public Course copy() {
+        Course copy = new Course();
+        copy.id = id;
+        copy.naturalKey = naturalKey;
+        copy.title = title;
+        copy.topic = topic;
+        copy.platform = platform;
+        copy.instructor = instructor;
+        copy.rating = rating;
+        copy.price = price;
+        copy.durationHours = durationHours;
+        copy.studentCount = studentCount;
+        copy.description = description;
+        copy.url = url;
+        copy.difficultyLevel = difficultyLevel;
+        copy.language = language;
+        copy.hasCertificate = hasCertificate;
+        copy.instructorCredentials = instructorCredentials;
+        copy.courseImageUrl = courseImageUrl;
+        copy.lastUpdated = lastUpdated;
+        copy.isActive = isActive;
+        copy.urlStatus = urlStatus;
+        copy.urlValidatedAt = urlValidatedAt;
+        copy.contentQuality = contentQuality;
+        copy.instructorRating = instructorRating;
+        copy.valueForMoney = valueForMoney;
+        copy.courseStructure = courseStructure;
+        copy.practicalExercises = practicalExercises;
+        copy.supportQuality = supportQuality;
+        copy.mcdmScore = mcdmScore;
+        copy.criteriaScores = criteriaScores != null ? new HashMap<>(criteriaScores) : null;
+        return copy;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -4,10 +4,13 @@ import com.coursecomparison.model.Course;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,6 +31,10 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
     @Query("SELECT c FROM Course c WHERE LOWER(c.topic) LIKE LOWER(CONCAT('%', :topic, '%')) " +
            "ORDER BY c.rating DESC, c.studentCount DESC")
     Page<Course> findByTopicOrderByRatingAndStudents(@Param("topic") String topic, Pageable pageable);
+
+    @Query("SELECT c FROM Course c WHERE LOWER(c.topic) = LOWER(:topic) AND (c.isActive IS NULL OR c.isActive = true) " +
+           "ORDER BY c.rating DESC, c.studentCount DESC")
+    Page<Course> findActiveByExactTopicOrderByRatingAndStudents(@Param("topic") String topic, Pageable pageable);
     
     @Query("SELECT DISTINCT c.topic FROM Course c ORDER BY c.topic")
     List<String> findAllTopics();
@@ -52,9 +59,10 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
            "(:minRating IS NULL OR c.rating >= :minRating) AND " +
            "(:platform IS NULL OR LOWER(c.platform) = LOWER(:platform)) AND " +
            "(:topic IS NULL OR LOWER(c.topic) LIKE LOWER(CONCAT('%', :topic, '%'))) AND " +
-           "(:difficulty IS NULL OR c.difficultyLevel = :difficulty) AND " +
-           "(:language IS NULL OR c.language = :language) AND " +
-           "(:hasCertificate IS NULL OR c.hasCertificate = :hasCertificate)")
+           "(:difficulty IS NULL OR LOWER(c.difficultyLevel) = LOWER(:difficulty)) AND " +
+           "(:language IS NULL OR LOWER(c.language) = LOWER(:language)) AND " +
+           "(:hasCertificate IS NULL OR c.hasCertificate = :hasCertificate) AND " +
+           "c.isActive = true")
     List<Course> findCoursesByAdvancedFilters(
             @Param("minPrice") Double minPrice,
             @Param("maxPrice") Double maxPrice,
@@ -86,4 +94,27 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
     List<Course> findByLastUpdatedBeforeAndIsActiveTrue(java.time.LocalDateTime dateTime);
     List<Course> findTop50ByOrderByStudentCountDesc();
     List<Course> findByIsActiveTrue();
-} 
\ No newline at end of file
+    
+    // Incremental indexing of courses inserted, updated or deactivated since a point in time
+    List<Course> findByLastUpdatedAfter(java.time.LocalDateTime dateTime);
+
+    // URL validation: never-checked, stale, or transiently failed active courses, and recording a check result
+    @Query("SELECT c FROM Course c WHERE c.isActive = true AND c.url IS NOT NULL AND " +
+           "(c.urlValidatedAt IS NULL OR c.urlValidatedAt < :cutoff OR " +
+           "((c.urlStatus IS NULL OR c.urlStatus NOT IN :definitive) AND c.urlValidatedAt < :retryCutoff)) " +
+           "ORDER BY c.urlValidatedAt ASC")
+    List<Course> findUrlsDueForValidation(@Param("cutoff") java.time.LocalDateTime cutoff,
+                                          @Param("retryCutoff") java.time.LocalDateTime retryCutoff,
+                                          @Param("definitive") Collection<String> definitive,
+                                          Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Course c SET c.urlStatus = :status, c.urlValidatedAt = :validatedAt, " +
+           "c.isActive = CASE WHEN :deactivate = true THEN false ELSE c.isActive END, " +
+           "c.lastUpdated = CASE WHEN :deactivate = true THEN :validatedAt ELSE c.lastUpdated END WHERE c.id IN :ids")
+    int recordUrlValidation(@Param("ids") Collection<Long> ids,
+                            @Param("status") String status,
+                            @Param("validatedAt") java.time.LocalDateTime validatedAt,
+                            @Param("deactivate") boolean deactivate);
+}
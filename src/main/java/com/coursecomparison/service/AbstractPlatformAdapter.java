@@ -0,0 +1,221 @@
+package com.coursecomparison.service;
+
+import com.coursecomparison.model.Course;
+import jakarta.annotation.PostConstruct;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Evaluator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Card-scraping platform adapter.
+ * Subclasses name their fetch strategies; card parsing, mapping and default filling are shared.
+ * Budget and switches are read from {@code platform.<key>.budget-ms}, {@code .max-results},
+ * {@code .max-concurrency}, {@code .enabled} and {@code .disabled-strategies}, falling back to the
+ * subclass defaults.
+ */
+public abstract class AbstractPlatformAdapter implements PlatformAdapter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AbstractPlatformAdapter.class);
+
+    private static final Evaluator CARD_TITLE = HtmlCardScanner.compile("h3, .course-title, [data-testid='course-title']");
+    private static final Evaluator CARD_DESCRIPTION = HtmlCardScanner.compile(".course-description, .description, p");
+
+    @Autowired
+    protected OutboundHttpGateway outboundHttpGateway;
+
+    @Autowired
+    private CourseJsonExtractor courseJsonExtractor;
+
+    @Autowired
+    private HedgedStrategyRunner hedgedStrategyRunner;
+
+    @Autowired
+    private Environment environment;
+
+    private final String platform;
+    private final String propertyKey;
+    private final String siteUrl;
+    private final Evaluator cards;
+    private final Evaluator link;
+    private final Course defaults;
+    private final Budget defaultBudget;
+
+    private Budget budget;
+    private boolean enabled;
+    private Set<String> disabledStrategies;
+
+    protected AbstractPlatformAdapter(String platform, String siteUrl, String cardSelector, String linkSelector,
+                                      Course defaults, Budget defaultBudget) {
+        this.platform = platform;
+        this.propertyKey = "platform." + platform.toLowerCase(Locale.ROOT) + ".";
+        this.siteUrl = siteUrl;
+        this.cards = HtmlCardScanner.compile(cardSelector);
+        this.link = HtmlCardScanner.compile(linkSelector);
+        this.defaults = defaults;
+        this.defaultBudget = defaultBudget;
+    }
+
+    @PostConstruct
+    public void loadConfiguration() {
+        budget = new Budget(
+            environment.getProperty(propertyKey + "budget-ms", Long.class, defaultBudget.getTimeBudgetMillis()),
+            environment.getProperty(propertyKey + "max-results", Integer.class, defaultBudget.getMaxResults()),
+            environment.getProperty(propertyKey + "max-concurrency", Integer.class, defaultBudget.getMaxConcurrency()));
+        enabled = environment.getProperty(propertyKey + "enabled", Boolean.class, true);
+        disabledStrategies = new HashSet<>();
+        for (String strategy : environment.getProperty(propertyKey + "disabled-strategies", "").split(",")) {
+            if (!strategy.isBlank()) {
+                disabledStrategies.add(strategy.trim());
+            }
+        }
+        logger.info("{} adapter: {}{}", platform, budget, enabled ? "" : " (disabled)");
+    }
+
+    /**
+     * Named fetch strategies for {@code keyword}, in preference order
+     */
+    protected abstract void addStrategies(String keyword, LinkedHashMap<String, Supplier<List<Course>>> strategies);
+
+    @Override
+    public String getPlatform() {
+        return platform;
+    }
+
+    @Override
+    public Budget getBudget() {
+        return budget;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Run the enabled strategies, racing them with hedging when there is more than one
+     */
+    @Override
+    public List<Course> search(String keyword) {
+        LinkedHashMap<String, Supplier<List<Course>>> strategies = new LinkedHashMap<>();
+        addStrategies(keyword, strategies);
+        strategies.keySet().removeAll(disabledStrategies);
+        if (strategies.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Course> courses = strategies.size() == 1
+            ? strategies.values().iterator().next().get()
+            : hedgedStrategyRunner.race(platform, strategies);
+        return courses.size() > budget.getMaxResults() ? new ArrayList<>(courses.subList(0, budget.getMaxResults())) : courses;
+    }
+
+    @Override
+    public List<Element> parse(Document page, int limit) {
+        return HtmlCardScanner.firstCards(page, cards, limit);
+    }
+
+    @Override
+    public Course map(Element card) {
+        try {
+            Course course = new Course();
+
+            Element titleElement = card.selectFirst(CARD_TITLE);
+            if (titleElement != null) {
+                course.setTitle(titleElement.text().trim());
+            }
+
+            Element descElement = card.selectFirst(CARD_DESCRIPTION);
+            if (descElement != null) {
+                course.setDescription(descElement.text().trim());
+            }
+
+            Element linkElement = card.selectFirst(link);
+            if (linkElement != null) {
+                String href = linkElement.attr("href");
+                if (!href.startsWith("http")) {
+                    href = siteUrl + href;
+                }
+                course.setUrl(href);
+            }
+            return course;
+
+        } catch (Exception e) {
+            logger.debug("Error creating {} course from web: {}", platform, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public void enrich(Course course) {
+        course.setPlatform(platform);
+        if (course.getTopic() == null) course.setTopic(defaults.getTopic());
+        if (course.getLanguage() == null) course.setLanguage(defaults.getLanguage());
+        if (course.getDifficultyLevel() == null) course.setDifficultyLevel(defaults.getDifficultyLevel());
+        if (course.getIsActive() == null) course.setIsActive(true);
+    }
+
+    /**
+     * Fetch a search page and read up to the result cap of courses from its cards; a failed fetch
+     * is thrown so the platform is reported as failed rather than empty
+     */
+    protected List<Course> searchPage(String url, int timeoutMillis) {
+        Document doc;
+        try {
+            doc = outboundHttpGateway.fetchDocument(url, timeoutMillis);
+        } catch (IOException e) {
+            throw new UncheckedIOException(platform + " page " + url + " failed: " + e.getMessage(), e);
+        }
+        List<Course> courses = new ArrayList<>();
+        for (Element card : parse(doc, budget.getMaxResults())) {
+            Course course = map(card);
+            if (course != null) {
+                enrich(course);
+                courses.add(course);
+            }
+        }
+        return courses;
+    }
+
+    /**
+     * Fetch a JSON search API and read up to the result cap of courses from {@code arrayField};
+     * entries without a title or URL are dropped. A failed fetch is thrown, like in {@link #searchPage}.
+     */
+    protected List<Course> searchApi(String url, String arrayField, Map<String, CourseJsonExtractor.FieldReader> fields) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("User-Agent", OutboundHttpGateway.BROWSER_USER_AGENT);
+        headers.set("Accept", "application/json");
+
+        List<Course> courses = courseJsonExtractor.fetch(url, headers, arrayField, budget.getMaxResults(), fields);
+        courses.removeIf(course -> course.getTitle() == null || course.getTitle().isBlank()
+            || course.getUrl() == null || course.getUrl().isBlank());
+        courses.forEach(this::enrich);
+        return courses;
+    }
+
+    protected static String encode(String keyword) {
+        return URLEncoder.encode(keyword, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Descriptive field values an adapter fills in when its source leaves them out; rating, price,
+     * duration and student count are never made up
+     */
+    protected static Course defaults(String topic, String difficultyLevel) {
+        Course course = new Course();
+        course.setTopic(topic);
+        course.setLanguage("English");
+        course.setDifficultyLevel(difficultyLevel);
+        return course;
+    }
+}
@@ -0,0 +1,388 @@
+package com.coursecomparison.service;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Compressed bitmap over course ordinals, organised Roaring-style:
+ * the high 16 bits of an ordinal select a container, the low 16 bits are
+ * stored either as a sorted array (sparse) or a 65536-bit bitmap (dense).
+ * Bitmaps are built once by the catalog index and treated as read-only afterwards.
+ */
+public final class CourseBitmap {
+
+    private static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_WORDS = 1024;
+
+    private char[] keys = new char[0];
+    private Container[] containers = new Container[0];
+    private int size;
+
+    public static CourseBitmap of(int... values) {
+        CourseBitmap bitmap = new CourseBitmap();
+        for (int value : values) {
+            bitmap.add(value);
+        }
+        return bitmap;
+    }
+
+    /**
+     * Bitmap containing every ordinal in [0, count)
+     */
+    public static CourseBitmap range(int count) {
+        CourseBitmap bitmap = new CourseBitmap();
+        for (int i = 0; i < count; i++) {
+            bitmap.add(i);
+        }
+        return bitmap;
+    }
+
+    public void add(int value) {
+        char high = (char) (value >>> 16);
+        char low = (char) value;
+        int index = Arrays.binarySearch(keys, 0, size, high);
+        if (index >= 0) {
+            containers[index] = containers[index].add(low);
+        } else {
+            int insertAt = -index - 1;
+            ensureCapacity(size + 1);
+            System.arraycopy(keys, insertAt, keys, insertAt + 1, size - insertAt);
+            System.arraycopy(containers, insertAt, containers, insertAt + 1, size - insertAt);
+            keys[insertAt] = high;
+            containers[insertAt] = new ArrayContainer().add(low);
+            size++;
+        }
+    }
+
+    public boolean contains(int value) {
+        int index = Arrays.binarySearch(keys, 0, size, (char) (value >>> 16));
+        return index >= 0 && containers[index].contains((char) value);
+    }
+
+    public int cardinality() {
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            total += containers[i].cardinality();
+        }
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public CourseBitmap and(CourseBitmap other) {
+        CourseBitmap result = new CourseBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Container container = containers[i].and(other.containers[j]);
+                if (container.cardinality() > 0) {
+                    result.append(keys[i], container);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Cardinality of the intersection without materialising it; used for facet counts
+     */
+    public int andCardinality(CourseBitmap other) {
+        int total = 0;
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                total += containers[i].andCardinality(other.containers[j]);
+                i++;
+                j++;
+            }
+        }
+        return total;
+    }
+
+    public CourseBitmap or(CourseBitmap other) {
+        CourseBitmap result = new CourseBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < size || j < other.size) {
+            if (j >= other.size || (i < size && keys[i] < other.keys[j])) {
+                result.append(keys[i], containers[i]);
+                i++;
+            } else if (i >= size || keys[i] > other.keys[j]) {
+                result.append(other.keys[j], other.containers[j]);
+                j++;
+            } else {
+                result.append(keys[i], containers[i].or(other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    public void forEach(IntConsumer consumer) {
+        for (int i = 0; i < size; i++) {
+            int high = keys[i] << 16;
+            containers[i].forEach(low -> consumer.accept(high | low));
+        }
+    }
+
+    public int[] toArray() {
+        int[] values = new int[cardinality()];
+        int[] position = {0};
+        forEach(value -> values[position[0]++] = value);
+        return values;
+    }
+
+    private void append(char key, Container container) {
+        ensureCapacity(size + 1);
+        keys[size] = key;
+        containers[size] = container;
+        size++;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > keys.length) {
+            int newLength = Math.max(4, keys.length * 2);
+            keys = Arrays.copyOf(keys, newLength);
+            containers = Arrays.copyOf(containers, newLength);
+        }
+    }
+
+    private interface Container {
+        Container add(char value);
+        boolean contains(char value);
+        int cardinality();
+        Container and(Container other);
+        int andCardinality(Container other);
+        Container or(Container other);
+        void forEach(IntConsumer consumer);
+    }
+
+    /**
+     * Sorted array of low bits, used while a container holds at most 4096 values
+     */
+    private static final class ArrayContainer implements Container {
+        private char[] content = new char[4];
+        private int cardinality;
+
+        @Override
+        public Container add(char value) {
+            if (cardinality > 0 && content[cardinality - 1] < value) {
+                return insertAt(cardinality, value);
+            }
+            int index = Arrays.binarySearch(content, 0, cardinality, value);
+            if (index >= 0) {
+                return this;
+            }
+            return insertAt(-index - 1, value);
+        }
+
+        private Container insertAt(int position, char value) {
+            if (cardinality >= ARRAY_MAX) {
+                return toBitmap().add(value);
+            }
+            if (cardinality == content.length) {
+                content = Arrays.copyOf(content, Math.min(ARRAY_MAX, content.length * 2));
+            }
+            System.arraycopy(content, position, content, position + 1, cardinality - position);
+            content[position] = value;
+            cardinality++;
+            return this;
+        }
+
+        private BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < cardinality; i++) {
+                bitmap.add(content[i]);
+            }
+            return bitmap;
+        }
+
+        @Override
+        public boolean contains(char value) {
+            return Arrays.binarySearch(content, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public Container and(Container other) {
+            ArrayContainer result = new ArrayContainer();
+            result.content = new char[Math.max(1, cardinality)];
+            for (int i = 0; i < cardinality; i++) {
+                if (other.contains(content[i])) {
+                    result.content[result.cardinality++] = content[i];
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public int andCardinality(Container other) {
+            int count = 0;
+            for (int i = 0; i < cardinality; i++) {
+                if (other.contains(content[i])) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public Container or(Container other) {
+            if (other instanceof BitmapContainer) {
+                return other.or(this);
+            }
+            ArrayContainer that = (ArrayContainer) other;
+            char[] merged = new char[cardinality + that.cardinality];
+            int i = 0;
+            int j = 0;
+            int k = 0;
+            while (i < cardinality && j < that.cardinality) {
+                char a = content[i];
+                char b = that.content[j];
+                if (a < b) {
+                    merged[k++] = a;
+                    i++;
+                } else if (a > b) {
+                    merged[k++] = b;
+                    j++;
+                } else {
+                    merged[k++] = a;
+                    i++;
+                    j++;
+                }
+            }
+            while (i < cardinality) merged[k++] = content[i++];
+            while (j < that.cardinality) merged[k++] = that.content[j++];
+
+            if (k > ARRAY_MAX) {
+                BitmapContainer bitmap = new BitmapContainer();
+                for (int n = 0; n < k; n++) {
+                    bitmap.add(merged[n]);
+                }
+                return bitmap;
+            }
+            ArrayContainer result = new ArrayContainer();
+            result.content = merged;
+            result.cardinality = k;
+            return result;
+        }
+
+        @Override
+        public void forEach(IntConsumer consumer) {
+            for (int i = 0; i < cardinality; i++) {
+                consumer.accept(content[i]);
+            }
+        }
+    }
+
+    /**
+     * Fixed 65536-bit container, used once a chunk becomes dense
+     */
+    private static final class BitmapContainer implements Container {
+        private final long[] words = new long[BITMAP_WORDS];
+        private int cardinality;
+
+        @Override
+        public Container add(char value) {
+            long before = words[value >>> 6];
+            long after = before | (1L << value);
+            if (before != after) {
+                words[value >>> 6] = after;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        public boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public Container and(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.and(this);
+            }
+            BitmapContainer that = (BitmapContainer) other;
+            BitmapContainer result = new BitmapContainer();
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                result.words[i] = words[i] & that.words[i];
+                result.cardinality += Long.bitCount(result.words[i]);
+            }
+            if (result.cardinality <= ARRAY_MAX) {
+                ArrayContainer array = new ArrayContainer();
+                array.content = new char[Math.max(1, result.cardinality)];
+                result.forEach(value -> array.content[array.cardinality++] = (char) value);
+                return array;
+            }
+            return result;
+        }
+
+        @Override
+        public int andCardinality(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.andCardinality(this);
+            }
+            BitmapContainer that = (BitmapContainer) other;
+            int count = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                count += Long.bitCount(words[i] & that.words[i]);
+            }
+            return count;
+        }
+
+        @Override
+        public Container or(Container other) {
+            BitmapContainer result = new BitmapContainer();
+            System.arraycopy(words, 0, result.words, 0, BITMAP_WORDS);
+            result.cardinality = cardinality;
+            if (other instanceof ArrayContainer) {
+                other.forEach(value -> result.add((char) value));
+                return result;
+            }
+            BitmapContainer that = (BitmapContainer) other;
+            result.cardinality = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                result.words[i] |= that.words[i];
+                result.cardinality += Long.bitCount(result.words[i]);
+            }
+            return result;
+        }
+
+        @Override
+        public void forEach(IntConsumer consumer) {
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    int bit = Long.numberOfTrailingZeros(word);
+                    consumer.accept((i << 6) | bit);
+                    word &= word - 1;
+                }
+            }
+        }
+    }
+}
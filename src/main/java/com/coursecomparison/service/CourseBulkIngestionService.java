@@ -0,0 +1,361 @@
+package com.coursecomparison.service;
+
+import com.coursecomparison.model.Course;
+import com.coursecomparison.repository.CourseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.Validator;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Batched course persistence keyed by the natural key (platform + canonical URL).
+ * Existence is answered from an in-memory key-to-id map, courses whose canonical URL is already
+ * known are matched through {@link CourseDeduplicationService}, new rows take ids from one
+ * reserved block of the course sequence, and rows are written with chunked
+ * {@code INSERT ... AS new ON DUPLICATE KEY UPDATE}, so a batch of N courses costs one id
+ * reservation plus about two round trips per chunk instead of a lookup and a save per course.
+ * Updates follow the same rules as {@code saveOrMerge}: fresh marketplace numbers win,
+ * descriptive fields are only filled when missing, and the active flag is left alone.
+ * Batches run concurrently; rows are written in natural-key order so overlapping batches lock
+ * them in the same order, and a key inserted by a concurrent batch resolves to the winning id.
+ */
+@Service
+public class CourseBulkIngestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseBulkIngestionService.class);
+
+    private static final String SEQUENCE_TABLE = "course_seq";
+    private static final int MAX_COLUMN_LENGTH = 255;
+    private static final int MAX_KEY_LENGTH = 512;
+
+    private static final String UPSERT_SQL =
+        "INSERT INTO courses (id, natural_key, title, topic, platform, instructor, rating, price, duration_hours, " +
+        "student_count, description, url, difficulty_level, language, has_certificate, instructor_credentials, " +
+        "course_image_url, last_updated, is_active, url_status, url_validated_at, content_quality, instructor_rating, " +
+        "value_for_money, course_structure, practical_exercises, support_quality, mcdm_score) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) AS new " +
+        "ON DUPLICATE KEY UPDATE " +
+        "rating = COALESCE(new.rating, courses.rating), " +
+        "student_count = COALESCE(new.student_count, courses.student_count), " +
+        "price = COALESCE(new.price, courses.price), " +
+        "description = IF(courses.description IS NULL OR courses.description = '', new.description, courses.description), " +
+        "instructor = COALESCE(courses.instructor, new.instructor), " +
+        "course_image_url = COALESCE(courses.course_image_url, new.course_image_url), " +
+        "duration_hours = COALESCE(courses.duration_hours, new.duration_hours), " +
+        "difficulty_level = COALESCE(courses.difficulty_level, new.difficulty_level), " +
+        "url_status = IF(new.url_validated_at IS NULL, courses.url_status, new.url_status), " +
+        "url_validated_at = COALESCE(new.url_validated_at, courses.url_validated_at), " +
+        "last_updated = new.last_updated";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Not called directly: depending on a repository makes the schema update run before init()
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CourseDeduplicationService courseDeduplicationService;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${ingestion.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    private final Map<String, Long> idsByNaturalKey = new ConcurrentHashMap<>();
+
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong inserted = new AtomicLong();
+    private final AtomicLong updated = new AtomicLong();
+    private final AtomicLong roundTrips = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        try {
+            relaxUnreportedColumns();
+            alignSequence();
+            loadNaturalKeys();
+        } catch (Exception e) {
+            logger.error("Error preparing bulk ingestion: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Whether a course with this platform and URL is already persisted
+     */
+    public boolean exists(String platform, String url) {
+        String key = CourseUrlNormalizer.naturalKey(platform, url);
+        return key != null && idsByNaturalKey.containsKey(key);
+    }
+
+    /**
+     * Insert or merge a batch of scraped courses. Ids are set on the given objects; courses without
+     * a platform or usable URL, or failing the entity's bean validation, are skipped. Returns the number of courses written.
+     */
+    public int upsert(List<Course> courses) {
+        if (courses == null || courses.isEmpty()) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        Map<String, Course> byKey = new LinkedHashMap<>();
+        Map<Course, Course> sameKey = new IdentityHashMap<>();
+        List<Course> fresh = new ArrayList<>();
+        for (Course course : courses) {
+            course.setUrl(CourseUrlNormalizer.clean(course.getUrl()));
+            String key = CourseUrlNormalizer.naturalKey(course.getPlatform(), course.getUrl());
+            if (key == null || key.length() > MAX_KEY_LENGTH || course.getUrl().length() > MAX_COLUMN_LENGTH) {
+                continue;
+            }
+            // Same constraints a JPA save would enforce
+            if (!validator.validate(course).isEmpty()) {
+                logger.debug("Skipping invalid course '{}' in bulk upsert", course.getTitle());
+                continue;
+            }
+            Course first = byKey.putIfAbsent(key, course);
+            if (first != null) {
+                sameKey.put(course, first);
+                continue;
+            }
+            course.setNaturalKey(key);
+            if (course.getId() == null) {
+                Long existing = idsByNaturalKey.get(key);
+                if (existing == null) {
+                    existing = courseDeduplicationService.findDuplicate(course).orElse(null);
+                }
+                if (existing != null) {
+                    course.setId(existing);
+                } else {
+                    fresh.add(course);
+                }
+            }
+        }
+        if (byKey.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            long nextId = reserveIds(fresh.size());
+            for (Course course : fresh) {
+                course.setId(nextId++);
+            }
+            List<Course> rows = new ArrayList<>(byKey.values());
+            rows.sort(Comparator.comparing(Course::getNaturalKey));
+            Set<Course> freshRows = Collections.newSetFromMap(new IdentityHashMap<>());
+            freshRows.addAll(fresh);
+            for (int from = 0; from < rows.size(); from += chunkSize) {
+                List<Course> chunk = rows.subList(from, Math.min(from + chunkSize, rows.size()));
+                writeChunk(chunk);
+                resolveIds(chunk, freshRows);
+            }
+            sameKey.forEach((duplicate, first) -> duplicate.setId(first.getId()));
+
+            List<Course> created = new ArrayList<>();
+            for (Course course : rows) {
+                // Courses merged into a row with the same canonical URL keep their key as an alias of that row
+                idsByNaturalKey.putIfAbsent(course.getNaturalKey(), course.getId());
+                if (freshRows.contains(course)) {
+                    created.add(course);
+                }
+            }
+            courseDeduplicationService.registerAll(created);
+            batches.incrementAndGet();
+            inserted.addAndGet(created.size());
+            updated.addAndGet(rows.size() - created.size());
+            logger.info("Bulk upsert of {} courses ({} new) in {} ms", rows.size(), created.size(),
+                       (System.nanoTime() - start) / 1_000_000);
+            return rows.size();
+        } catch (Exception e) {
+            logger.error("Bulk upsert of {} courses failed: {}", byKey.size(), e.getMessage());
+            for (Course course : fresh) {
+                course.setId(null);
+            }
+            return 0;
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new HashMap<>();
+        statistics.put("naturalKeys", idsByNaturalKey.size());
+        statistics.put("batches", batches.get());
+        statistics.put("inserted", inserted.get());
+        statistics.put("updated", updated.get());
+        statistics.put("roundTrips", roundTrips.get());
+        statistics.put("chunkSize", chunkSize);
+        return statistics;
+    }
+
+    private void writeChunk(List<Course> chunk) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        // With rewriteBatchedStatements the driver sends the chunk as one multi-row statement
+        jdbcTemplate.batchUpdate(UPSERT_SQL, chunk, chunk.size(), (statement, course) -> {
+            int i = 1;
+            statement.setLong(i++, course.getId());
+            statement.setString(i++, course.getNaturalKey());
+            statement.setString(i++, truncate(course.getTitle(), MAX_COLUMN_LENGTH));
+            statement.setString(i++, truncate(course.getTopic(), MAX_COLUMN_LENGTH));
+            statement.setString(i++, truncate(course.getPlatform(), MAX_COLUMN_LENGTH));
+            statement.setString(i++, truncate(course.getInstructor(), MAX_COLUMN_LENGTH));
+            setDouble(statement, i++, course.getRating());
+            setDouble(statement, i++, course.getPrice());
+            setInteger(statement, i++, course.getDurationHours());
+            setInteger(statement, i++, course.getStudentCount());
+            statement.setString(i++, truncate(course.getDescription(), 1000));
+            statement.setString(i++, course.getUrl());
+            statement.setString(i++, truncate(course.getDifficultyLevel(), MAX_COLUMN_LENGTH));
+            statement.setString(i++, truncate(course.getLanguage(), MAX_COLUMN_LENGTH));
+            statement.setBoolean(i++, Boolean.TRUE.equals(course.getHasCertificate()));
+            statement.setString(i++, truncate(course.getInstructorCredentials(), MAX_COLUMN_LENGTH));
+            statement.setString(i++, truncate(course.getCourseImageUrl(), MAX_COLUMN_LENGTH));
+            statement.setTimestamp(i++, now);
+            statement.setBoolean(i++, true);
+            statement.setString(i++, course.getUrlStatus());
+            statement.setTimestamp(i++, course.getUrlValidatedAt() != null ? Timestamp.valueOf(course.getUrlValidatedAt()) : null);
+            setDouble(statement, i++, course.getContentQuality());
+            setDouble(statement, i++, course.getInstructorRating());
+            setDouble(statement, i++, course.getValueForMoney());
+            setDouble(statement, i++, course.getCourseStructure());
+            setDouble(statement, i++, course.getPracticalExercises());
+            setDouble(statement, i++, course.getSupportQuality());
+            setDouble(statement, i, course.getMcdmScore());
+        });
+        roundTrips.incrementAndGet();
+    }
+
+    /**
+     * A new row can still lose to a concurrent writer of the same natural key; take the id that won
+     */
+    private void resolveIds(List<Course> chunk, Set<Course> freshRows) {
+        List<Course> fresh = chunk.stream().filter(freshRows::contains).toList();
+        if (fresh.isEmpty()) {
+            return;
+        }
+        String placeholders = String.join(",", Collections.nCopies(fresh.size(), "?"));
+        Map<String, Long> persisted = new HashMap<>();
+        jdbcTemplate.query("SELECT id, natural_key FROM courses WHERE natural_key IN (" + placeholders + ")",
+            (ResultSet rs) -> {
+                persisted.put(rs.getString(2), rs.getLong(1));
+            },
+            fresh.stream().map(Course::getNaturalKey).toArray());
+        roundTrips.incrementAndGet();
+        for (Course course : fresh) {
+            Long id = persisted.get(course.getNaturalKey());
+            if (id != null && !id.equals(course.getId())) {
+                course.setId(id);
+                freshRows.remove(course);
+            }
+        }
+    }
+
+    /**
+     * Reserve {@code count} consecutive ids from the course sequence table; returns the first.
+     * Takes its block the same way Hibernate's pooled-lo optimizer does, so the two never overlap.
+     */
+    private long reserveIds(int count) {
+        if (count == 0) {
+            return 0;
+        }
+        roundTrips.incrementAndGet();
+        Long first = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("UPDATE " + SEQUENCE_TABLE + " SET next_val = LAST_INSERT_ID(next_val) + " + count);
+                try (ResultSet rs = statement.executeQuery("SELECT LAST_INSERT_ID()")) {
+                    rs.next();
+                    return rs.getLong(1);
+                }
+            }
+        });
+        return first != null ? first : 0;
+    }
+
+    /**
+     * Rating, price, duration and student count used to be required and filled with made-up values;
+     * let existing tables store them as unknown (schema updates never drop NOT NULL)
+     */
+    private void relaxUnreportedColumns() {
+        List<String> changes = jdbcTemplate.query(
+            "SELECT COLUMN_NAME, COLUMN_TYPE FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = DATABASE() " +
+            "AND TABLE_NAME = 'courses' AND IS_NULLABLE = 'NO' " +
+            "AND COLUMN_NAME IN ('rating', 'price', 'duration_hours', 'student_count')",
+            (rs, rowNum) -> "MODIFY " + rs.getString(1) + " " + rs.getString(2) + " NULL");
+        if (!changes.isEmpty()) {
+            jdbcTemplate.execute("ALTER TABLE courses " + String.join(", ", changes));
+            logger.info("Made {} course columns nullable", changes.size());
+        }
+    }
+
+    /**
+     * Ids used to come from AUTO_INCREMENT; start the sequence above them
+     */
+    private void alignSequence() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM courses", Long.class);
+        long next = (maxId != null ? maxId : 0) + 1;
+        int moved = jdbcTemplate.update("UPDATE " + SEQUENCE_TABLE + " SET next_val = ? WHERE next_val < ?", next, next);
+        if (moved > 0) {
+            logger.info("Course id sequence moved to {}", next);
+        }
+    }
+
+    /**
+     * Load existing natural keys and fill in keys for rows written before they existed.
+     * Rows whose key is already taken by an earlier row are left without one.
+     */
+    private void loadNaturalKeys() {
+        List<Object[]> missing = new ArrayList<>();
+        jdbcTemplate.query("SELECT id, natural_key, platform, url FROM courses ORDER BY id", (ResultSet rs) -> {
+            String key = rs.getString(2);
+            if (key != null) {
+                idsByNaturalKey.put(key, rs.getLong(1));
+            } else {
+                missing.add(new Object[]{rs.getLong(1), rs.getString(3), rs.getString(4)});
+            }
+        });
+        List<Object[]> backfill = new ArrayList<>();
+        for (Object[] row : missing) {
+            String key = CourseUrlNormalizer.naturalKey((String) row[1], (String) row[2]);
+            if (key != null && idsByNaturalKey.putIfAbsent(key, (Long) row[0]) == null) {
+                backfill.add(new Object[]{key, row[0]});
+            }
+        }
+        if (!backfill.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE courses SET natural_key = ? WHERE id = ?", backfill);
+        }
+        logger.info("Loaded {} course natural keys ({} backfilled)", idsByNaturalKey.size(), backfill.size());
+    }
+
+    private static void setDouble(PreparedStatement statement, int index, Double value) throws SQLException {
+        if (value != null) {
+            statement.setDouble(index, value);
+        } else {
+            statement.setNull(index, Types.DOUBLE);
+        }
+    }
+
+    private static void setInteger(PreparedStatement statement, int index, Integer value) throws SQLException {
+        if (value != null) {
+            statement.setInt(index, value);
+        } else {
+            statement.setNull(index, Types.INTEGER);
+        }
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+}
@@ -0,0 +1,482 @@
+package com.coursecomparison.service;
+
+import com.coursecomparison.model.Course;
+import com.coursecomparison.repository.CourseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * In-memory columnar catalog of the active courses, used to answer filter queries without going
+ * to the database. Every categorical filter column (platform, difficulty, language, certificate,
+ * topic) keeps one compressed bitmap per distinct value, compared case-insensitively, and every numeric column (price, rating, duration)
+ * keeps one bitmap per bucket plus the raw values for boundary checks. A filter query is then
+ * a handful of bitmap ANDs, and facet counts / histograms fall out of intersection cardinalities.
+ * Queries return copies of the indexed courses, so callers can rank them in place.
+ */
+@Service
+public class CourseCatalogIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseCatalogIndex.class);
+
+    public static final String FACET_PLATFORM = "platform";
+    public static final String FACET_DIFFICULTY = "difficulty";
+    public static final String FACET_LANGUAGE = "language";
+    public static final String FACET_CERTIFICATE = "hasCertificate";
+    public static final String FACET_TOPIC = "topic";
+    public static final String HISTOGRAM_PRICE = "price";
+    public static final String HISTOGRAM_RATING = "rating";
+    public static final String HISTOGRAM_DURATION = "durationHours";
+
+    // Lower bounds of each bucket; the last bucket is open-ended
+    private static final double[] PRICE_EDGES = {0.0, 0.01, 20.0, 50.0, 100.0, 200.0};
+    private static final double[] RATING_EDGES = {0.0, 1.0, 2.0, 3.0, 3.5, 4.0, 4.5};
+    private static final double[] DURATION_EDGES = {0.0, 2.0, 5.0, 10.0, 20.0, 40.0, 80.0};
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    private volatile Snapshot snapshot;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    /**
+     * Periodically rebuild the index so that courses ingested by live search become filterable
+     */
+    @Scheduled(fixedDelayString = "${catalog.index.refresh-interval-ms:300000}",
+               initialDelayString = "${catalog.index.refresh-interval-ms:300000}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    /**
+     * Rebuild the index from the active courses in the database and atomically swap it in
+     */
+    public void refresh() {
+        try {
+            long start = System.nanoTime();
+            List<Course> courses = new ArrayList<>(courseRepository.findByIsActiveTrue());
+            courses.sort(Comparator.comparing(Course::getId, Comparator.nullsLast(Comparator.naturalOrder())));
+            snapshot = new Snapshot(courses);
+            logger.info("Catalog index rebuilt with {} courses in {} ms",
+                       courses.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            logger.error("Error rebuilding catalog index", e);
+        }
+    }
+
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    public int size() {
+        Snapshot current = snapshot;
+        return current != null ? current.courses.length : 0;
+    }
+
+    /**
+     * Column statistics of the current snapshot, or null if the index is not built yet
+     */
+    public CatalogStatistics getStatistics() {
+        Snapshot current = snapshot;
+        return current != null ? current.statistics : null;
+    }
+
+    /**
+     * Run a filter query against the index.
+     * Accepts the same filter keys as {@link CourseRepository#findCoursesByAdvancedFilters}.
+     */
+    public FacetedResult query(Map<String, Object> filters) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            throw new IllegalStateException("Catalog index is not built yet");
+        }
+        return current.query(filters != null ? filters : Collections.emptyMap());
+    }
+
+    /**
+     * Filter-only variant of {@link #query} that skips facet and histogram computation
+     */
+    public List<Course> filter(Map<String, Object> filters) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            throw new IllegalStateException("Catalog index is not built yet");
+        }
+        return current.materialize(current.intersectExcept(
+            current.constraints(filters != null ? filters : Collections.emptyMap()), null));
+    }
+
+    static Double toDouble(Object value) {
+        if (value == null) return null;
+        if (value instanceof Number) return ((Number) value).doubleValue();
+        String text = value.toString().trim();
+        if (text.isEmpty()) return null;
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    static String toText(Object value) {
+        if (value == null) return null;
+        String text = value.toString().trim();
+        return text.isEmpty() ? null : text;
+    }
+
+    static Boolean toBoolean(Object value) {
+        if (value == null) return null;
+        if (value instanceof Boolean) return (Boolean) value;
+        String text = value.toString().trim();
+        return text.isEmpty() ? null : Boolean.valueOf(text);
+    }
+
+    /**
+     * Immutable view of the catalog at one point in time
+     */
+    private static final class Snapshot {
+        private final Course[] courses;
+        private final CourseBitmap all;
+        private final Map<String, Map<String, CourseBitmap>> categorical = new LinkedHashMap<>();
+        private final Map<String, NumericColumn> numeric = new LinkedHashMap<>();
+        private final CatalogStatistics statistics;
+
+        Snapshot(List<Course> source) {
+            this.courses = source.toArray(new Course[0]);
+            this.all = CourseBitmap.range(courses.length);
+
+            categorical.put(FACET_PLATFORM, buildCategorical(Course::getPlatform));
+            categorical.put(FACET_DIFFICULTY, buildCategorical(Course::getDifficultyLevel));
+            categorical.put(FACET_LANGUAGE, buildCategorical(Course::getLanguage));
+            categorical.put(FACET_CERTIFICATE, buildCategorical(
+                course -> course.getHasCertificate() != null ? course.getHasCertificate().toString() : null));
+            categorical.put(FACET_TOPIC, buildCategorical(Course::getTopic));
+
+            numeric.put(HISTOGRAM_PRICE, new NumericColumn(courses, Course::getPrice, PRICE_EDGES));
+            numeric.put(HISTOGRAM_RATING, new NumericColumn(courses, Course::getRating, RATING_EDGES));
+            numeric.put(HISTOGRAM_DURATION, new NumericColumn(courses,
+                course -> course.getDurationHours() != null ? course.getDurationHours().doubleValue() : null, DURATION_EDGES));
+
+            Map<String, Map<String, Integer>> valueCounts = new LinkedHashMap<>();
+            for (Map.Entry<String, Map<String, CourseBitmap>> column : categorical.entrySet()) {
+                Map<String, Integer> counts = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+                column.getValue().forEach((value, bitmap) -> counts.merge(value, bitmap.cardinality(), Integer::sum));
+                valueCounts.put(column.getKey(), counts);
+            }
+            Map<String, List<HistogramBucket>> histograms = new LinkedHashMap<>();
+            numeric.forEach((column, values) -> histograms.put(column, values.histogram(all)));
+            this.statistics = new CatalogStatistics(courses.length, System.currentTimeMillis(), valueCounts, histograms);
+        }
+
+        /**
+         * One bitmap per value, merging values that differ only in case like the SQL filters do
+         */
+        private Map<String, CourseBitmap> buildCategorical(Function<Course, String> getter) {
+            Map<String, CourseBitmap> bitmaps = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            for (int i = 0; i < courses.length; i++) {
+                String value = getter.apply(courses[i]);
+                if (value != null) {
+                    bitmaps.computeIfAbsent(value, key -> new CourseBitmap()).add(i);
+                }
+            }
+            return bitmaps;
+        }
+
+        /**
+         * One bitmap per active dimension, so each facet can be counted against the others
+         */
+        Map<String, CourseBitmap> constraints(Map<String, Object> filters) {
+            Map<String, CourseBitmap> constraints = new LinkedHashMap<>();
+
+            String platform = toText(filters.get("platform"));
+            if (platform != null) {
+                constraints.put(FACET_PLATFORM, exact(FACET_PLATFORM, platform));
+            }
+            String difficulty = toText(filters.get("difficulty"));
+            if (difficulty != null) {
+                constraints.put(FACET_DIFFICULTY, exact(FACET_DIFFICULTY, difficulty));
+            }
+            String language = toText(filters.get("language"));
+            if (language != null) {
+                constraints.put(FACET_LANGUAGE, exact(FACET_LANGUAGE, language));
+            }
+            Boolean hasCertificate = toBoolean(filters.get("hasCertificate"));
+            if (hasCertificate != null) {
+                constraints.put(FACET_CERTIFICATE, exact(FACET_CERTIFICATE, hasCertificate.toString()));
+            }
+            String topic = toText(filters.get("topic"));
+            if (topic != null) {
+                constraints.put(FACET_TOPIC, containing(FACET_TOPIC, topic));
+            }
+
+            Double minPrice = toDouble(filters.get("minPrice"));
+            Double maxPrice = toDouble(filters.get("maxPrice"));
+            if (minPrice != null || maxPrice != null) {
+                constraints.put(HISTOGRAM_PRICE, numeric.get(HISTOGRAM_PRICE).range(minPrice, maxPrice));
+            }
+            Double minRating = toDouble(filters.get("minRating"));
+            if (minRating != null) {
+                constraints.put(HISTOGRAM_RATING, numeric.get(HISTOGRAM_RATING).range(minRating, null));
+            }
+            return constraints;
+        }
+
+        FacetedResult query(Map<String, Object> filters) {
+            long start = System.nanoTime();
+            Map<String, CourseBitmap> constraints = constraints(filters);
+            CourseBitmap result = intersectExcept(constraints, null);
+
+            Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+            for (Map.Entry<String, Map<String, CourseBitmap>> column : categorical.entrySet()) {
+                CourseBitmap base = intersectExcept(constraints, column.getKey());
+                Map<String, Integer> counts = new LinkedHashMap<>();
+                for (Map.Entry<String, CourseBitmap> value : column.getValue().entrySet()) {
+                    int count = base.andCardinality(value.getValue());
+                    if (count > 0) {
+                        counts.put(value.getKey(), count);
+                    }
+                }
+                facets.put(column.getKey(), counts);
+            }
+
+            Map<String, List<HistogramBucket>> histograms = new LinkedHashMap<>();
+            for (Map.Entry<String, NumericColumn> column : numeric.entrySet()) {
+                CourseBitmap base = intersectExcept(constraints, column.getKey());
+                histograms.put(column.getKey(), column.getValue().histogram(base));
+            }
+
+            List<Course> matches = materialize(result);
+
+            long tookMicros = (System.nanoTime() - start) / 1_000;
+            return new FacetedResult(matches, matches.size(), facets, histograms, tookMicros);
+        }
+
+        List<Course> materialize(CourseBitmap result) {
+            int[] ordinals = result.toArray();
+            List<Course> matches = new ArrayList<>(ordinals.length);
+            for (int ordinal : ordinals) {
+                matches.add(courses[ordinal].copy());
+            }
+            return matches;
+        }
+
+        CourseBitmap intersectExcept(Map<String, CourseBitmap> constraints, String excluded) {
+            CourseBitmap result = all;
+            for (Map.Entry<String, CourseBitmap> constraint : constraints.entrySet()) {
+                if (!constraint.getKey().equals(excluded)) {
+                    result = result.and(constraint.getValue());
+                }
+            }
+            return result;
+        }
+
+        private CourseBitmap exact(String column, String value) {
+            CourseBitmap bitmap = categorical.get(column).get(value);
+            return bitmap != null ? bitmap : new CourseBitmap();
+        }
+
+        private CourseBitmap containing(String column, String fragment) {
+            String needle = fragment.toLowerCase();
+            CourseBitmap result = new CourseBitmap();
+            for (Map.Entry<String, CourseBitmap> value : categorical.get(column).entrySet()) {
+                if (value.getKey().toLowerCase().contains(needle)) {
+                    result = result.or(value.getValue());
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Bucketed numeric column: bucket bitmaps answer whole-bucket ranges,
+     * raw values resolve the buckets a range boundary falls into
+     */
+    private static final class NumericColumn {
+        private final double[] edges;
+        private final double[] values;
+        private final CourseBitmap[] buckets;
+
+        NumericColumn(Course[] courses, Function<Course, Double> getter, double[] edges) {
+            this.edges = edges;
+            this.values = new double[courses.length];
+            this.buckets = new CourseBitmap[edges.length];
+            for (int b = 0; b < buckets.length; b++) {
+                buckets[b] = new CourseBitmap();
+            }
+            for (int i = 0; i < courses.length; i++) {
+                Double value = getter.apply(courses[i]);
+                values[i] = value != null ? value : Double.NaN;
+                if (value != null) {
+                    buckets[bucketOf(value)].add(i);
+                }
+            }
+        }
+
+        private int bucketOf(double value) {
+            int bucket = 0;
+            while (bucket + 1 < edges.length && value >= edges[bucket + 1]) {
+                bucket++;
+            }
+            return bucket;
+        }
+
+        private double upperBound(int bucket) {
+            return bucket + 1 < edges.length ? edges[bucket + 1] : Double.POSITIVE_INFINITY;
+        }
+
+        CourseBitmap range(Double min, Double max) {
+            double low = min != null ? min : Double.NEGATIVE_INFINITY;
+            double high = max != null ? max : Double.POSITIVE_INFINITY;
+            CourseBitmap result = new CourseBitmap();
+            for (int b = 0; b < buckets.length; b++) {
+                double bucketLow = b == 0 ? Double.NEGATIVE_INFINITY : edges[b];
+                double bucketHigh = upperBound(b);
+                if (bucketHigh <= low || bucketLow > high) {
+                    continue;
+                }
+                if (bucketLow >= low && bucketHigh <= high) {
+                    result = result.or(buckets[b]);
+                } else {
+                    CourseBitmap partial = new CourseBitmap();
+                    buckets[b].forEach(ordinal -> {
+                        if (values[ordinal] >= low && values[ordinal] <= high) {
+                            partial.add(ordinal);
+                        }
+                    });
+                    result = result.or(partial);
+                }
+            }
+            return result;
+        }
+
+        List<HistogramBucket> histogram(CourseBitmap base) {
+            List<HistogramBucket> histogram = new ArrayList<>(buckets.length);
+            for (int b = 0; b < buckets.length; b++) {
+                double high = upperBound(b);
+                histogram.add(new HistogramBucket(edges[b],
+                    Double.isInfinite(high) ? null : high, base.andCardinality(buckets[b])));
+            }
+            return histogram;
+        }
+    }
+
+    /**
+     * One bar of a numeric histogram, covering [from, to)
+     */
+    public static class HistogramBucket {
+        private final double from;
+        private final Double to;
+        private final int count;
+
+        public HistogramBucket(double from, Double to, int count) {
+            this.from = from;
+            this.to = to;
+            this.count = count;
+        }
+
+        public double getFrom() {
+            return from;
+        }
+
+        public Double getTo() {
+            return to;
+        }
+
+        public int getCount() {
+            return count;
+        }
+    }
+
+    /**
+     * Per-column value counts and histograms, used by the query planner for selectivity estimates
+     */
+    public static class CatalogStatistics {
+        private final int rowCount;
+        private final long builtAtMillis;
+        private final Map<String, Map<String, Integer>> valueCounts;
+        private final Map<String, List<HistogramBucket>> histograms;
+
+        public CatalogStatistics(int rowCount, long builtAtMillis, Map<String, Map<String, Integer>> valueCounts,
+                                 Map<String, List<HistogramBucket>> histograms) {
+            this.rowCount = rowCount;
+            this.builtAtMillis = builtAtMillis;
+            this.valueCounts = valueCounts;
+            this.histograms = histograms;
+        }
+
+        public int getRowCount() {
+            return rowCount;
+        }
+
+        public long getBuiltAtMillis() {
+            return builtAtMillis;
+        }
+
+        public Map<String, Map<String, Integer>> getValueCounts() {
+            return valueCounts;
+        }
+
+        public Map<String, List<HistogramBucket>> getHistograms() {
+            return histograms;
+        }
+
+        public int getDistinctCount(String column) {
+            Map<String, Integer> counts = valueCounts.get(column);
+            return counts != null ? counts.size() : 0;
+        }
+    }
+
+    /**
+     * Matching courses plus facet counts and histograms for the filter panel
+     */
+    public static class FacetedResult {
+        private final List<Course> courses;
+        private final int total;
+        private final Map<String, Map<String, Integer>> facets;
+        private final Map<String, List<HistogramBucket>> histograms;
+        private final long tookMicros;
+
+        public FacetedResult(List<Course> courses, int total, Map<String, Map<String, Integer>> facets,
+                             Map<String, List<HistogramBucket>> histograms, long tookMicros) {
+            this.courses = courses;
+            this.total = total;
+            this.facets = facets;
+            this.histograms = histograms;
+            this.tookMicros = tookMicros;
+        }
+
+        public FacetedResult withCourses(List<Course> rankedCourses) {
+            return new FacetedResult(rankedCourses, total, facets, histograms, tookMicros);
+        }
+
+        public List<Course> getCourses() {
+            return courses;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public Map<String, Map<String, Integer>> getFacets() {
+            return facets;
+        }
+
+        public Map<String, List<HistogramBucket>> getHistograms() {
+            return histograms;
+        }
+
+        public long getTookMicros() {
+            return tookMicros;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.coursecomparison.service;
+
+import com.coursecomparison.model.Course;
+import com.coursecomparison.repository.CourseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Detects duplicate courses at ingestion.
+ * A course is the same as an existing one only when its canonical URL is already known; such
+ * matches are merged into the existing row instead of inserting a new one. Title similarity
+ * never merges rows: "Part 1" and "Part 2", or "Python 2" and "Python 3", are distinct courses
+ * whose shingles are nearly identical. The MinHash/LSH index only flags near-duplicates on a
+ * different platform (title/description shingles at least {@code dedup.similarity-threshold}
+ * similar), since the same syllabus on two platforms is still two offerings with their own price.
+ */
+@Service
+public class CourseDeduplicationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseDeduplicationService.class);
+
+    // 32 bands of 4 rows: pairs above ~0.45 Jaccard share a bucket with high probability
+    private static final int NUM_HASHES = 128;
+    private static final int BANDS = 32;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Value("${dedup.similarity-threshold:0.7}")
+    private double similarityThreshold;
+
+    private final MinHashIndex index = new MinHashIndex(NUM_HASHES, BANDS);
+    private final Map<String, Long> idsByCanonicalUrl = new ConcurrentHashMap<>();
+    private final Map<Long, String> platformsById = new ConcurrentHashMap<>();
+
+    private final AtomicLong mergedCount = new AtomicLong();
+    private final AtomicLong flaggedCount = new AtomicLong();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            List<Course> courses = courseRepository.findAll();
+            courses.sort(Comparator.comparing(Course::getId));
+            int existingDuplicates = 0;
+            for (Course course : courses) {
+                if (findDuplicate(course).isPresent()) {
+                    existingDuplicates++;
+                }
+                register(course);
+            }
+            logger.info("Deduplication index built over {} courses ({} existing near-duplicates)",
+                       courses.size(), existingDuplicates);
+        } catch (Exception e) {
+            logger.error("Error building deduplication index", e);
+        }
+    }
+
+    /**
+     * Persist a scraped course, or merge it into the existing course it duplicates.
+     * Returns the persisted entity either way.
+     */
+    public synchronized Course saveOrMerge(Course course) {
+        course.setUrl(CourseUrlNormalizer.clean(course.getUrl()));
+
+        Optional<Course> existing = findDuplicate(course).flatMap(courseRepository::findById);
+        if (existing.isPresent()) {
+            Course merged = merge(existing.get(), course);
+            String alias = CourseUrlNormalizer.canonicalKey(course.getUrl());
+            if (alias != null) {
+                idsByCanonicalUrl.putIfAbsent(alias, merged.getId());
+            }
+            mergedCount.incrementAndGet();
+            logger.debug("Merged duplicate '{}' into course {}", course.getTitle(), merged.getId());
+            return courseRepository.save(merged);
+        }
+
+        course.setNaturalKey(CourseUrlNormalizer.naturalKey(course.getPlatform(), course.getUrl()));
+        Course saved = courseRepository.save(course);
+        register(saved);
+        return saved;
+    }
+
+    /**
+     * Add courses persisted outside {@link #saveOrMerge}, such as by bulk upsert, to the index
+     */
+    public synchronized void registerAll(Collection<Course> courses) {
+        courses.forEach(this::register);
+    }
+
+    /**
+     * Id of the persisted course with the same canonical URL, if any.
+     * Cross-platform near-duplicates are counted and logged but never returned.
+     */
+    public Optional<Long> findDuplicate(Course course) {
+        String key = CourseUrlNormalizer.canonicalKey(course.getUrl());
+        if (key != null) {
+            Long id = idsByCanonicalUrl.get(key);
+            if (id != null && !id.equals(course.getId())) {
+                return Optional.of(id);
+            }
+        }
+
+        for (Map.Entry<Long, Double> candidate : index.candidates(signature(course)).entrySet()) {
+            if (candidate.getKey().equals(course.getId()) || candidate.getValue() < similarityThreshold) {
+                continue;
+            }
+            if (!samePlatform(course.getPlatform(), platformsById.get(candidate.getKey()))) {
+                flaggedCount.incrementAndGet();
+                logger.debug("Cross-platform near-duplicate: '{}' ({}) ~ course {} (similarity {})",
+                            course.getTitle(), course.getPlatform(), candidate.getKey(), candidate.getValue());
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Drop repeated canonical URLs from an unsaved result list, keeping the first occurrence
+     */
+    public List<Course> deduplicate(List<Course> courses) {
+        Set<String> seenUrls = new HashSet<>();
+        List<Course> unique = new ArrayList<>(courses.size());
+        for (Course course : courses) {
+            String key = CourseUrlNormalizer.canonicalKey(course.getUrl());
+            if (key == null || seenUrls.add(key)) {
+                unique.add(course);
+            }
+        }
+        return unique;
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new HashMap<>();
+        statistics.put("indexedCourses", index.size());
+        statistics.put("canonicalUrls", idsByCanonicalUrl.size());
+        statistics.put("merged", mergedCount.get());
+        statistics.put("crossPlatformFlagged", flaggedCount.get());
+        statistics.put("similarityThreshold", similarityThreshold);
+        return statistics;
+    }
+
+    private void register(Course course) {
+        if (course.getId() == null) {
+            return;
+        }
+        String key = CourseUrlNormalizer.canonicalKey(course.getUrl());
+        if (key != null) {
+            idsByCanonicalUrl.putIfAbsent(key, course.getId());
+        }
+        if (course.getPlatform() != null) {
+            platformsById.put(course.getId(), course.getPlatform());
+        }
+        index.add(course.getId(), signature(course));
+    }
+
+    private long[] signature(Course course) {
+        return index.signature(MinHashIndex.shingles(course.getTitle(), course.getDescription()));
+    }
+
+    private static boolean samePlatform(String a, String b) {
+        return a != null && a.equalsIgnoreCase(b);
+    }
+
+    /**
+     * Keep the existing row, identity and active flag; take fresh marketplace numbers and fill
+     * any missing fields
+     */
+    private static Course merge(Course existing, Course fresh) {
+        if (fresh.getRating() != null) existing.setRating(fresh.getRating());
+        if (fresh.getStudentCount() != null) existing.setStudentCount(fresh.getStudentCount());
+        if (fresh.getPrice() != null) existing.setPrice(fresh.getPrice());
+        if (existing.getDescription() == null || existing.getDescription().isBlank()) existing.setDescription(fresh.getDescription());
+        if (existing.getInstructor() == null) existing.setInstructor(fresh.getInstructor());
+        if (existing.getCourseImageUrl() == null) existing.setCourseImageUrl(fresh.getCourseImageUrl());
+        if (existing.getDurationHours() == null) existing.setDurationHours(fresh.getDurationHours());
+        if (existing.getDifficultyLevel() == null) existing.setDifficultyLevel(fresh.getDifficultyLevel());
+        if (existing.getUrl() == null) existing.setUrl(fresh.getUrl());
+        if (fresh.getUrlValidatedAt() != null) {
+            existing.setUrlStatus(fresh.getUrlStatus());
+            existing.setUrlValidatedAt(fresh.getUrlValidatedAt());
+        }
+        existing.setLastUpdated(LocalDateTime.now());
+        return existing;
+    }
+}
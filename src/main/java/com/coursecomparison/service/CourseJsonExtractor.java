@@ -0,0 +1,174 @@
+package com.coursecomparison.service;
+
+import com.coursecomparison.model.Course;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Streams platform API responses straight into {@link Course} objects.
+ * Only the fields listed in the caller's field map are read; every other value is skipped
+ * token by token, and parsing stops once {@code limit} courses have been read, so no
+ * intermediate Map tree is built for the whole page.
+ */
+@Component
+public class CourseJsonExtractor {
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    /**
+     * Reads one JSON value into a course. Called with the parser on the value's first token;
+     * must leave it on the value's last token.
+     */
+    @FunctionalInterface
+    public interface FieldReader {
+        void read(JsonParser parser, Course course) throws IOException;
+    }
+
+    /**
+     * GET {@code url} and extract up to {@code limit} courses from the top-level array {@code arrayField}.
+     * Non-2xx responses raise the usual RestTemplate exceptions.
+     */
+    public List<Course> fetch(String url, HttpHeaders headers, String arrayField, int limit, Map<String, FieldReader> fields) {
+        List<Course> courses = restTemplate.execute(url, HttpMethod.GET,
+            request -> request.getHeaders().putAll(headers),
+            response -> extract(response.getBody(), arrayField, limit, fields));
+        return courses != null ? courses : new ArrayList<>();
+    }
+
+    public List<Course> extract(InputStream json, String arrayField, int limit, Map<String, FieldReader> fields) throws IOException {
+        List<Course> courses = new ArrayList<>();
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return courses;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (!arrayField.equals(name) || value != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+                JsonToken element;
+                while ((element = parser.nextToken()) != JsonToken.END_ARRAY && element != null) {
+                    if (element != JsonToken.START_OBJECT) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    courses.add(readCourse(parser, fields));
+                    if (courses.size() >= limit) {
+                        return courses;
+                    }
+                }
+                return courses;
+            }
+        }
+        return courses;
+    }
+
+    private static Course readCourse(JsonParser parser, Map<String, FieldReader> fields) throws IOException {
+        Course course = new Course();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            FieldReader reader = fields.get(parser.currentName());
+            parser.nextToken();
+            if (reader != null) {
+                reader.read(parser, course);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return course;
+    }
+
+    /**
+     * String value; a localized object such as {"value": "..."} yields its "value"
+     */
+    public static FieldReader text(BiConsumer<Course, String> setter) {
+        return (parser, course) -> {
+            JsonToken token = parser.currentToken();
+            if (token == JsonToken.VALUE_STRING) {
+                setter.accept(course, parser.getText());
+            } else if (token == JsonToken.START_OBJECT) {
+                field("value", text(setter)).read(parser, course);
+            } else {
+                parser.skipChildren();
+            }
+        };
+    }
+
+    /**
+     * Numeric value, or a string holding a number
+     */
+    public static FieldReader number(BiConsumer<Course, Double> setter) {
+        return (parser, course) -> {
+            JsonToken token = parser.currentToken();
+            if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+                setter.accept(course, parser.getDoubleValue());
+            } else if (token == JsonToken.VALUE_STRING) {
+                try {
+                    setter.accept(course, Double.parseDouble(parser.getText().trim()));
+                } catch (NumberFormatException ignored) {
+                    // leave unset
+                }
+            } else {
+                parser.skipChildren();
+            }
+        };
+    }
+
+    /**
+     * One named field of an object value
+     */
+    public static FieldReader field(String name, FieldReader reader) {
+        return (parser, course) -> {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                return;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                boolean wanted = name.equals(parser.currentName());
+                parser.nextToken();
+                if (wanted) {
+                    reader.read(parser, course);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        };
+    }
+
+    /**
+     * First element of an array value; the remaining elements are skipped
+     */
+    public static FieldReader first(FieldReader reader) {
+        return (parser, course) -> {
+            if (parser.currentToken() != JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                return;
+            }
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.END_ARRAY) {
+                return;
+            }
+            reader.read(parser, course);
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+                parser.skipChildren();
+            }
+        };
+    }
+}
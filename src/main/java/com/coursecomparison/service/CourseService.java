@@ -28,15 +28,39 @@ public class CourseService {
     @Autowired
     private CourseRepository courseRepository;
     
-    @Autowired
-    private LiveCourseService liveCourseService;
-    
     @Autowired
     private MCDMService mcdmService;
     
     @Autowired
     private CourseValidationService courseValidationService;
     
+    @Autowired
+    private CourseCatalogIndex courseCatalogIndex;
+    
+    @Autowired
+    private SearchQueryPlanner queryPlanner;
+    
+    @Autowired
+    private RankedCursorStore rankedCursorStore;
+    
+    @Autowired
+    private SimilarCourseService similarCourseService;
+    
+    @Autowired
+    private CourseDeduplicationService courseDeduplicationService;
+    
+    @Autowired
+    private SearchResultCache searchResultCache;
+    
+    @Autowired
+    private SpellingSuggestionService spellingSuggestionService;
+    
+    @Autowired
+    private HybridRanker hybridRanker;
+    
+    @Autowired
+    private LiveDataFreshnessService liveDataFreshnessService;
+    
     /**
      * Get all courses with caching and ranking
      */
@@ -71,12 +95,9 @@ public class CourseService {
             Pageable pageable = PageRequest.of(page, size, sort);
             Page<Course> coursePage = courseRepository.findAll(pageable);
             
-            // Apply ranking to the current page
-            List<Course> rankedCourses = mcdmService.rankCourses(coursePage.getContent(), Algorithm.TOPSIS, null);
-            coursePage = coursePage.map(course -> rankedCourses.stream()
-                .filter(c -> c.getId().equals(course.getId()))
-                .findFirst()
-                .orElse(course));
+            // Score the current page in place; ranking sets mcdmScore on the same instances,
+            // so the requested sort order is kept without re-mapping each element
+            mcdmService.rankCourses(new ArrayList<>(coursePage.getContent()), Algorithm.TOPSIS, null);
             
             return coursePage;
             
@@ -87,36 +108,32 @@ public class CourseService {
     }
     
     /**
-     * Advanced search with multiple filters
+     * Advanced search with multiple filters.
+     * Results are cached per canonical query: the unranked candidates are shared by all users
+     * and only the MCDM ranking is repeated for users with different weights or interests.
      */
-    @Cacheable(value = "searchResults", key = "#keyword + #filters.hashCode()")
     public List<Course> advancedSearch(String keyword, Map<String, Object> filters, User user) {
         try {
             logger.info("Advanced search with keyword: {} and filters: {}", keyword, filters);
-            
-            List<Course> results = new ArrayList<>();
-            
-            // Apply filters
-            if (filters != null && !filters.isEmpty()) {
-                results = applyFilters(filters);
-            } else if (keyword != null && !keyword.trim().isEmpty()) {
-                results = searchCourses(keyword, user);
-            } else {
-                results = getAllCourses();
+            SearchQueryCanonicalizer.SearchKey key = SearchQueryCanonicalizer.key(keyword, filters);
+            String fingerprint = SearchQueryCanonicalizer.userFingerprint(user);
+            
+            // Filtered searches go through the cost-based planner
+            if (!key.getFilters().isEmpty()) {
+                return searchResultCache.get(key, fingerprint,
+                    () -> loadAdvancedCandidates(key.getKeyword(), filters),
+                    candidates -> rankCandidates(candidates.getPlan(), candidates.getCourses(), key.getKeyword(), user));
             }
             
-            // Apply personalized ranking if user is logged in
-            Algorithm algorithm = Algorithm.TOPSIS;
-            if (user != null) {
-                algorithm = Algorithm.PERSONALIZED;
+            if (!key.getKeyword().isEmpty()) {
+                return searchCourses(keyword, user).stream()
+                    .limit(SEARCH_RESULTS_LIMIT)
+                    .collect(Collectors.toList());
             }
             
-            List<Course> rankedResults = mcdmService.rankCourses(results, algorithm, user);
-            
-            // Limit results
-            return rankedResults.stream()
-                .limit(SEARCH_RESULTS_LIMIT)
-                .collect(Collectors.toList());
+            return searchResultCache.get(key, fingerprint,
+                () -> new SearchResultCache.CandidateSet(courseRepository.findAll(), null),
+                candidates -> rankAndLimit(candidates.getCourses(), user, SEARCH_RESULTS_LIMIT));
                 
         } catch (Exception e) {
             logger.error("Error occurred during advanced search", e);
@@ -125,9 +142,131 @@ public class CourseService {
     }
     
     /**
-     * Search courses with keyword
+     * Choose the filter path for a filtered search from selectivity estimates
+     */
+    public SearchQueryPlanner.QueryPlan planAdvancedSearch(String keyword, Map<String, Object> filters) {
+        return queryPlanner.plan(keyword, filters);
+    }
+    
+    /**
+     * Execute a filtered search without caching, recording actual rows and timings on the plan
+     */
+    public List<Course> executeAdvancedSearch(SearchQueryPlanner.QueryPlan plan, String keyword,
+                                              Map<String, Object> filters, User user) {
+        SearchResultCache.CandidateSet candidates = loadCandidates(plan, keyword, filters);
+        long rankStart = System.nanoTime();
+        List<Course> results = rankCandidates(plan, candidates.getCourses(), keyword, user);
+        plan.setRankMicros((System.nanoTime() - rankStart) / 1_000);
+        return results;
+    }
+    
+    /**
+     * Unpersonalized half of a filtered search: filter along the planned path and match the keyword
+     * here, so the cached candidates are already narrowed
+     */
+    private SearchResultCache.CandidateSet loadAdvancedCandidates(String keyword, Map<String, Object> filters) {
+        return loadCandidates(planAdvancedSearch(keyword, filters), keyword, filters);
+    }
+    
+    private SearchResultCache.CandidateSet loadCandidates(SearchQueryPlanner.QueryPlan plan, String keyword,
+                                                          Map<String, Object> filters) {
+        long filterStart = System.nanoTime();
+        List<Course> candidates = fetchCandidates(plan, filters);
+        plan.setFilterMicros((System.nanoTime() - filterStart) / 1_000);
+        plan.setActualRows(candidates.size());
+        
+        queryPlanner.planKeyword(plan, candidates, keyword);
+        if (plan.getKeywordOrder() == SearchQueryPlanner.KeywordOrder.KEYWORD_THEN_RANK) {
+            String needle = keyword.trim().toLowerCase();
+            candidates = candidates.stream()
+                .filter(course -> SearchQueryPlanner.matchesKeyword(course, needle))
+                .collect(Collectors.toList());
+        }
+        return new SearchResultCache.CandidateSet(candidates, plan);
+    }
+    
+    /**
+     * Per-user half of a filtered search: hybrid relevance + MCDM ranking of the keyword-matched
+     * candidates when there is a keyword, MCDM ranking otherwise
+     */
+    private List<Course> rankCandidates(SearchQueryPlanner.QueryPlan plan, List<Course> candidates,
+                                        String keyword, User user) {
+        if (plan.getKeywordOrder() == SearchQueryPlanner.KeywordOrder.KEYWORD_THEN_RANK) {
+            return hybridRanker.rank(candidates, keyword, user, SEARCH_RESULTS_LIMIT, null);
+        }
+        return rankAndLimit(candidates, user, SEARCH_RESULTS_LIMIT);
+    }
+    
+    private List<Course> rankAndLimit(List<Course> candidates, User user, int limit) {
+        Algorithm algorithm = user != null ? Algorithm.PERSONALIZED : Algorithm.TOPSIS;
+        // Candidate sets are shared between requests, so each ranking scores its own copies
+        List<Course> copies = candidates.stream().map(Course::copy).collect(Collectors.toList());
+        return mcdmService.rankCourses(copies, algorithm, user).stream()
+            .limit(limit)
+            .collect(Collectors.toList());
+    }
+    
+    /**
+     * Keyset pagination over the fully ranked, filtered result.
+     * The first request ranks every matching course once and stores the ranking as a snapshot;
+     * later requests slice that snapshot from the (score, id) position carried in the cursor.
+     * A cursor only continues the filters and user it was issued for; any other request is
+     * rejected with IllegalArgumentException. If the snapshot has expired, the same query is
+     * re-ranked and resumed from the same key.
+     */
+    public RankedCursorStore.CursorPage getCoursesByCursor(Map<String, Object> filters, String cursor, int size, User user) {
+        Map<String, Object> effectiveFilters = filters != null ? filters : Collections.emptyMap();
+        int pageSize = Math.max(1, Math.min(size, 100));
+        String scope = cursorScope(effectiveFilters, user);
+        
+        if (cursor == null || cursor.isBlank()) {
+            return rankAndStore(effectiveFilters, user, scope).page(0, pageSize);
+        }
+        
+        RankedCursorStore.Cursor position = RankedCursorStore.decodeCursor(cursor);
+        String scopeHash = RankedCursorStore.scopeHash(scope);
+        if (!scopeHash.equals(position.getScopeHash())) {
+            throw new IllegalArgumentException("Cursor was issued for different filters or another user");
+        }
+        RankedCursorStore.RankedSnapshot snapshot = rankedCursorStore.find(position.getSnapshotId())
+            .filter(found -> scopeHash.equals(found.getScopeHash()))
+            .orElseGet(() -> {
+                logger.debug("Cursor snapshot {} expired, re-ranking", position.getSnapshotId());
+                return rankAndStore(effectiveFilters, user, scope);
+            });
+        
+        return snapshot.page(snapshot.positionAfter(position.getScore(), position.getId()), pageSize);
+    }
+    
+    /**
+     * What a ranked snapshot depends on: the canonical filters and the user it was ranked for
+     */
+    private static String cursorScope(Map<String, Object> filters, User user) {
+        return SearchQueryCanonicalizer.canonicalFilters(filters) + "|user=" + (user != null ? user.getId() : "anonymous")
+            + "|" + SearchQueryCanonicalizer.userFingerprint(user);
+    }
+    
+    private RankedCursorStore.RankedSnapshot rankAndStore(Map<String, Object> filters, User user, String scope) {
+        List<Course> candidates = fetchCandidates(planAdvancedSearch(null, filters), filters);
+        Algorithm algorithm = user != null ? Algorithm.PERSONALIZED : Algorithm.TOPSIS;
+        return rankedCursorStore.store(mcdmService.rankCourses(new ArrayList<>(candidates), algorithm, user), scope);
+    }
+    
+    /**
+     * Load filter candidates along the planned path
+     */
+    private List<Course> fetchCandidates(SearchQueryPlanner.QueryPlan plan, Map<String, Object> filters) {
+        if (plan.getFilterPath() == SearchQueryPlanner.FilterPath.INDEX) {
+            return courseCatalogIndex.filter(filters);
+        }
+        return filters.isEmpty() ? courseRepository.findAll() : applyFilters(filters);
+    }
+    
+    /**
+     * Search courses with keyword.
+     * Database and live candidates are cached per canonical keyword and shared by all users;
+     * concurrent misses for the same keyword run a single database scan and live fetch.
      */
-    @Cacheable(value = "searchResults", key = "#keyword")
     public List<Course> searchCourses(String keyword, User user) {
         try {
             logger.info("Searching courses with keyword: {}", keyword);
@@ -136,34 +275,11 @@ public class CourseService {
                 return getAllCourses();
             }
             
-            // Search in database
-            List<Course> databaseCourses = courseRepository.searchCourses(keyword, PageRequest.of(0, 100)).getContent();
-            logger.info("Found {} courses in database matching keyword", databaseCourses.size());
-            
-            // Search live courses
-            List<Course> liveCourses = liveCourseService.searchLiveCourses(keyword);
-            logger.info("Found {} live courses matching keyword", liveCourses.size());
-            
-            // Combine and remove duplicates
-            List<Course> allCourses = new ArrayList<>(databaseCourses);
-            allCourses.addAll(liveCourses);
-            
-            Set<String> seen = new HashSet<>();
-            allCourses.removeIf(course -> !seen.add(course.getTitle() + "|" + course.getPlatform()));
-            
-            // Validate course URLs to ensure they are accessible
-            allCourses = allCourses.stream()
-                .filter(courseValidationService::validateCourseData)
-                .filter(courseValidationService::isFromTrustedPlatform)
-                .collect(Collectors.toList());
-            
-            // Apply ranking
-            Algorithm algorithm = user != null ? Algorithm.PERSONALIZED : Algorithm.TOPSIS;
-            List<Course> rankedCourses = mcdmService.rankCourses(allCourses, algorithm, user);
-            
-            return rankedCourses.stream()
-                .limit(TOP_COURSES_LIMIT)
-                .collect(Collectors.toList());
+            SearchQueryCanonicalizer.SearchKey key = SearchQueryCanonicalizer.key(keyword, null);
+            return searchResultCache.get(key, SearchQueryCanonicalizer.userFingerprint(user),
+                () -> loadSearchCandidates(key.getKeyword()),
+                candidates -> hybridRanker.rank(candidates.getCourses(), candidates.rankingKeyword(key.getKeyword()),
+                    user, TOP_COURSES_LIMIT, null));
                 
         } catch (Exception e) {
             logger.error("Error occurred while searching courses with keyword: {}", keyword, e);
@@ -172,75 +288,75 @@ public class CourseService {
     }
     
     /**
-     * Apply advanced filters to courses
+     * Unranked keyword matches from the database and live platforms, deduplicated and validated.
+     * Live platforms are only waited on when the keyword has no recent live fetch. Matches for a
+     * spelling correction carry the corrected keyword, so ranking scores relevance against it.
+     */
+    private SearchResultCache.CandidateSet loadSearchCandidates(String keyword) {
+        // Search in database
+        List<Course> databaseCourses = courseRepository.searchCourses(keyword, PageRequest.of(0, 100)).getContent();
+        logger.info("Found {} courses in database matching keyword", databaseCourses.size());
+        
+        // A misspelled keyword is retried locally before going to the live platforms
+        if (databaseCourses.isEmpty() && spellingSuggestionService.isAutoRetryEnabled()) {
+            Optional<String> suggestion = spellingSuggestionService.suggest(keyword);
+            if (suggestion.isPresent()) {
+                List<Course> corrected = courseRepository.searchCourses(suggestion.get(), PageRequest.of(0, 100)).getContent();
+                if (!corrected.isEmpty()) {
+                    logger.info("Found {} courses in database for corrected keyword '{}'", corrected.size(), suggestion.get());
+                    return new SearchResultCache.CandidateSet(corrected.stream()
+                        .filter(courseValidationService::validateCourseData)
+                        .filter(courseValidationService::isFromTrustedPlatform)
+                        .collect(Collectors.toList()), null, suggestion.get());
+                }
+            }
+        }
+        
+        // Search live courses, unless the keyword's live data is recent enough to serve from the database
+        List<Course> liveCourses = liveDataFreshnessService.liveResults(keyword, !databaseCourses.isEmpty(), null).getCourses();
+        logger.info("Found {} live courses matching keyword", liveCourses.size());
+        
+        // Combine and remove duplicates
+        List<Course> allCourses = new ArrayList<>(databaseCourses);
+        allCourses.addAll(liveCourses);
+        
+        allCourses = courseDeduplicationService.deduplicate(allCourses);
+        
+        // Validate course URLs to ensure they are accessible
+        return new SearchResultCache.CandidateSet(allCourses.stream()
+            .filter(courseValidationService::validateCourseData)
+            .filter(courseValidationService::isFromTrustedPlatform)
+            .collect(Collectors.toList()), null);
+    }
+    
+    /**
+     * Spelling correction for a keyword against the catalog vocabulary
+     */
+    public Optional<String> suggestKeyword(String keyword) {
+        try {
+            return spellingSuggestionService.suggest(keyword);
+        } catch (Exception e) {
+            logger.error("Error suggesting correction for keyword: {}", keyword, e);
+            return Optional.empty();
+        }
+    }
+    
+    /**
+     * Apply advanced filters through the SQL query
      */
     private List<Course> applyFilters(Map<String, Object> filters) {
         try {
-            Double minPrice = (Double) filters.get("minPrice");
-            Double maxPrice = (Double) filters.get("maxPrice");
-            Double minRating = (Double) filters.get("minRating");
-            String platform = (String) filters.get("platform");
-            String topic = (String) filters.get("topic");
-            String difficulty = (String) filters.get("difficulty");
-            String language = (String) filters.get("language");
-            Boolean hasCertificate = (Boolean) filters.get("hasCertificate");
-            
-            // Build dynamic query
-            StringBuilder queryBuilder = new StringBuilder();
-            Map<String, Object> params = new HashMap<>();
-            
-            if (minPrice != null) {
-                queryBuilder.append("c.price >= :minPrice AND ");
-                params.put("minPrice", minPrice);
-            }
-            
-            if (maxPrice != null) {
-                queryBuilder.append("c.price <= :maxPrice AND ");
-                params.put("maxPrice", maxPrice);
-            }
-            
-            if (minRating != null) {
-                queryBuilder.append("c.rating >= :minRating AND ");
-                params.put("minRating", minRating);
-            }
-            
-            if (platform != null && !platform.trim().isEmpty()) {
-                queryBuilder.append("LOWER(c.platform) = LOWER(:platform) AND ");
-                params.put("platform", platform);
-            }
-            
-            if (topic != null && !topic.trim().isEmpty()) {
-                queryBuilder.append("LOWER(c.topic) LIKE LOWER(CONCAT('%', :topic, '%')) AND ");
-                params.put("topic", topic);
-            }
-            
-            if (difficulty != null && !difficulty.trim().isEmpty()) {
-                queryBuilder.append("c.difficultyLevel = :difficulty AND ");
-                params.put("difficulty", difficulty);
-            }
-            
-            if (language != null && !language.trim().isEmpty()) {
-                queryBuilder.append("c.language = :language AND ");
-                params.put("language", language);
-            }
-            
-            if (hasCertificate != null) {
-                queryBuilder.append("c.hasCertificate = :hasCertificate AND ");
-                params.put("hasCertificate", hasCertificate);
-            }
-            
-            // Remove trailing AND
-            if (queryBuilder.length() > 0) {
-                queryBuilder.setLength(queryBuilder.length() - 5);
-            }
-            
-            // Execute query
-            if (queryBuilder.length() > 0) {
-                return courseRepository.findCoursesByAdvancedFilters(
-                    minPrice, maxPrice, minRating, platform, topic, difficulty, language, hasCertificate);
-            } else {
-                return courseRepository.findAll();
-            }
+            Double minPrice = CourseCatalogIndex.toDouble(filters.get("minPrice"));
+            Double maxPrice = CourseCatalogIndex.toDouble(filters.get("maxPrice"));
+            Double minRating = CourseCatalogIndex.toDouble(filters.get("minRating"));
+            String platform = CourseCatalogIndex.toText(filters.get("platform"));
+            String topic = CourseCatalogIndex.toText(filters.get("topic"));
+            String difficulty = CourseCatalogIndex.toText(filters.get("difficulty"));
+            String language = CourseCatalogIndex.toText(filters.get("language"));
+            Boolean hasCertificate = CourseCatalogIndex.toBoolean(filters.get("hasCertificate"));
+            
+            return courseRepository.findCoursesByAdvancedFilters(
+                minPrice, maxPrice, minRating, platform, topic, difficulty, language, hasCertificate);
             
         } catch (Exception e) {
             logger.error("Error applying filters", e);
@@ -248,6 +364,23 @@ public class CourseService {
         }
     }
     
+    /**
+     * Filter courses through the bitmap index and return facet counts and histograms alongside
+     */
+    public CourseCatalogIndex.FacetedResult facetedSearch(Map<String, Object> filters, User user) {
+        if (!courseCatalogIndex.isReady()) {
+            courseCatalogIndex.refresh();
+        }
+        
+        CourseCatalogIndex.FacetedResult result = courseCatalogIndex.query(filters);
+        Algorithm algorithm = user != null ? Algorithm.PERSONALIZED : Algorithm.TOPSIS;
+        List<Course> rankedCourses = mcdmService.rankCourses(new ArrayList<>(result.getCourses()), algorithm, user);
+        
+        return result.withCourses(rankedCourses.stream()
+            .limit(SEARCH_RESULTS_LIMIT)
+            .collect(Collectors.toList()));
+    }
+    
     /**
      * Get courses by provider/platform
      */
@@ -373,6 +506,18 @@ public class CourseService {
         return courseRepository.findById(id);
     }
     
+    /**
+     * Get courses similar to the given course from the nearest-neighbour index
+     */
+    public List<Course> getSimilarCourses(Course course, int limit) {
+        try {
+            return similarCourseService.findSimilarCourses(course, limit);
+        } catch (Exception e) {
+            logger.error("Error finding courses similar to: {}", course.getId(), e);
+            return Collections.emptyList();
+        }
+    }
+    
     /**
      * Get course recommendations for user
      */
@@ -415,7 +560,7 @@ public class CourseService {
         try {
             List<Course> allCourses = getAllCourses();
             return allCourses.stream()
-                .sorted(Comparator.comparingDouble(Course::getRating).reversed())
+                .sorted(Comparator.comparing(Course::getRating, Comparator.nullsLast(Comparator.reverseOrder())))
                 .limit(limit)
                 .collect(Collectors.toList());
         } catch (Exception e) {
@@ -427,8 +572,10 @@ public class CourseService {
     /**
      * Clear cache
      */
-    @CacheEvict(value = {"courses", "searchResults"}, allEntries = true)
+    @CacheEvict(value = "courses", allEntries = true)
     public void clearCache() {
+        searchResultCache.invalidateAll();
+        courseCatalogIndex.refresh();
         logger.info("Cache cleared");
     }
 } 
\ No newline at end of file
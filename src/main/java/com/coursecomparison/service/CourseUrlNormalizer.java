@@ -0,0 +1,101 @@
+package com.coursecomparison.service;
+
+import java.net.URI;
+import java.util.*;
+
+/**
+ * URL normalization for course links scraped from different strategies.
+ * {@link #clean} only removes parts that never change the target page (tracking parameters,
+ * fragments) and is safe to store; {@link #canonicalKey} additionally folds scheme, host case,
+ * {@code www.}, trailing slashes and parameter order, and is only used for matching.
+ */
+public final class CourseUrlNormalizer {
+
+    private static final Set<String> TRACKING_PARAMETERS = Set.of(
+        "ref", "referralcode", "couponcode", "ranmid", "raneaid", "ransiteid", "gclid", "fbclid",
+        "mc_cid", "mc_eid", "aff_code", "affiliate", "irclickid", "irgwc");
+
+    private CourseUrlNormalizer() {
+    }
+
+    /**
+     * Drop tracking parameters and the fragment; returns the input unchanged if it does not parse
+     */
+    public static String clean(String url) {
+        if (url == null || url.isBlank()) {
+            return url;
+        }
+        try {
+            URI uri = new URI(url.trim());
+            if (uri.getHost() == null) {
+                return url.trim();
+            }
+            String query = filterQuery(uri.getRawQuery(), false);
+            return new URI(uri.getScheme(), uri.getRawAuthority(), null, null, null).toString()
+                + (uri.getRawPath() != null ? uri.getRawPath() : "")
+                + (query.isEmpty() ? "" : "?" + query);
+        } catch (Exception e) {
+            return url.trim();
+        }
+    }
+
+    /**
+     * Matching key: same key means the same course page
+     */
+    public static String canonicalKey(String url) {
+        if (url == null || url.isBlank()) {
+            return null;
+        }
+        try {
+            URI uri = new URI(url.trim());
+            String host = uri.getHost();
+            if (host == null) {
+                return null;
+            }
+            host = host.toLowerCase(Locale.ROOT);
+            if (host.startsWith("www.")) {
+                host = host.substring(4);
+            }
+            String path = uri.getRawPath() != null ? uri.getRawPath() : "";
+            while (path.endsWith("/")) {
+                path = path.substring(0, path.length() - 1);
+            }
+            String query = filterQuery(uri.getRawQuery(), true);
+            return host + path + (query.isEmpty() ? "" : "?" + query);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Unique key of a course row: lower-cased platform and {@link #canonicalKey}, or null without a usable URL
+     */
+    public static String naturalKey(String platform, String url) {
+        String key = canonicalKey(url);
+        if (key == null || platform == null || platform.isBlank()) {
+            return null;
+        }
+        return platform.trim().toLowerCase(Locale.ROOT) + "|" + key;
+    }
+
+    private static String filterQuery(String rawQuery, boolean sorted) {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return "";
+        }
+        List<String> kept = new ArrayList<>();
+        for (String parameter : rawQuery.split("&")) {
+            if (parameter.isEmpty()) {
+                continue;
+            }
+            String name = parameter.split("=", 2)[0].toLowerCase(Locale.ROOT);
+            if (name.startsWith("utm_") || TRACKING_PARAMETERS.contains(name)) {
+                continue;
+            }
+            kept.add(parameter);
+        }
+        if (sorted) {
+            Collections.sort(kept);
+        }
+        return String.join("&", kept);
+    }
+}
@@ -1,20 +1,41 @@
 package com.coursecomparison.service;
 
 import com.coursecomparison.model.Course;
+import com.coursecomparison.repository.CourseRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
-import java.util.List;
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 /**
- * Service for validating course URLs and ensuring they are accessible
+ * Service for validating course URLs and ensuring they are accessible.
+ * Checks use HEAD, falling back to a one-byte ranged GET for servers that reject HEAD, and go
+ * through the outbound gateway's rate limits and circuit breakers. Outcomes are cached per URL
+ * (longer for definitive answers than for transient errors). Every outcome and its time is
+ * stored on the course rows that asked for the check, by id. Ingestion never waits on the network:
+ * it only drops URLs already known to be gone and hands the rest to {@link #validateInBackground},
+ * and a scheduled sweep revalidates the catalog in small batches, retrying transient outcomes
+ * after {@code validation.url.error-ttl-minutes}.
  */
 @Service
 public class CourseValidationService {
@@ -22,47 +43,147 @@ public class CourseValidationService {
     private static final Logger logger = LoggerFactory.getLogger(CourseValidationService.class);
     
     @Autowired
-    private RestTemplate restTemplate;
-    
+    private OutboundHttpGateway outboundHttpGateway;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    @Qualifier("urlValidationExecutor")
+    private ThreadPoolTaskExecutor urlValidationExecutor;
+
+    @Value("${validation.url.timeout-ms:4000}")
+    private int timeoutMs;
+
+    @Value("${validation.url.ttl-minutes:360}")
+    private long ttlMinutes;
+
+    @Value("${validation.url.error-ttl-minutes:15}")
+    private long errorTtlMinutes;
+
+    @Value("${validation.url.cache-max-entries:20000}")
+    private long cacheMaxEntries;
+
+    @Value("${validation.url.revalidate-after-hours:24}")
+    private long revalidateAfterHours;
+
+    @Value("${validation.url.revalidate-batch-size:50}")
+    private int revalidateBatchSize;
+
+    private Cache<String, CourseAvailabilityStatus> results;
+    private final Map<String, CompletableFuture<CourseAvailabilityStatus>> inFlight = new ConcurrentHashMap<>();
+    // Course rows waiting for the outcome of a URL's check
+    private final Map<String, Set<Long>> pendingIds = new ConcurrentHashMap<>();
+
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder getFallbacks = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        results = Caffeine.newBuilder()
+                .maximumSize(cacheMaxEntries)
+                .expireAfter(new Expiry<String, CourseAvailabilityStatus>() {
+                    @Override
+                    public long expireAfterCreate(String url, CourseAvailabilityStatus status, long currentTime) {
+                        return TimeUnit.MINUTES.toNanos(status.isDefinitive() ? ttlMinutes : errorTtlMinutes);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String url, CourseAvailabilityStatus status, long currentTime, long currentDuration) {
+                        return expireAfterCreate(url, status, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String url, CourseAvailabilityStatus status, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
     /**
-     * Validate a single course URL
+     * Validate a single course URL, waiting for the check if the outcome is not cached
      */
     public boolean validateCourseUrl(Course course) {
         if (course == null || course.getUrl() == null || course.getUrl().trim().isEmpty()) {
             return false;
         }
         
-        try {
-            logger.debug("Validating URL for course: {}", course.getTitle());
-            
-            // Make a HEAD request to check if the URL is accessible
-            ResponseEntity<String> response = restTemplate.getForEntity(course.getUrl(), String.class);
-            
-            boolean isValid = response.getStatusCode().is2xxSuccessful();
-            logger.debug("URL validation for {}: {}", course.getTitle(), isValid ? "VALID" : "INVALID");
-            
-            return isValid;
-            
-        } catch (Exception e) {
-            logger.warn("URL validation failed for course {}: {}", course.getTitle(), e.getMessage());
+        CourseAvailabilityStatus status = getCourseAvailability(course);
+        logger.debug("URL validation for {}: {}", course.getTitle(), status);
+        return status == CourseAvailabilityStatus.AVAILABLE;
+    }
+
+    /**
+     * Non-blocking ingestion check: false only when the URL is already known to be gone.
+     * A cached outcome is copied onto the course so that it is saved with it.
+     */
+    public boolean admit(Course course) {
+        if (course == null || course.getUrl() == null || course.getUrl().trim().isEmpty()) {
             return false;
         }
+        CourseAvailabilityStatus status = results.getIfPresent(CourseUrlNormalizer.clean(course.getUrl()));
+        if (status == null) {
+            return true;
+        }
+        cacheHits.increment();
+        if (status.isDefinitive()) {
+            course.setUrlStatus(status.name());
+            course.setUrlValidatedAt(LocalDateTime.now());
+        }
+        if (status.rejectsCourse()) {
+            rejected.increment();
+            return false;
+        }
+        return true;
     }
-    
+
     /**
-     * Validate multiple course URLs asynchronously
+     * Queue checks for saved courses whose URLs have no cached outcome; results are written to the
+     * course rows as they arrive. Checks beyond the executor's queue are dropped and left to the sweep.
+     */
+    public void validateInBackground(List<Course> courses) {
+        if (courses == null) {
+            return;
+        }
+        Set<String> urls = new LinkedHashSet<>();
+        for (Course course : courses) {
+            if (course != null && course.getUrl() != null && !course.getUrl().isBlank()) {
+                String url = CourseUrlNormalizer.clean(course.getUrl());
+                if (results.getIfPresent(url) == null) {
+                    awaitOutcome(url, course.getId());
+                    urls.add(url);
+                }
+            }
+        }
+        urls.forEach(this::checkAsync);
+    }
+
+    /**
+     * Validate multiple course URLs concurrently, keeping the courses whose URLs are available
      */
     public CompletableFuture<List<Course>> validateCourseUrlsAsync(List<Course> courses) {
-        return CompletableFuture.supplyAsync(() -> {
-            logger.info("Starting validation for {} courses", courses.size());
-            
-            List<Course> validCourses = courses.parallelStream()
-                .filter(this::validateCourseUrl)
-                .collect(Collectors.toList());
-            
-            logger.info("Validation complete: {} valid courses out of {}", validCourses.size(), courses.size());
-            return validCourses;
-        });
+        logger.info("Starting validation for {} courses", courses.size());
+        Map<Course, CompletableFuture<CourseAvailabilityStatus>> checksByCourse = new LinkedHashMap<>();
+        for (Course course : courses) {
+            if (course.getUrl() != null && !course.getUrl().isBlank()) {
+                String url = CourseUrlNormalizer.clean(course.getUrl());
+                CourseAvailabilityStatus cached = results.getIfPresent(url);
+                checksByCourse.put(course, cached != null ? CompletableFuture.completedFuture(cached) : checkAsync(url));
+            }
+        }
+        return CompletableFuture.allOf(checksByCourse.values().toArray(new CompletableFuture<?>[0]))
+            .thenApply(ignored -> {
+                List<Course> validCourses = checksByCourse.entrySet().stream()
+                    .filter(entry -> entry.getValue().join() == CourseAvailabilityStatus.AVAILABLE)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+                logger.info("Validation complete: {} valid courses out of {}", validCourses.size(), courses.size());
+                return validCourses;
+            });
     }
     
     /**
@@ -76,30 +197,142 @@ public class CourseValidationService {
     }
     
     /**
-     * Get course availability status
+     * Get course availability status, from the cache or by checking the URL now
      */
     public CourseAvailabilityStatus getCourseAvailability(Course course) {
         if (course == null || course.getUrl() == null) {
             return CourseAvailabilityStatus.NOT_AVAILABLE;
         }
         
-        try {
-            ResponseEntity<String> response = restTemplate.getForEntity(course.getUrl(), String.class);
-            
-            if (response.getStatusCode().is2xxSuccessful()) {
-                return CourseAvailabilityStatus.AVAILABLE;
-            } else if (response.getStatusCode() == HttpStatus.NOT_FOUND) {
-                return CourseAvailabilityStatus.NOT_FOUND;
-            } else if (response.getStatusCode().is4xxClientError()) {
-                return CourseAvailabilityStatus.ACCESS_DENIED;
-            } else if (response.getStatusCode().is5xxServerError()) {
-                return CourseAvailabilityStatus.SERVER_ERROR;
-            } else {
+        String url = CourseUrlNormalizer.clean(course.getUrl());
+        CourseAvailabilityStatus status = results.getIfPresent(url);
+        if (status != null) {
+            cacheHits.increment();
+            return status;
+        }
+        awaitOutcome(url, course.getId());
+        CompletableFuture<CourseAvailabilityStatus> pending = inFlight.get(url);
+        if (pending != null) {
+            try {
+                return pending.get(timeoutMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
                 return CourseAvailabilityStatus.UNKNOWN;
+            } catch (Exception e) {
+                logger.warn("Error checking course availability for {}: {}", course.getTitle(), e.getMessage());
+                return CourseAvailabilityStatus.ERROR;
             }
-            
+        }
+        return checkAndRecord(url);
+    }
+
+    /**
+     * Revalidate active courses whose last check is missing or older than
+     * {@code validation.url.revalidate-after-hours}, a batch at a time
+     */
+    @Scheduled(fixedDelayString = "${validation.url.revalidate-interval-ms:600000}", initialDelay = 120000)
+    public void revalidateStaleUrls() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            List<Course> due = courseRepository.findUrlsDueForValidation(now.minusHours(revalidateAfterHours),
+                now.minusMinutes(errorTtlMinutes), CourseAvailabilityStatus.definitiveNames(), PageRequest.of(0, revalidateBatchSize));
+            if (due.isEmpty()) {
+                return;
+            }
+            logger.info("Revalidating {} course URLs", due.size());
+            // Force a fresh check even when an outcome is still cached
+            due.forEach(course -> results.invalidate(CourseUrlNormalizer.clean(course.getUrl())));
+            validateInBackground(due);
         } catch (Exception e) {
-            logger.warn("Error checking course availability for {}: {}", course.getTitle(), e.getMessage());
+            logger.error("Error revalidating course URLs: {}", e.getMessage());
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new HashMap<>();
+        statistics.put("cachedUrls", results.estimatedSize());
+        statistics.put("cacheHits", cacheHits.sum());
+        statistics.put("checks", checks.sum());
+        statistics.put("getFallbacks", getFallbacks.sum());
+        statistics.put("inFlight", inFlight.size());
+        statistics.put("dropped", dropped.sum());
+        statistics.put("rejectedAtIngestion", rejected.sum());
+        return statistics;
+    }
+
+    /**
+     * One background check per URL at a time; concurrent callers share it
+     */
+    private CompletableFuture<CourseAvailabilityStatus> checkAsync(String url) {
+        CompletableFuture<CourseAvailabilityStatus> created = new CompletableFuture<>();
+        CompletableFuture<CourseAvailabilityStatus> existing = inFlight.putIfAbsent(url, created);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            urlValidationExecutor.execute(() -> {
+                try {
+                    created.complete(FetchPriority.runAs(FetchPriority.BACKGROUND, () -> checkAndRecord(url)));
+                } catch (RuntimeException e) {
+                    created.complete(CourseAvailabilityStatus.ERROR);
+                } finally {
+                    inFlight.remove(url, created);
+                    // Rows that joined while the outcome was being recorded
+                    record(url, created.getNow(CourseAvailabilityStatus.ERROR));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            dropped.increment();
+            inFlight.remove(url, created);
+            // Left unstamped, so the sweep picks these rows up again
+            pendingIds.remove(url);
+            created.complete(CourseAvailabilityStatus.UNKNOWN);
+        }
+        return created;
+    }
+
+    private CourseAvailabilityStatus checkAndRecord(String url) {
+        CourseAvailabilityStatus status = check(url);
+        results.put(url, status);
+        record(url, status);
+        return status;
+    }
+
+    private void awaitOutcome(String url, Long courseId) {
+        if (courseId != null) {
+            pendingIds.computeIfAbsent(url, key -> ConcurrentHashMap.newKeySet()).add(courseId);
+        }
+    }
+
+    /**
+     * Stamp the outcome, transient or not, on the rows waiting for {@code url}, so the sweep moves on
+     */
+    private void record(String url, CourseAvailabilityStatus status) {
+        Set<Long> ids = pendingIds.remove(url);
+        if (ids == null || ids.isEmpty()) {
+            return;
+        }
+        try {
+            courseRepository.recordUrlValidation(ids, status.name(), LocalDateTime.now(), status.rejectsCourse());
+        } catch (Exception e) {
+            logger.warn("Could not record URL validation for {}: {}", url, e.getMessage());
+        }
+    }
+
+    private CourseAvailabilityStatus check(String url) {
+        checks.increment();
+        Map<String, String> headers = Map.of("User-Agent", OutboundHttpGateway.BROWSER_USER_AGENT);
+        try {
+            int status = outboundHttpGateway.probe("HEAD", url, headers, timeoutMs, 0).getStatus();
+            if (status == 403 || status == 405 || status == 501) {
+                // Some servers and CDNs refuse HEAD; ask for a single byte instead of the whole page
+                getFallbacks.increment();
+                Map<String, String> rangeHeaders = new HashMap<>(headers);
+                rangeHeaders.put("Range", "bytes=0-0");
+                status = outboundHttpGateway.probe("GET", url, rangeHeaders, timeoutMs, 1).getStatus();
+            }
+            return CourseAvailabilityStatus.fromHttpStatus(status);
+        } catch (IOException e) {
+            logger.debug("URL check failed for {}: {}", url, e.getMessage());
             return CourseAvailabilityStatus.ERROR;
         }
     }
@@ -169,6 +402,40 @@ public class CourseValidationService {
         ACCESS_DENIED,
         SERVER_ERROR,
         ERROR,
-        UNKNOWN
+        UNKNOWN;
+
+        static CourseAvailabilityStatus fromHttpStatus(int status) {
+            if ((status >= 200 && status < 400) || status == 416) {
+                // 416: the ranged GET fallback hit an empty but existing page
+                return AVAILABLE;
+            } else if (status == 408 || status == 429) {
+                return UNKNOWN;
+            } else if (status == 404 || status == 410) {
+                return NOT_FOUND;
+            } else if (status >= 400 && status < 500) {
+                return ACCESS_DENIED;
+            } else if (status >= 500) {
+                return SERVER_ERROR;
+            }
+            return UNKNOWN;
+        }
+
+        /**
+         * Says something about the page itself rather than about the network or the server
+         */
+        boolean isDefinitive() {
+            return this == AVAILABLE || this == NOT_FOUND || this == ACCESS_DENIED;
+        }
+
+        static List<String> definitiveNames() {
+            return Arrays.stream(values()).filter(CourseAvailabilityStatus::isDefinitive).map(Enum::name).toList();
+        }
+
+        /**
+         * The page is gone, so the course is not ingested and an existing row is deactivated
+         */
+        boolean rejectsCourse() {
+            return this == NOT_FOUND;
+        }
     }
 }
@@ -0,0 +1,148 @@
+package com.coursecomparison.service;
+
+import com.coursecomparison.model.Course;
+
+import java.util.*;
+
+/**
+ * Turns a course into a unit-length feature vector: hashed TF-IDF over title, topic and
+ * description, concatenated with the six MCDM criterion values.
+ * Document frequencies are kept per hash bucket and updated as courses are added,
+ * so no vocabulary or external model is needed.
+ */
+public class CourseVectorizer {
+
+    public static final int TEXT_DIMENSIONS = 512;
+    public static final int CRITERIA_DIMENSIONS = 6;
+    public static final int DIMENSIONS = TEXT_DIMENSIONS + CRITERIA_DIMENSIONS;
+
+    private static final double TEXT_WEIGHT = 0.8;
+    private static final double CRITERIA_WEIGHT = 0.2;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+        "the", "and", "or", "for", "with", "using", "to", "of", "in", "on", "a", "an",
+        "from", "by", "your", "you", "is", "are", "this", "that", "course", "learn");
+
+    private final int[] documentFrequency = new int[TEXT_DIMENSIONS];
+    private int documentCount;
+
+    /**
+     * Record the course's terms in the document frequencies and return its vector
+     */
+    public synchronized float[] addAndVectorize(Course course) {
+        Map<Integer, Double> termFrequencies = hashedTermFrequencies(course);
+        for (Integer bucket : termFrequencies.keySet()) {
+            documentFrequency[Math.abs(bucket) - 1]++;
+        }
+        documentCount++;
+        return vectorize(course, termFrequencies);
+    }
+
+    /**
+     * Vectorize without changing the document frequencies
+     */
+    public synchronized float[] vectorize(Course course) {
+        return vectorize(course, hashedTermFrequencies(course));
+    }
+
+    private float[] vectorize(Course course, Map<Integer, Double> termFrequencies) {
+        double[] text = new double[TEXT_DIMENSIONS];
+        for (Map.Entry<Integer, Double> entry : termFrequencies.entrySet()) {
+            int bucket = Math.abs(entry.getKey()) - 1;
+            double sign = entry.getKey() > 0 ? 1.0 : -1.0;
+            double idf = Math.log((documentCount + 1.0) / (documentFrequency[bucket] + 1.0)) + 1.0;
+            text[bucket] += sign * (1.0 + Math.log(entry.getValue())) * idf;
+        }
+
+        // Centre criteria on 0.5 so that cosine reflects the shape of the profile, not its magnitude
+        double[] criteria = {
+            centred(course.getContentQuality()),
+            centred(course.getInstructorRating()),
+            centred(course.getValueForMoney()),
+            centred(course.getCourseStructure()),
+            centred(course.getPracticalExercises()),
+            centred(course.getSupportQuality())
+        };
+
+        float[] vector = new float[DIMENSIONS];
+        write(vector, 0, text, Math.sqrt(TEXT_WEIGHT));
+        write(vector, TEXT_DIMENSIONS, criteria, Math.sqrt(CRITERIA_WEIGHT));
+        normalize(vector);
+        return vector;
+    }
+
+    /**
+     * Signed bucket (1-based, negative for a negative hash sign) to weighted term frequency.
+     * Title and topic count double.
+     */
+    private Map<Integer, Double> hashedTermFrequencies(Course course) {
+        Map<Integer, Double> frequencies = new HashMap<>();
+        addTerms(frequencies, course.getTitle(), 2.0);
+        addTerms(frequencies, course.getTopic(), 2.0);
+        addTerms(frequencies, course.getDescription(), 1.0);
+        return frequencies;
+    }
+
+    private void addTerms(Map<Integer, Double> frequencies, String text, double weight) {
+        for (String token : tokenize(text)) {
+            int hash = mix(token.hashCode());
+            int bucket = Math.floorMod(hash, TEXT_DIMENSIONS) + 1;
+            int signed = (hash & 0x40000000) != 0 ? -bucket : bucket;
+            frequencies.merge(signed, weight, Double::sum);
+        }
+    }
+
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase().split("[^\\p{L}\\p{N}+#]+")) {
+            if (token.length() > 1 && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+
+    private static double centred(Double value) {
+        return value != null ? value - 0.5 : 0.0;
+    }
+
+    private static void write(float[] target, int offset, double[] source, double weight) {
+        double norm = 0;
+        for (double value : source) {
+            norm += value * value;
+        }
+        norm = Math.sqrt(norm);
+        if (norm == 0) {
+            return;
+        }
+        for (int i = 0; i < source.length; i++) {
+            target[offset + i] = (float) (source[i] / norm * weight);
+        }
+    }
+
+    private static void normalize(float[] vector) {
+        double norm = 0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        norm = Math.sqrt(norm);
+        if (norm == 0) {
+            return;
+        }
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = (float) (vector[i] / norm);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.coursecomparison.service;
+
+import com.coursecomparison.model.Course;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Coursera: the public catalog API first, then three search page variants
+ */
+@Component
+@Order(1)
+public class CourseraPlatformAdapter extends AbstractPlatformAdapter {
+
+    private static final Map<String, CourseJsonExtractor.FieldReader> API_FIELDS = Map.of(
+        "name", CourseJsonExtractor.text(Course::setTitle),
+        "description", CourseJsonExtractor.text(Course::setDescription),
+        "slug", CourseJsonExtractor.text((course, slug) -> course.setUrl("https://www.coursera.org/learn/" + slug)));
+
+    public CourseraPlatformAdapter() {
+        super("Coursera", "https://www.coursera.org",
+            "[data-testid='course-card'], .rc-CourseCard, .course-card", "a[href*='coursera.org']",
+            defaults("Programming", "Beginner"), new Budget(10000, 20, 5));
+    }
+
+    @Override
+    protected void addStrategies(String keyword, LinkedHashMap<String, Supplier<List<Course>>> strategies) {
+        strategies.put("coursera-api", () -> searchApi("https://api.coursera.org/api/courses.v1?q=search&query="
+            + encode(keyword), "elements", API_FIELDS));
+        strategies.put("coursera-web", () -> searchPage("https://www.coursera.org/search?query=" + encode(keyword), 10000));
+        strategies.put("coursera-catalog", () -> searchPage("https://www.coursera.org/courses?query=" + encode(keyword), 10000));
+        strategies.put("coursera-indexed", () -> searchPage("https://www.coursera.org/search?query=" + encode(keyword)
+            + "&indices=prod_all_products_term_optimization", 10000));
+    }
+}
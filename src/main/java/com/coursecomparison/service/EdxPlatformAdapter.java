@@ -0,0 +1,38 @@
+package com.coursecomparison.service;
+
+import com.coursecomparison.model.Course;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * edX: the catalog API first, then the search page
+ */
+@Component
+@Order(3)
+public class EdxPlatformAdapter extends AbstractPlatformAdapter {
+
+    private static final Map<String, CourseJsonExtractor.FieldReader> API_FIELDS = Map.of(
+        "name", CourseJsonExtractor.text(Course::setTitle),
+        "short_description", CourseJsonExtractor.text(Course::setDescription),
+        "org", CourseJsonExtractor.text(Course::setInstructor),
+        "marketing_url", CourseJsonExtractor.text((course, path) ->
+            course.setUrl(path.startsWith("http") ? path : "https://www.edx.org" + path)));
+
+    public EdxPlatformAdapter() {
+        super("edX", "https://www.edx.org",
+            ".course-card, .discovery-card, [data-testid='course-card']", "a[href*='edx.org']",
+            defaults("Programming", "Beginner"), new Budget(10000, 20, 5));
+    }
+
+    @Override
+    protected void addStrategies(String keyword, LinkedHashMap<String, Supplier<List<Course>>> strategies) {
+        strategies.put("edx-api", () -> searchApi("https://api.edx.org/catalog/v1/courses/?search=" + encode(keyword),
+            "results", API_FIELDS));
+        strategies.put("edx-web", () -> searchPage("https://www.edx.org/search?q=" + encode(keyword), 10000));
+    }
+}
@@ -2,191 +2,253 @@ package com.coursecomparison.service;
 
 import com.coursecomparison.model.Course;
 import com.coursecomparison.repository.CourseRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.InputStream;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * Service to provide fallback course data when live APIs are not accessible
+ * Service to provide fallback course data when live APIs are not accessible.
+ * Answers from two keyword-indexed sets held in memory: the top rated courses of each local
+ * topic, rebuilt every {@code fallback.index.refresh-interval-ms}, and a curated snapshot bundled
+ * as {@code fallback-courses.json} and loaded once at startup. Local matches come first, curated
+ * ones fill up the rest, and a keyword matching neither gets the most popular courses. No lookup
+ * returns more than {@code fallback.max-results} courses.
  */
 @Service
 public class FallbackCourseService {
     
     private static final Logger logger = LoggerFactory.getLogger(FallbackCourseService.class);
+    private static final Set<String> STOP_WORDS = Set.of("a", "an", "and", "for", "in", "of", "on", "or", "the", "to", "with", "using");
     
     @Autowired
     private CourseRepository courseRepository;
-    
+
+    @Value("${fallback.max-results:20}")
+    private int maxResults;
+
+    @Value("${fallback.index.courses-per-topic:10}")
+    private int coursesPerTopic;
+
+    @Value("${fallback.index.max-topics:200}")
+    private int maxTopics;
+
+    @Value("${fallback.snapshot:classpath:fallback-courses.json}")
+    private Resource snapshot;
+
+    private volatile FallbackIndex local = FallbackIndex.EMPTY;
+    private FallbackIndex curated = FallbackIndex.EMPTY;
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder curatedHits = new LongAdder();
+    private final LongAdder popularHits = new LongAdder();
+
+    @PostConstruct
+    public void loadSnapshot() {
+        try (InputStream in = snapshot.getInputStream()) {
+            List<Course> courses = new ArrayList<>();
+            List<Set<String>> terms = new ArrayList<>();
+            List<Course> general = new ArrayList<>();
+            for (JsonNode node : new ObjectMapper().readTree(in)) {
+                Course course = createSampleCourse(
+                    node.path("title").asText(),
+                    node.path("description").asText(),
+                    node.path("instructor").asText(),
+                    node.path("platform").asText(),
+                    node.path("url").asText(),
+                    node.path("rating").asDouble(),
+                    node.path("studentCount").asInt(),
+                    node.path("price").asDouble(),
+                    node.path("topic").asText(),
+                    node.path("durationHours").asInt(),
+                    node.path("language").asText("English"),
+                    node.path("difficultyLevel").asText("Beginner"));
+                Set<String> courseTerms = terms(course);
+                node.path("keywords").forEach(keyword -> courseTerms.addAll(tokenize(keyword.asText())));
+                courses.add(course);
+                terms.add(courseTerms);
+                if (node.path("general").asBoolean(false)) {
+                    general.add(course);
+                }
+            }
+            curated = new FallbackIndex(courses, terms, general);
+            logger.info("Loaded {} curated fallback courses", courses.size());
+        } catch (Exception e) {
+            logger.error("Could not load fallback course snapshot {}: {}", snapshot, e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
     /**
-     * Get fallback courses when live data is not available
+     * Reindex the top {@code fallback.index.courses-per-topic} courses of each local topic
      */
-    public List<Course> getFallbackCourses(String keyword) {
-        logger.info("Providing fallback courses for keyword: {}", keyword);
-        
-        // Try to get existing courses from database first
-        List<Course> existingCourses = courseRepository.findAll();
-        if (!existingCourses.isEmpty()) {
-            logger.info("Found {} existing courses in database", existingCourses.size());
-            return existingCourses;
+    @Scheduled(fixedDelayString = "${fallback.index.refresh-interval-ms:900000}",
+               initialDelayString = "${fallback.index.refresh-interval-ms:900000}")
+    public void rebuild() {
+        try {
+            long start = System.nanoTime();
+            Map<Long, Course> selected = new LinkedHashMap<>();
+            List<String> topics = courseRepository.findAllTopics();
+            for (String topic : topics.subList(0, Math.min(topics.size(), maxTopics))) {
+                if (topic == null || topic.isBlank()) {
+                    continue;
+                }
+                // Exact topic, so "Java" is not crowded out by "JavaScript"
+                for (Course course : courseRepository.findActiveByExactTopicOrderByRatingAndStudents(topic,
+                        PageRequest.of(0, coursesPerTopic))) {
+                    selected.putIfAbsent(course.getId(), course);
+                }
+            }
+            List<Course> courses = new ArrayList<>(selected.values());
+            courses.sort(Comparator.comparing(Course::getRating, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(Course::getStudentCount, Comparator.nullsLast(Comparator.reverseOrder())));
+            List<Set<String>> terms = new ArrayList<>();
+            courses.forEach(course -> terms.add(terms(course)));
+
+            List<Course> popular = new ArrayList<>();
+            for (Course course : courseRepository.findTop50ByOrderByStudentCountDesc()) {
+                if (popular.size() < maxResults && !Boolean.FALSE.equals(course.getIsActive())) {
+                    popular.add(course);
+                }
+            }
+            local = new FallbackIndex(courses, terms, popular);
+            logger.info("Fallback index built with {} courses from {} topics in {} ms",
+                       courses.size(), Math.min(topics.size(), maxTopics), (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            logger.error("Error building fallback course index", e);
         }
-        
-        // If no courses in database, create sample courses
-        return createSampleCourses(keyword);
     }
     
     /**
-     * Create sample courses as fallback
+     * Get fallback courses when live data is not available
      */
-    private List<Course> createSampleCourses(String keyword) {
-        logger.info("Creating sample courses for keyword: {}", keyword);
-        
-        List<Course> sampleCourses = new ArrayList<>();
-        
-        // Python courses
-        if (keyword.toLowerCase().contains("python")) {
-            sampleCourses.add(createSampleCourse(
-                "Python for Everybody",
-                "Comprehensive Python course for beginners to advanced users",
-                "University of Michigan",
-                "Coursera",
-                "https://www.coursera.org/specializations/python",
-                4.5,
-                1000,
-                0.0,
-                "Programming",
-                70,
-                "English",
-                "Beginner"
-            ));
-            
-            sampleCourses.add(createSampleCourse(
-                "Complete Python Bootcamp",
-                "Learn Python like a Professional! Start from the basics and go all the way to creating your own applications and games!",
-                "Jose Portilla",
-                "Udemy",
-                "https://www.udemy.com/course/complete-python-bootcamp/",
-                4.6,
-                500,
-                99.99,
-                "Programming",
-                22,
-                "English",
-                "Beginner"
-            ));
+    public List<Course> getFallbackCourses(String keyword) {
+        lookups.increment();
+        Set<String> tokens = tokenize(keyword);
+        FallbackIndex current = local;
+
+        List<Course> courses = new ArrayList<>();
+        Set<String> urls = new HashSet<>();
+        if (addAll(courses, urls, current.match(tokens, maxResults))) {
+            localHits.increment();
         }
-        
-        // Java courses
-        if (keyword.toLowerCase().contains("java")) {
-            sampleCourses.add(createSampleCourse(
-                "Java Programming and Software Engineering Fundamentals",
-                "Learn to code in Java and improve your programming and problem-solving skills",
-                "Duke University",
-                "Coursera",
-                "https://www.coursera.org/specializations/java-programming",
-                4.4,
-                800,
-                0.0,
-                "Programming",
-                60,
-                "English",
-                "Beginner"
-            ));
+        if (courses.size() < maxResults && addAll(courses, urls, curated.match(tokens, maxResults))) {
+            curatedHits.increment();
         }
-        
-        // JavaScript courses
-        if (keyword.toLowerCase().contains("javascript") || keyword.toLowerCase().contains("js")) {
-            sampleCourses.add(createSampleCourse(
-                "JavaScript: The Complete Guide",
-                "Master JavaScript from beginner to advanced with real-world projects",
-                "Maximilian Schwarzmüller",
-                "Udemy",
-                "https://www.udemy.com/course/javascript-the-complete-guide-2020-beginner-advanced/",
-                4.7,
-                300,
-                89.99,
-                "Programming",
-                40,
-                "English",
-                "Intermediate"
-            ));
+        if (courses.isEmpty()) {
+            popularHits.increment();
+            addAll(courses, urls, current.general.isEmpty() ? curated.general : current.general);
         }
-        
-        // Web Development courses
-        if (keyword.toLowerCase().contains("web") || keyword.toLowerCase().contains("html") || keyword.toLowerCase().contains("css")) {
-            sampleCourses.add(createSampleCourse(
-                "HTML, CSS, and Javascript for Web Developers",
-                "Learn the fundamental tools that every web page coder needs to know",
-                "Johns Hopkins University",
-                "Coursera",
-                "https://www.coursera.org/learn/html-css-javascript-for-web-developers",
-                4.5,
-                1200,
-                0.0,
-                "Web Development",
-                40,
-                "English",
-                "Beginner"
-            ));
+        logger.info("Providing {} fallback courses for keyword: {}", courses.size(), keyword);
+        return courses;
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new HashMap<>();
+        statistics.put("localCourses", local.courses.size());
+        statistics.put("localTerms", local.postings.size());
+        statistics.put("curatedCourses", curated.courses.size());
+        statistics.put("maxResults", maxResults);
+        statistics.put("lookups", lookups.sum());
+        statistics.put("localHits", localHits.sum());
+        statistics.put("curatedHits", curatedHits.sum());
+        statistics.put("popularHits", popularHits.sum());
+        return statistics;
+    }
+
+    // Adds copies of courses with URLs not yet in the result, up to the cap; true if any was added.
+    // Callers rank and score what they get, so the indexed courses are never handed out.
+    private boolean addAll(List<Course> courses, Set<String> urls, List<Course> candidates) {
+        boolean added = false;
+        for (Course course : candidates) {
+            if (courses.size() >= maxResults) {
+                break;
+            }
+            String key = CourseUrlNormalizer.canonicalKey(course.getUrl());
+            if (key == null || urls.add(key)) {
+                courses.add(course.copy());
+                added = true;
+            }
         }
-        
-        // Data Science courses
-        if (keyword.toLowerCase().contains("data") || keyword.toLowerCase().contains("machine learning") || keyword.toLowerCase().contains("ai")) {
-            sampleCourses.add(createSampleCourse(
-                "Machine Learning",
-                "Learn the fundamentals of machine learning and how to apply it to real-world problems",
-                "Stanford University",
-                "Coursera",
-                "https://www.coursera.org/learn/machine-learning",
-                4.9,
-                2000,
-                0.0,
-                "Data Science",
-                55,
-                "English",
-                "Intermediate"
-            ));
+        return added;
+    }
+
+    private static Set<String> terms(Course course) {
+        Set<String> terms = tokenize(course.getTopic());
+        terms.addAll(tokenize(course.getTitle()));
+        return terms;
+    }
+
+    private static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) {
+            return tokens;
         }
-        
-        // If no specific keyword match, add general programming courses
-        if (sampleCourses.isEmpty()) {
-            sampleCourses.add(createSampleCourse(
-                "Introduction to Computer Science",
-                "An introduction to the intellectual enterprises of computer science and the art of programming",
-                "Harvard University",
-                "edX",
-                "https://www.edx.org/course/introduction-computer-science-harvardx-cs50x",
-                4.8,
-                1500,
-                0.0,
-                "Computer Science",
-                100,
-                "English",
-                "Beginner"
-            ));
-            
-            sampleCourses.add(createSampleCourse(
-                "The Complete Web Developer Course",
-                "Learn web development with HTML, CSS, JavaScript, PHP, Python, MySQL & more!",
-                "Rob Percival",
-                "Udemy",
-                "https://www.udemy.com/course/the-complete-web-developer-course-2/",
-                4.3,
-                400,
-                199.99,
-                "Web Development",
-                30,
-                "English",
-                "Beginner"
-            ));
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}+#]+")) {
+            if (!token.isEmpty() && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Courses in rank order with an inverted index from term to course positions
+     */
+    private static final class FallbackIndex {
+        static final FallbackIndex EMPTY = new FallbackIndex(List.of(), List.of(), List.of());
+
+        private final List<Course> courses;
+        private final Map<String, List<Integer>> postings = new HashMap<>();
+        private final List<Course> general;
+
+        FallbackIndex(List<Course> courses, List<Set<String>> terms, List<Course> general) {
+            this.courses = courses;
+            this.general = general;
+            for (int i = 0; i < courses.size(); i++) {
+                for (String term : terms.get(i)) {
+                    postings.computeIfAbsent(term, t -> new ArrayList<>()).add(i);
+                }
+            }
+        }
+
+        /**
+         * Up to {@code limit} courses sharing a term with {@code tokens}, most shared terms first,
+         * then in rank order
+         */
+        List<Course> match(Set<String> tokens, int limit) {
+            Map<Integer, Integer> hits = new HashMap<>();
+            for (String token : tokens) {
+                for (Integer position : postings.getOrDefault(token, List.of())) {
+                    hits.merge(position, 1, Integer::sum);
+                }
+            }
+            return hits.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Integer>comparingByValue().reversed()
+                    .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(entry -> courses.get(entry.getKey()))
+                .toList();
         }
-        
-        logger.info("Created {} sample courses", sampleCourses.size());
-        return sampleCourses;
     }
     
     /**
@@ -0,0 +1,46 @@
+package com.coursecomparison.service;
+
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.function.Supplier;
+
+/**
+ * Priority lane of the outbound fetches made by the current thread.
+ * Interactive is the default; background work such as scheduled refreshes runs its live fetches
+ * inside {@link #runAs}. The lane follows tasks handed to executors decorated with {@link #propagating()}.
+ */
+public enum FetchPriority {
+    INTERACTIVE, BACKGROUND;
+
+    private static final ThreadLocal<FetchPriority> CURRENT = ThreadLocal.withInitial(() -> INTERACTIVE);
+
+    public static FetchPriority current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Run {@code work} with fetches in the given lane, restoring the previous lane afterwards
+     */
+    public static <T> T runAs(FetchPriority priority, Supplier<T> work) {
+        FetchPriority previous = CURRENT.get();
+        CURRENT.set(priority);
+        try {
+            return work.get();
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Executor task decorator that carries the submitting thread's lane into the worker thread
+     */
+    public static TaskDecorator propagating() {
+        return task -> {
+            FetchPriority priority = CURRENT.get();
+            return () -> runAs(priority, () -> {
+                task.run();
+                return null;
+            });
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package com.coursecomparison.service;
+
+import com.coursecomparison.model.Course;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * FutureLearn: one search page, no alternative strategies
+ */
+@Component
+@Order(5)
+public class FutureLearnPlatformAdapter extends AbstractPlatformAdapter {
+
+    @Value("${api.futurelearn.url:https://www.futurelearn.com/search?q=}")
+    private String searchUrl;
+
+    public FutureLearnPlatformAdapter() {
+        super("FutureLearn", "https://www.futurelearn.com",
+            ".course-card, .card, [data-testid='course-card']", "a[href*='futurelearn.com'], a[href^=/courses], a[href^=/learn]",
+            defaults("Programming", "Beginner"), new Budget(10000, 20, 5));
+    }
+
+    @Override
+    protected void addStrategies(String keyword, LinkedHashMap<String, Supplier<List<Course>>> strategies) {
+        strategies.put("futurelearn-web", () -> searchPage(searchUrl.trim() + encode(keyword), 10000));
+    }
+}
@@ -0,0 +1,196 @@
+package com.coursecomparison.service;
+
+import com.coursecomparison.model.Course;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Races the fallback strategies of one platform instead of running them back to back.
+ * The first strategy starts immediately. The next one starts as soon as the running strategies
+ * come back empty or fail, or as a hedge once the latest one has been running longer than its
+ * recent p90 latency. The first non-empty result wins and every other strategy is cancelled.
+ * A strategy the saturated executor rejects is skipped rather than run on the racing thread.
+ * A race in which no strategy came back empty without failing ends with the last failure, so the
+ * platform is reported as failed rather than empty.
+ */
+@Component
+public class HedgedStrategyRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(HedgedStrategyRunner.class);
+    private static final int HISTORY_SIZE = 64;
+    private static final int MIN_SAMPLES = 5;
+    private static final long MIN_HEDGE_DELAY_MS = 50;
+
+    @Autowired
+    @Qualifier("strategyExecutor")
+    private ThreadPoolTaskExecutor strategyExecutor;
+
+    @Value("${live.hedge.default-delay-ms:2000}")
+    private long defaultHedgeDelayMs;
+
+    private final Map<String, LatencyHistory> histories = new ConcurrentHashMap<>();
+    private final AtomicLong rejectedStarts = new AtomicLong();
+
+    /**
+     * Run the named strategies in order of preference and return the first non-empty result.
+     * An empty list if at least one strategy came back empty; otherwise the last strategy failure
+     * is thrown, or a {@link RejectedExecutionException} if no strategy could be launched.
+     */
+    public List<Course> race(String platform, LinkedHashMap<String, Supplier<List<Course>>> strategies) {
+        List<Map.Entry<String, Supplier<List<Course>>>> pending = new ArrayList<>(strategies.entrySet());
+        Map<Future<List<Course>>, String> running = new HashMap<>();
+        CompletionService<List<Course>> completion = new ExecutorCompletionService<>(strategyExecutor.getThreadPoolExecutor());
+        int next = 0;
+        String latest = null;
+        long latestStartedAt = 0;
+        boolean cameBackEmpty = false;
+        RuntimeException failure = null;
+
+        try {
+            while (true) {
+                if (running.isEmpty()) {
+                    if (next >= pending.size()) {
+                        if (cameBackEmpty) {
+                            return Collections.emptyList();
+                        }
+                        throw failure != null ? failure
+                            : new RejectedExecutionException(platform + " strategies not launched: strategy executor saturated");
+                    }
+                    latest = start(platform, completion, running, pending.get(next++));
+                    latestStartedAt = System.currentTimeMillis();
+                    continue;
+                }
+
+                Future<List<Course>> done;
+                if (next < pending.size()) {
+                    long wait = latestStartedAt + hedgeDelay(latest) - System.currentTimeMillis();
+                    done = completion.poll(Math.max(0, wait), TimeUnit.MILLISECONDS);
+                } else {
+                    done = completion.take();
+                }
+
+                if (done == null) {
+                    logger.debug("Hedging {} strategy '{}' with '{}'", platform, latest, pending.get(next).getKey());
+                    String hedge = start(platform, completion, running, pending.get(next++));
+                    if (hedge != null) {
+                        latest = hedge;
+                    }
+                    latestStartedAt = System.currentTimeMillis();
+                    continue;
+                }
+
+                String name = running.remove(done);
+                try {
+                    List<Course> result = done.get();
+                    if (result != null && !result.isEmpty()) {
+                        logger.debug("{} strategy '{}' won with {} courses", platform, name, result.size());
+                        return result;
+                    }
+                    cameBackEmpty = true;
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    logger.debug("{} strategy '{}' failed: {}", platform, name, cause.getMessage());
+                    failure = cause instanceof RuntimeException ? (RuntimeException) cause
+                        : new IllegalStateException(platform + " strategy '" + name + "' failed: " + cause.getMessage(), cause);
+                }
+
+                // Nothing from this one: start the next strategy right away instead of waiting for the hedge
+                if (next < pending.size()) {
+                    String following = start(platform, completion, running, pending.get(next++));
+                    if (following != null) {
+                        latest = following;
+                        latestStartedAt = System.currentTimeMillis();
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Collections.emptyList();
+        } finally {
+            running.keySet().forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * Recent p90 latency per strategy, for monitoring
+     */
+    public Map<String, Long> getHedgeDelays() {
+        Map<String, Long> delays = new TreeMap<>();
+        histories.keySet().forEach(name -> delays.put(name, hedgeDelay(name)));
+        return delays;
+    }
+
+    /**
+     * Launch a strategy; null if the executor is saturated and it was not launched
+     */
+    private String start(String platform, CompletionService<List<Course>> completion,
+                         Map<Future<List<Course>>, String> running, Map.Entry<String, Supplier<List<Course>>> strategy) {
+        String name = strategy.getKey();
+        Supplier<List<Course>> supplier = strategy.getValue();
+        Future<List<Course>> future;
+        try {
+            future = completion.submit(() -> {
+                long start = System.nanoTime();
+                List<Course> result = supplier.get();
+                if (!Thread.currentThread().isInterrupted()) {
+                    histories.computeIfAbsent(name, key -> new LatencyHistory())
+                        .record((System.nanoTime() - start) / 1_000_000);
+                }
+                return result;
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedStarts.incrementAndGet();
+            logger.debug("{} strategy '{}' not launched: strategy executor saturated", platform, name);
+            return null;
+        }
+        running.put(future, name);
+        return name;
+    }
+
+    /**
+     * Strategies not launched because the strategy executor was saturated
+     */
+    public long getRejectedStarts() {
+        return rejectedStarts.get();
+    }
+
+    private long hedgeDelay(String strategy) {
+        LatencyHistory history = histories.get(strategy);
+        Long p90 = history != null ? history.percentile(0.9, MIN_SAMPLES) : null;
+        return p90 != null ? Math.max(MIN_HEDGE_DELAY_MS, p90) : defaultHedgeDelayMs;
+    }
+
+    /**
+     * Ring buffer of the most recent completed latencies of one strategy
+     */
+    private static final class LatencyHistory {
+        private final long[] samples = new long[HISTORY_SIZE];
+        private int count;
+        private int next;
+
+        synchronized void record(long millis) {
+            samples[next] = millis;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+        }
+
+        synchronized Long percentile(double quantile, int minSamples) {
+            if (count < minSamples) {
+                return null;
+            }
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            return sorted[Math.min(count - 1, (int) Math.ceil(quantile * count) - 1)];
+        }
+    }
+}
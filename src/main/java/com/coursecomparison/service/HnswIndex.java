@@ -0,0 +1,292 @@
+package com.coursecomparison.service;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Hierarchical Navigable Small World graph for approximate nearest-neighbour search
+ * over unit-length vectors (cosine distance = 1 - dot product).
+ * Nodes are inserted one at a time, so the index grows incrementally with the catalog.
+ * Removal is a tombstone: the node keeps routing searches through the graph but is never
+ * returned, and adding its id again revives it.
+ */
+public class HnswIndex {
+
+    private final int m;
+    private final int maxNeighborsLevel0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final Random random = new Random(42);
+
+    private final List<Node> nodes = new ArrayList<>();
+    private final Map<Long, Integer> positions = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+    private int removed;
+
+    public HnswIndex(int m, int efConstruction) {
+        this.m = m;
+        this.maxNeighborsLevel0 = m * 2;
+        this.efConstruction = efConstruction;
+        this.levelMultiplier = 1.0 / Math.log(m);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodes.size() - removed;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(long id) {
+        lock.readLock().lock();
+        try {
+            Integer position = positions.get(id);
+            return position != null && !nodes.get(position).removed;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public float[] vectorOf(long id) {
+        lock.readLock().lock();
+        try {
+            Integer position = positions.get(id);
+            return position != null ? nodes.get(position).vector : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Insert a vector; ids already present are ignored, removed ids are revived
+     */
+    public void add(long id, float[] vector) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = positions.get(id);
+            if (existing != null) {
+                if (nodes.get(existing).removed) {
+                    nodes.get(existing).removed = false;
+                    removed--;
+                }
+                return;
+            }
+            int level = (int) Math.floor(-Math.log(1.0 - random.nextDouble()) * levelMultiplier);
+            Node node = new Node(id, vector, level);
+            int position = nodes.size();
+            nodes.add(node);
+            positions.put(id, position);
+
+            if (entryPoint < 0) {
+                entryPoint = position;
+                maxLevel = level;
+                return;
+            }
+
+            int current = entryPoint;
+            for (int l = maxLevel; l > level; l--) {
+                current = greedyClosest(vector, current, l);
+            }
+
+            for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+                PriorityQueue<Candidate> found = searchLayer(vector, current, efConstruction, l);
+                List<Candidate> neighbors = closest(found, m);
+                int limit = l == 0 ? maxNeighborsLevel0 : m;
+                for (Candidate neighbor : neighbors) {
+                    node.neighbors.get(l).add(neighbor.position);
+                    List<Integer> back = nodes.get(neighbor.position).neighbors.get(l);
+                    back.add(position);
+                    if (back.size() > limit) {
+                        prune(neighbor.position, back, limit);
+                    }
+                }
+                if (!neighbors.isEmpty()) {
+                    current = neighbors.get(0).position;
+                }
+            }
+
+            if (level > maxLevel) {
+                maxLevel = level;
+                entryPoint = position;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Tombstone an id so searches no longer return it; false if it is not in the index
+     */
+    public boolean remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer position = positions.get(id);
+            if (position == null || nodes.get(position).removed) {
+                return false;
+            }
+            nodes.get(position).removed = true;
+            removed++;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Approximate k nearest neighbours of the query vector among live nodes, closest first
+     */
+    public List<Neighbor> search(float[] query, int k, int ef) {
+        lock.readLock().lock();
+        try {
+            if (entryPoint < 0) {
+                return Collections.emptyList();
+            }
+            int current = entryPoint;
+            for (int l = maxLevel; l > 0; l--) {
+                current = greedyClosest(query, current, l);
+            }
+            // Widen the beam for tombstones, by at most its own size
+            int beam = Math.max(ef, k);
+            List<Candidate> found = closest(searchLayer(query, current, beam + Math.min(removed, beam), 0), Integer.MAX_VALUE);
+            List<Neighbor> result = new ArrayList<>(k);
+            for (Candidate candidate : found) {
+                Node node = nodes.get(candidate.position);
+                if (!node.removed && result.size() < k) {
+                    result.add(new Neighbor(node.id, 1.0 - candidate.distance));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int greedyClosest(float[] query, int start, int level) {
+        int current = start;
+        double currentDistance = distance(query, nodes.get(current).vector);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int neighbor : nodes.get(current).neighborsAt(level)) {
+                double d = distance(query, nodes.get(neighbor).vector);
+                if (d < currentDistance) {
+                    currentDistance = d;
+                    current = neighbor;
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Best-first search of one layer; returns a max-heap (farthest on top) of up to ef results
+     */
+    private PriorityQueue<Candidate> searchLayer(float[] query, int start, int ef, int level) {
+        Set<Integer> visited = new HashSet<>();
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>(Comparator.comparingDouble(c -> c.distance));
+        PriorityQueue<Candidate> results = new PriorityQueue<>(Comparator.comparingDouble((Candidate c) -> c.distance).reversed());
+
+        Candidate first = new Candidate(start, distance(query, nodes.get(start).vector));
+        visited.add(start);
+        candidates.add(first);
+        results.add(first);
+
+        while (!candidates.isEmpty()) {
+            Candidate nearest = candidates.poll();
+            if (nearest.distance > results.peek().distance && results.size() >= ef) {
+                break;
+            }
+            for (int neighbor : nodes.get(nearest.position).neighborsAt(level)) {
+                if (!visited.add(neighbor)) {
+                    continue;
+                }
+                double d = distance(query, nodes.get(neighbor).vector);
+                if (results.size() < ef || d < results.peek().distance) {
+                    Candidate candidate = new Candidate(neighbor, d);
+                    candidates.add(candidate);
+                    results.add(candidate);
+                    if (results.size() > ef) {
+                        results.poll();
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    private List<Candidate> closest(PriorityQueue<Candidate> heap, int count) {
+        List<Candidate> sorted = new ArrayList<>(heap);
+        sorted.sort(Comparator.comparingDouble(c -> c.distance));
+        return sorted.size() > count ? new ArrayList<>(sorted.subList(0, count)) : sorted;
+    }
+
+    private void prune(int position, List<Integer> neighbors, int limit) {
+        float[] vector = nodes.get(position).vector;
+        neighbors.sort(Comparator.comparingDouble(n -> distance(vector, nodes.get(n).vector)));
+        while (neighbors.size() > limit) {
+            neighbors.remove(neighbors.size() - 1);
+        }
+    }
+
+    private static double distance(float[] a, float[] b) {
+        double dot = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+        }
+        return 1.0 - dot;
+    }
+
+    private static final class Node {
+        private final long id;
+        private final float[] vector;
+        private final List<List<Integer>> neighbors;
+        private boolean removed;
+
+        Node(long id, float[] vector, int level) {
+            this.id = id;
+            this.vector = vector;
+            this.neighbors = new ArrayList<>(level + 1);
+            for (int l = 0; l <= level; l++) {
+                neighbors.add(new ArrayList<>());
+            }
+        }
+
+        List<Integer> neighborsAt(int level) {
+            return level < neighbors.size() ? neighbors.get(level) : Collections.emptyList();
+        }
+    }
+
+    private static final class Candidate {
+        private final int position;
+        private final double distance;
+
+        Candidate(int position, double distance) {
+            this.position = position;
+            this.distance = distance;
+        }
+    }
+
+    public static class Neighbor {
+        private final long id;
+        private final double similarity;
+
+        public Neighbor(long id, double similarity) {
+            this.id = id;
+            this.similarity = similarity;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public double getSimilarity() {
+            return similarity;
+        }
+    }
+}
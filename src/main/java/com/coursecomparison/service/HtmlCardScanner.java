@@ -0,0 +1,60 @@
+package com.coursecomparison.service;
+
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.NodeFilter;
+import org.jsoup.select.NodeTraversor;
+import org.jsoup.select.QueryParser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Early-terminating course-card lookup for scraped search pages.
+ * Selectors are compiled once into {@link Evaluator}s instead of being re-parsed on every call,
+ * and the scan walks the tree in document order, skips the inside of every card it accepts and
+ * stops outright after {@code limit} cards, so the rest of the page is never visited.
+ */
+public final class HtmlCardScanner {
+
+    private HtmlCardScanner() {
+    }
+
+    /**
+     * Compile a CSS query once, for use as a constant
+     */
+    public static Evaluator compile(String cssQuery) {
+        return QueryParser.parse(cssQuery);
+    }
+
+    /**
+     * The first {@code limit} elements under {@code root} matching {@code cards}, outermost only
+     */
+    public static List<Element> firstCards(Element root, Evaluator cards, int limit) {
+        List<Element> found = new ArrayList<>(Math.min(limit, 32));
+        if (limit <= 0) {
+            return found;
+        }
+        NodeTraversor.filter(new NodeFilter() {
+            @Override
+            public FilterResult head(Node node, int depth) {
+                if (!(node instanceof Element)) {
+                    return FilterResult.SKIP_ENTIRELY;
+                }
+                Element element = (Element) node;
+                if (!cards.matches(root, element)) {
+                    return FilterResult.CONTINUE;
+                }
+                found.add(element);
+                return found.size() >= limit ? FilterResult.STOP : FilterResult.SKIP_ENTIRELY;
+            }
+
+            @Override
+            public FilterResult tail(Node node, int depth) {
+                return FilterResult.CONTINUE;
+            }
+        }, root);
+        return found;
+    }
+}
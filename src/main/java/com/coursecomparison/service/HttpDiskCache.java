@@ -0,0 +1,450 @@
+package com.coursecomparison.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * On-disk cache of GET responses shared by the outbound gateway.
+ * Bodies are stored once per content hash under {@code bodies/}, so identical pages fetched from
+ * different URLs share a file. The URL index is a fixed-size open-addressing table in a
+ * memory-mapped file: each slot holds the URL hash, store time, body hash and the validators
+ * (ETag, Last-Modified) needed for conditional requests. The index survives restarts and
+ * lookups never touch the filesystem until the body is actually read.
+ */
+@Component
+public class HttpDiskCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpDiskCache.class);
+
+    private static final int MAGIC = 0x544c4843; // "TLHC"
+    private static final int HEADER_SIZE = 16;
+    private static final int SLOT_SIZE = 512;
+    private static final int PROBE_LIMIT = 8;
+    // Slot layout
+    private static final int KEY_OFFSET = 0;
+    private static final int STORED_AT_OFFSET = 8;
+    private static final int BODY_HASH_OFFSET = 16;
+    private static final int BODY_LENGTH_OFFSET = 48;
+    private static final int META_LENGTH_OFFSET = 52;
+    private static final int META_OFFSET = 54;
+    private static final int MAX_META_BYTES = SLOT_SIZE - META_OFFSET;
+
+    @Value("${http.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${http.cache.dir:${java.io.tmpdir}/toplearn-http-cache}")
+    private String directory;
+
+    @Value("${http.cache.index-slots:16384}")
+    private int slots;
+
+    @Value("${http.cache.default-freshness-seconds:900}")
+    private long defaultFreshnessSeconds;
+
+    @Value("${http.cache.platform-freshness:}")
+    private String platformFreshness;
+
+    @Value("${http.cache.retention-days:7}")
+    private long retentionDays;
+
+    private final Map<String, Long> freshnessOverrides = new HashMap<>();
+    private Path bodyDirectory;
+    private FileChannel indexChannel;
+    private MappedByteBuffer index;
+
+    private final LongAdder freshHits = new LongAdder();
+    private final LongAdder revalidated = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+    private final LongAdder staleServed = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        // platform:seconds pairs, e.g. "udemy.com:600,coursera.org:1800"
+        for (String entry : platformFreshness.split(",")) {
+            int colon = entry.lastIndexOf(':');
+            if (colon > 0) {
+                try {
+                    freshnessOverrides.put(entry.substring(0, colon).trim().toLowerCase(Locale.ROOT),
+                                           Long.parseLong(entry.substring(colon + 1).trim()));
+                } catch (NumberFormatException e) {
+                    logger.warn("Ignoring invalid cache freshness '{}'", entry);
+                }
+            }
+        }
+        if (!enabled) {
+            return;
+        }
+        try {
+            Path root = Paths.get(directory);
+            bodyDirectory = root.resolve("bodies");
+            Files.createDirectories(bodyDirectory);
+            openIndex(root.resolve("index.bin"));
+            logger.info("HTTP disk cache at {} with {} index slots", root, slots);
+        } catch (IOException e) {
+            logger.error("HTTP disk cache disabled, cannot open {}", directory, e);
+            enabled = false;
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (index != null) {
+            index.force();
+        }
+        try {
+            if (indexChannel != null) {
+                indexChannel.close();
+            }
+        } catch (IOException e) {
+            logger.warn("Error closing HTTP cache index", e);
+        }
+        index = null;
+    }
+
+    /**
+     * Cached response for {@code url}, or null when there is none or its body file is gone
+     */
+    public Entry lookup(String url) {
+        if (!enabled) {
+            return null;
+        }
+        long key = keyOf(url);
+        Entry entry;
+        synchronized (this) {
+            if (index == null) {
+                return null;
+            }
+            int slot = findSlot(key);
+            entry = slot >= 0 ? readSlot(slot) : null;
+        }
+        if (entry == null || !Files.exists(bodyPath(entry.bodyHash))) {
+            misses.increment();
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Whether {@code entry} may be served without asking the origin, per its platform's freshness
+     */
+    public boolean isFresh(Entry entry, String host) {
+        long freshnessSeconds = freshnessOverrides.getOrDefault(PlatformResilience.platformOf(host), defaultFreshnessSeconds);
+        boolean fresh = System.currentTimeMillis() - entry.storedAt < freshnessSeconds * 1000;
+        if (fresh) {
+            freshHits.increment();
+        }
+        return fresh;
+    }
+
+    /**
+     * Store a 200 response body and its validators
+     */
+    public void store(String url, String etag, String lastModified, String contentType, byte[] body) {
+        if (!enabled) {
+            return;
+        }
+        byte[] meta = encodeMeta(etag, lastModified, contentType);
+        if (meta.length > MAX_META_BYTES) {
+            return;
+        }
+        try {
+            byte[] bodyHash = sha256(body);
+            writeBody(bodyHash, body);
+            synchronized (this) {
+                if (index == null) {
+                    return;
+                }
+                long key = keyOf(url);
+                int slot = slotForWrite(key);
+                writeSlot(slot, key, System.currentTimeMillis(), bodyHash, body.length, meta);
+            }
+            stores.increment();
+        } catch (IOException e) {
+            logger.debug("Could not cache {}: {}", url, e.getMessage());
+        }
+    }
+
+    /**
+     * Record a 304 for {@code url}: the cached body is current again from now
+     */
+    public void markRevalidated(String url) {
+        revalidated.increment();
+        synchronized (this) {
+            if (index == null) {
+                return;
+            }
+            int slot = findSlot(keyOf(url));
+            if (slot >= 0) {
+                index.putLong(slotOffset(slot) + STORED_AT_OFFSET, System.currentTimeMillis());
+            }
+        }
+    }
+
+    public void markServedStale() {
+        staleServed.increment();
+    }
+
+    /**
+     * Drop index slots and body files older than the retention period
+     */
+    @Scheduled(fixedDelayString = "${http.cache.sweep-interval-ms:3600000}",
+               initialDelayString = "${http.cache.sweep-interval-ms:3600000}")
+    public void sweep() {
+        if (!enabled) {
+            return;
+        }
+        long cutoff = System.currentTimeMillis() - retentionDays * 24 * 3600 * 1000;
+        int dropped = 0;
+        synchronized (this) {
+            if (index == null) {
+                return;
+            }
+            for (int slot = 0; slot < slots; slot++) {
+                int offset = slotOffset(slot);
+                if (index.getLong(offset + KEY_OFFSET) != 0 && index.getLong(offset + STORED_AT_OFFSET) < cutoff) {
+                    index.putLong(offset + KEY_OFFSET, 0);
+                    dropped++;
+                }
+            }
+        }
+        int deleted = 0;
+        try (Stream<Path> files = Files.walk(bodyDirectory)) {
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                if (Files.getLastModifiedTime(file).toMillis() < cutoff && Files.deleteIfExists(file)) {
+                    deleted++;
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Error sweeping HTTP cache bodies", e);
+        }
+        logger.info("HTTP cache sweep dropped {} index entries and {} body files", dropped, deleted);
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("enabled", enabled);
+        statistics.put("freshHits", freshHits.sum());
+        statistics.put("revalidated", revalidated.sum());
+        statistics.put("misses", misses.sum());
+        statistics.put("stores", stores.sum());
+        statistics.put("staleServed", staleServed.sum());
+        int used = 0;
+        synchronized (this) {
+            if (index != null) {
+                for (int slot = 0; slot < slots; slot++) {
+                    if (index.getLong(slotOffset(slot) + KEY_OFFSET) != 0) {
+                        used++;
+                    }
+                }
+            }
+        }
+        statistics.put("indexedUrls", used);
+        statistics.put("indexSlots", slots);
+        return statistics;
+    }
+
+    private void openIndex(Path file) throws IOException {
+        long size = HEADER_SIZE + (long) slots * SLOT_SIZE;
+        indexChannel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        boolean compatible = indexChannel.size() == size;
+        index = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        if (!compatible || index.getInt(0) != MAGIC || index.getInt(4) != slots) {
+            // New file or different layout: start empty
+            for (int slot = 0; slot < slots; slot++) {
+                index.putLong(slotOffset(slot) + KEY_OFFSET, 0);
+            }
+            index.putInt(0, MAGIC);
+            index.putInt(4, slots);
+        }
+    }
+
+    // Linear probing over a short window from the key's home slot
+    private int findSlot(long key) {
+        int home = (int) Math.floorMod(key, (long) slots);
+        for (int i = 0; i < PROBE_LIMIT; i++) {
+            int slot = (home + i) % slots;
+            long stored = index.getLong(slotOffset(slot) + KEY_OFFSET);
+            if (stored == key) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    // Existing slot for the key, else the first empty one, else the oldest in the probe window
+    private int slotForWrite(long key) {
+        int existing = findSlot(key);
+        if (existing >= 0) {
+            return existing;
+        }
+        int home = (int) Math.floorMod(key, (long) slots);
+        int oldest = home;
+        long oldestStoredAt = Long.MAX_VALUE;
+        for (int i = 0; i < PROBE_LIMIT; i++) {
+            int slot = (home + i) % slots;
+            int offset = slotOffset(slot);
+            if (index.getLong(offset + KEY_OFFSET) == 0) {
+                return slot;
+            }
+            long storedAt = index.getLong(offset + STORED_AT_OFFSET);
+            if (storedAt < oldestStoredAt) {
+                oldestStoredAt = storedAt;
+                oldest = slot;
+            }
+        }
+        return oldest;
+    }
+
+    private void writeSlot(int slot, long key, long storedAt, byte[] bodyHash, int bodyLength, byte[] meta) {
+        int offset = slotOffset(slot);
+        // Clear the key first so a half-written slot is never matched
+        index.putLong(offset + KEY_OFFSET, 0);
+        index.putLong(offset + STORED_AT_OFFSET, storedAt);
+        index.put(offset + BODY_HASH_OFFSET, bodyHash);
+        index.putInt(offset + BODY_LENGTH_OFFSET, bodyLength);
+        index.putShort(offset + META_LENGTH_OFFSET, (short) meta.length);
+        index.put(offset + META_OFFSET, meta);
+        index.putLong(offset + KEY_OFFSET, key);
+    }
+
+    private Entry readSlot(int slot) {
+        int offset = slotOffset(slot);
+        byte[] bodyHash = new byte[32];
+        index.get(offset + BODY_HASH_OFFSET, bodyHash);
+        int metaLength = index.getShort(offset + META_LENGTH_OFFSET);
+        if (metaLength < 0 || metaLength > MAX_META_BYTES) {
+            return null;
+        }
+        byte[] meta = new byte[metaLength];
+        index.get(offset + META_OFFSET, meta);
+        String[] fields = new String(meta, StandardCharsets.UTF_8).split("\n", -1);
+        if (fields.length != 3) {
+            return null;
+        }
+        return new Entry(this, index.getLong(offset + STORED_AT_OFFSET), bodyHash,
+            emptyToNull(fields[0]), emptyToNull(fields[1]), emptyToNull(fields[2]));
+    }
+
+    private void writeBody(byte[] bodyHash, byte[] body) throws IOException {
+        Path path = bodyPath(bodyHash);
+        if (Files.exists(path)) {
+            // Same content already stored; keep it from being swept
+            Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+            return;
+        }
+        Files.createDirectories(path.getParent());
+        Path temp = Files.createTempFile(path.getParent(), "body", ".tmp");
+        try {
+            Files.write(temp, body);
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private byte[] readBody(byte[] bodyHash) throws IOException {
+        return Files.readAllBytes(bodyPath(bodyHash));
+    }
+
+    private Path bodyPath(byte[] bodyHash) {
+        String hex = HexFormat.of().formatHex(bodyHash);
+        return bodyDirectory.resolve(hex.substring(0, 2)).resolve(hex.substring(2));
+    }
+
+    private static int slotOffset(int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    private static long keyOf(String url) {
+        byte[] digest = sha256(url.getBytes(StandardCharsets.UTF_8));
+        long key = 0;
+        for (int i = 0; i < 8; i++) {
+            key = (key << 8) | (digest[i] & 0xff);
+        }
+        return key != 0 ? key : 1;
+    }
+
+    private static byte[] encodeMeta(String etag, String lastModified, String contentType) {
+        return (nullToEmpty(etag) + "\n" + nullToEmpty(lastModified) + "\n" + nullToEmpty(contentType))
+            .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value.replace("\n", "") : "";
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    private static byte[] sha256(byte[] data) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(data);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * One cached response; the body is read from disk on demand
+     */
+    public static class Entry {
+        private final HttpDiskCache cache;
+        private final long storedAt;
+        private final byte[] bodyHash;
+        private final String etag;
+        private final String lastModified;
+        private final String contentType;
+
+        Entry(HttpDiskCache cache, long storedAt, byte[] bodyHash, String etag, String lastModified, String contentType) {
+            this.cache = cache;
+            this.storedAt = storedAt;
+            this.bodyHash = bodyHash;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.contentType = contentType;
+        }
+
+        public long getStoredAt() {
+            return storedAt;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public String getLastModified() {
+            return lastModified;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public boolean hasValidator() {
+            return etag != null || lastModified != null;
+        }
+
+        public byte[] readBody() throws IOException {
+            return cache.readBody(bodyHash);
+        }
+    }
+}
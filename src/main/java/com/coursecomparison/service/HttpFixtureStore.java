@@ -0,0 +1,145 @@
+package com.coursecomparison.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Recorded platform responses for offline replay by {@link PlatformStubServer}.
+ * With {@code http.fixtures.record=true} the outbound gateway saves every successful GET here:
+ * a {@code .properties} file with the URL, status and content type next to a {@code .body} file
+ * with the decompressed body. Fixtures are keyed by host, path and query, so a response recorded
+ * over HTTPS is found again for the same request sent to the stub over plain HTTP.
+ */
+@Component
+public class HttpFixtureStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpFixtureStore.class);
+
+    @Value("${http.fixtures.record:false}")
+    private boolean recording;
+
+    @Value("${http.fixtures.dir:./http-fixtures}")
+    private String directory;
+
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder recordFailures = new LongAdder();
+
+    public boolean isRecording() {
+        return recording;
+    }
+
+    /**
+     * Save a successful GET response, replacing any earlier recording of the same request
+     */
+    public void record(URI uri, int status, String contentType, byte[] body) {
+        if (!recording || status < 200 || status >= 300) {
+            return;
+        }
+        String key = key(uri.getHost(), uri.getRawPath(), uri.getRawQuery());
+        try {
+            Path dir = Files.createDirectories(Paths.get(directory));
+            String name = hash(key);
+            Files.write(dir.resolve(name + ".body"), body);
+            Properties meta = new Properties();
+            meta.setProperty("url", uri.toString());
+            meta.setProperty("key", key);
+            meta.setProperty("status", String.valueOf(status));
+            if (contentType != null) {
+                meta.setProperty("contentType", contentType);
+            }
+            try (Writer out = Files.newBufferedWriter(dir.resolve(name + ".properties"), StandardCharsets.UTF_8)) {
+                meta.store(out, null);
+            }
+            recorded.increment();
+        } catch (IOException e) {
+            recordFailures.increment();
+            logger.warn("Could not record fixture for {}: {}", uri, e.getMessage());
+        }
+    }
+
+    /**
+     * Recorded response for a request to {@code host} with the given raw path and query, if any
+     */
+    public Optional<Fixture> find(String host, String rawPath, String rawQuery) {
+        Path dir = Paths.get(directory);
+        String name = hash(key(host, rawPath, rawQuery));
+        Path metaFile = dir.resolve(name + ".properties");
+        if (!Files.exists(metaFile)) {
+            return Optional.empty();
+        }
+        try {
+            Properties meta = new Properties();
+            try (Reader in = Files.newBufferedReader(metaFile, StandardCharsets.UTF_8)) {
+                meta.load(in);
+            }
+            return Optional.of(new Fixture(Integer.parseInt(meta.getProperty("status", "200")),
+                meta.getProperty("contentType"), Files.readAllBytes(dir.resolve(name + ".body"))));
+        } catch (IOException | NumberFormatException e) {
+            logger.warn("Unreadable fixture {}: {}", metaFile, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new HashMap<>();
+        statistics.put("recording", recording);
+        statistics.put("directory", directory);
+        statistics.put("recorded", recorded.sum());
+        statistics.put("recordFailures", recordFailures.sum());
+        return statistics;
+    }
+
+    private static String key(String host, String rawPath, String rawQuery) {
+        String path = rawPath == null || rawPath.isEmpty() ? "/" : rawPath;
+        return host.toLowerCase(Locale.ROOT) + path + (rawQuery != null ? "?" + rawQuery : "");
+    }
+
+    private static String hash(String key) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * One recorded response
+     */
+    public static final class Fixture {
+        private final int status;
+        private final String contentType;
+        private final byte[] body;
+
+        public Fixture(int status, String contentType, byte[] body) {
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+    }
+}
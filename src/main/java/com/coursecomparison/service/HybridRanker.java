@@ -0,0 +1,145 @@
+package com.coursecomparison.service;
+
+import com.coursecomparison.model.Course;
+import com.coursecomparison.model.User;
+import com.coursecomparison.service.MCDMService.Algorithm;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Ranks keyword search results by a blend of text relevance and MCDM score.
+ * Relevance is BM25 over title, topic, description and instructor (title and topic weighted up),
+ * divided by its upper bound for the query so it lies in [0, 1] without a normalization pass.
+ * One statistics pass gathers term counts, field lengths and the MCDM min/max; a second pass
+ * scores, filters and keeps the top k in a bounded heap, so no ranked intermediate list is built.
+ */
+@Service
+public class HybridRanker {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 3;
+    private static final int TOPIC_WEIGHT = 2;
+
+    @Autowired
+    private MCDMService mcdmService;
+
+    @Value("${search.ranking.relevance-weight:0.5}")
+    private double relevanceWeight;
+
+    /**
+     * Top {@code limit} candidates accepted by {@code filter} (null accepts all), best first.
+     * Each returned course is a copy of its candidate carrying its MCDM score in {@code mcdmScore}.
+     */
+    public List<Course> rank(List<Course> candidates, String keyword, User user, int limit, Predicate<Course> filter) {
+        int n = candidates.size();
+        if (n == 0 || limit <= 0) {
+            return new ArrayList<>();
+        }
+        List<String> queryTerms = new ArrayList<>(new LinkedHashSet<>(CourseVectorizer.tokenize(keyword)));
+        Algorithm algorithm = user != null ? Algorithm.PERSONALIZED : Algorithm.TOPSIS;
+        ToDoubleFunction<Course> mcdm = mcdmService.scorer(candidates, algorithm, user);
+
+        // Statistics pass: weighted term frequencies per candidate, document lengths, document frequencies
+        int[][] termFrequencies = new int[n][queryTerms.size()];
+        int[] lengths = new int[n];
+        int[] documentFrequencies = new int[queryTerms.size()];
+        long totalLength = 0;
+        for (int d = 0; d < n; d++) {
+            Course course = candidates.get(d);
+            lengths[d] = countTerms(course.getTitle(), TITLE_WEIGHT, queryTerms, termFrequencies[d])
+                + countTerms(course.getTopic(), TOPIC_WEIGHT, queryTerms, termFrequencies[d])
+                + countTerms(course.getDescription(), 1, queryTerms, termFrequencies[d])
+                + countTerms(course.getInstructor(), 1, queryTerms, termFrequencies[d]);
+            totalLength += lengths[d];
+            for (int t = 0; t < queryTerms.size(); t++) {
+                if (termFrequencies[d][t] > 0) {
+                    documentFrequencies[t]++;
+                }
+            }
+        }
+        double averageLength = Math.max(1.0, totalLength / (double) n);
+        double[] idf = new double[queryTerms.size()];
+        double maxRelevance = 0.0;
+        for (int t = 0; t < queryTerms.size(); t++) {
+            idf[t] = Math.log(1.0 + (n - documentFrequencies[t] + 0.5) / (documentFrequencies[t] + 0.5));
+            maxRelevance += idf[t] * (K1 + 1.0);
+        }
+
+        // Scoring pass with bounded top-k selection
+        PriorityQueue<Scored> top = new PriorityQueue<>(limit + 1, Scored.WORST_FIRST);
+        for (int d = 0; d < n; d++) {
+            Course course = candidates.get(d);
+            if (filter != null && !filter.test(course)) {
+                continue;
+            }
+            double bm25 = 0.0;
+            double lengthNorm = K1 * (1.0 - B + B * lengths[d] / averageLength);
+            for (int t = 0; t < queryTerms.size(); t++) {
+                int tf = termFrequencies[d][t];
+                if (tf > 0) {
+                    bm25 += idf[t] * tf * (K1 + 1.0) / (tf + lengthNorm);
+                }
+            }
+            double relevance = maxRelevance > 0 ? bm25 / maxRelevance : 0.0;
+            double mcdmScore = mcdm.applyAsDouble(course);
+            double score = relevanceWeight * relevance + (1.0 - relevanceWeight) * mcdmScore;
+
+            if (top.size() < limit || score > top.peek().score) {
+                top.add(new Scored(course, score, mcdmScore, d));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        }
+
+        List<Scored> ordered = new ArrayList<>(top);
+        ordered.sort(Scored.WORST_FIRST.reversed());
+        List<Course> results = new ArrayList<>(ordered.size());
+        for (Scored scored : ordered) {
+            // Candidates may be shared with other requests; the score goes on a copy
+            Course course = scored.course.copy();
+            course.setMcdmScore(scored.mcdmScore);
+            results.add(course);
+        }
+        return results;
+    }
+
+    /**
+     * Adds weighted occurrences of each query term to {@code counts}; returns the weighted field length
+     */
+    private static int countTerms(String text, int weight, List<String> queryTerms, int[] counts) {
+        List<String> tokens = CourseVectorizer.tokenize(text);
+        for (String token : tokens) {
+            int t = queryTerms.indexOf(token);
+            if (t >= 0) {
+                counts[t] += weight;
+            }
+        }
+        return tokens.size() * weight;
+    }
+
+    private static final class Scored {
+        // Lower score first; on equal scores the later candidate is worse, keeping input order stable
+        static final Comparator<Scored> WORST_FIRST = Comparator
+            .comparingDouble((Scored s) -> s.score)
+            .thenComparing(Comparator.comparingInt((Scored s) -> s.position).reversed());
+
+        final Course course;
+        final double score;
+        final double mcdmScore;
+        final int position;
+
+        Scored(Course course, double score, double mcdmScore, int position) {
+            this.course = course;
+            this.score = score;
+            this.mcdmScore = mcdmScore;
+            this.position = position;
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package com.coursecomparison.service;
+
+import com.coursecomparison.model.Course;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Staged processing of live search results after the fetch/parse fan-out.
+ * Each platform's batch moves through dedupe, validate, score and persist stages. Every stage has
+ * its own bounded queue and worker threads, sized by {@code ingestion.pipeline.<stage>.workers}.
+ * A full dedupe, validate or score queue blocks the stage in front of it. Persistence is decoupled:
+ * a batch waits at most {@code ingestion.pipeline.persist.offer-timeout-ms} for room in the persist
+ * queue and is only dropped from persistence after that, so slow writes hold up scoring for a
+ * bounded time. Handing a batch over never blocks the producer. A batch that finds the first queue full is
+ * deduplicated, validated and scored on the thread that awaits its ticket instead. A batch's ticket
+ * resolves once the batch is scored; persistence finishes afterwards, and the persist stage merges
+ * queued batches into one bulk upsert. A ticket only ever yields scored courses, as copies that the
+ * persist stage never touches.
+ */
+@Component
+public class IngestionPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(IngestionPipeline.class);
+
+    @Autowired
+    private CourseDeduplicationService courseDeduplicationService;
+
+    @Autowired
+    private CourseValidationService courseValidationService;
+
+    @Autowired
+    private CourseBulkIngestionService courseBulkIngestionService;
+
+    @Value("${ingestion.pipeline.queue-capacity:32}")
+    private int queueCapacity;
+
+    @Value("${ingestion.pipeline.dedupe.workers:2}")
+    private int dedupeWorkers;
+
+    @Value("${ingestion.pipeline.validate.workers:2}")
+    private int validateWorkers;
+
+    @Value("${ingestion.pipeline.score.workers:4}")
+    private int scoreWorkers;
+
+    @Value("${ingestion.pipeline.persist.workers:1}")
+    private int persistWorkers;
+
+    @Value("${ingestion.pipeline.persist.max-batches:16}")
+    private int persistMaxBatches;
+
+    @Value("${ingestion.pipeline.persist.offer-timeout-ms:500}")
+    private long persistOfferTimeoutMs;
+
+    private final List<Stage> stages = new ArrayList<>();
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder callerRuns = new LongAdder();
+    private final LongAdder awaitTimeouts = new LongAdder();
+
+    @PostConstruct
+    public void start() {
+        stages.add(new Stage("dedupe", dedupeWorkers, 1, false, jobs -> {
+            for (Job job : jobs) {
+                job.courses = courseDeduplicationService.deduplicate(job.courses);
+            }
+        }));
+        stages.add(new Stage("validate", validateWorkers, 1, false, jobs -> {
+            for (Job job : jobs) {
+                job.courses = job.courses.stream()
+                    .filter(courseValidationService::validateCourseData)
+                    .filter(courseValidationService::admit)
+                    .collect(Collectors.toList());
+            }
+        }));
+        stages.add(new Stage("score", scoreWorkers, 1, false, jobs -> {
+            for (Job job : jobs) {
+                job.courses.forEach(job.scorer);
+                complete(job);
+            }
+        }));
+        stages.add(new Stage("persist", persistWorkers, persistMaxBatches, true, jobs -> {
+            List<Course> courses = new ArrayList<>();
+            jobs.forEach(job -> courses.addAll(job.courses));
+            courseBulkIngestionService.upsert(courses);
+            courseValidationService.validateInBackground(courses);
+        }));
+        for (int i = 0; i < stages.size(); i++) {
+            stages.get(i).start(i + 1 < stages.size() ? stages.get(i + 1) : null);
+        }
+        logger.info("Ingestion pipeline started: {}", stages);
+    }
+
+    @PreDestroy
+    public void stop() {
+        stages.forEach(stage -> stage.pool.shutdownNow());
+    }
+
+    /**
+     * Hand a batch to the pipeline; {@code scorer} fills derived attributes of each course in the
+     * score stage. Never blocks: if the pipeline is full, the batch is processed by whoever awaits
+     * the returned ticket.
+     */
+    public Ticket submit(List<Course> batch, Consumer<Course> scorer) {
+        Job job = new Job(new ArrayList<>(batch), scorer);
+        // Unchanged copies to fall back on if the batch is not done in time; taken before any worker sees it
+        List<Course> snapshot = batch.stream().map(Course::copy).collect(Collectors.toList());
+        submitted.increment();
+        boolean queued = stages.get(0).queue.offer(job);
+        return new Ticket(job, queued ? snapshot : null);
+    }
+
+    /**
+     * Run every stage but persist on the calling thread; the scored courses, empty if a stage failed
+     */
+    private List<Course> process(Job job) {
+        List<Job> jobs = List.of(job);
+        for (Stage stage : stages) {
+            if (stage.persist || job.courses.isEmpty()) {
+                break;
+            }
+            if (!stage.process(jobs)) {
+                return Collections.emptyList();
+            }
+        }
+        return complete(job);
+    }
+
+    /**
+     * Resolve a job's ticket with copies of its courses, so the persist stage never mutates what
+     * a caller holds
+     */
+    private static List<Course> complete(Job job) {
+        List<Course> copies = job.courses.stream().map(Course::copy).collect(Collectors.toList());
+        job.ready.complete(copies);
+        return copies;
+    }
+
+    private static void fail(List<Job> jobs, Throwable failure) {
+        jobs.forEach(job -> job.ready.completeExceptionally(failure));
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("submitted", submitted.sum());
+        statistics.put("callerRuns", callerRuns.sum());
+        statistics.put("awaitTimeouts", awaitTimeouts.sum());
+        for (Stage stage : stages) {
+            statistics.put(stage.name, stage.statistics());
+        }
+        return statistics;
+    }
+
+    /**
+     * Result of one submitted batch
+     */
+    public final class Ticket {
+        private final Job job;
+        private final List<Course> snapshot;
+
+        /**
+         * {@code snapshot}: copies of a queued batch as submitted; null if the batch was not queued
+         */
+        Ticket(Job job, List<Course> snapshot) {
+            this.job = job;
+            this.snapshot = snapshot;
+        }
+
+        /**
+         * The batch's deduplicated, validated and scored courses, waiting until
+         * {@code deadlineMillis} (epoch millis). A batch the pipeline had no room for is processed
+         * on the calling thread and then handed to the persist stage, waiting at most the persist
+         * offer timeout for room. If a queued batch is not done by the deadline, copies of it are
+         * processed on the calling thread instead and the pipeline carries on with the original; if
+         * that fails too, the result is empty. Meant to be called once, by the search that submitted
+         * the batch.
+         */
+        public List<Course> await(long deadlineMillis) {
+            if (snapshot == null) {
+                callerRuns.increment();
+                List<Course> scored = process(job);
+                Stage persist = stages.get(stages.size() - 1);
+                if (!scored.isEmpty()) {
+                    try {
+                        persist.handOver(job);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return scored;
+            }
+            try {
+                return job.ready.get(Math.max(0, deadlineMillis - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException | ExecutionException e) {
+                awaitTimeouts.increment();
+                logger.debug("Ingestion of {} courses not ready, processing a copy: {}", snapshot.size(), e.toString());
+                return process(new Job(new ArrayList<>(snapshot), job.scorer));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Collections.emptyList();
+            }
+        }
+    }
+
+    private static final class Job {
+        private List<Course> courses;
+        private final Consumer<Course> scorer;
+        private final CompletableFuture<List<Course>> ready = new CompletableFuture<>();
+
+        Job(List<Course> courses, Consumer<Course> scorer) {
+            this.courses = courses;
+            this.scorer = scorer;
+        }
+    }
+
+    /**
+     * One stage: a bounded queue drained by its own workers, each taking up to {@code maxJobs}
+     * jobs at a time and passing them on to the next stage
+     */
+    private final class Stage {
+        private final String name;
+        private final int workers;
+        private final int maxJobs;
+        private final boolean persist;
+        private final Consumer<List<Job>> work;
+        private final BlockingQueue<Job> queue;
+        private ExecutorService pool;
+        private Stage next;
+
+        private final LongAdder jobsProcessed = new LongAdder();
+        private final LongAdder coursesProcessed = new LongAdder();
+        private final LongAdder busyNanos = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+
+        /**
+         * {@code persist}: the final, decoupled stage; batches that find its queue full for longer
+         * than the persist offer timeout are dropped
+         */
+        Stage(String name, int workers, int maxJobs, boolean persist, Consumer<List<Job>> work) {
+            this.name = name;
+            this.workers = Math.max(1, workers);
+            this.maxJobs = Math.max(1, maxJobs);
+            this.persist = persist;
+            this.work = work;
+            this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        }
+
+        void start(Stage next) {
+            this.next = next;
+            pool = Executors.newFixedThreadPool(workers, new CustomizableThreadFactory("Ingest-" + name + "-"));
+            for (int i = 0; i < workers; i++) {
+                pool.execute(this::run);
+            }
+        }
+
+        private void run() {
+            List<Job> jobs = new ArrayList<>(maxJobs);
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    jobs.add(queue.take());
+                    queue.drainTo(jobs, maxJobs - 1);
+                    if (process(jobs)) {
+                        for (Job job : jobs) {
+                            if (next != null && !job.courses.isEmpty()) {
+                                next.handOver(job);
+                            } else {
+                                complete(job);
+                            }
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    fail(jobs, e);
+                } catch (Throwable e) {
+                    // Keep the worker alive; whatever was not handed on yet fails instead of hanging
+                    failures.increment();
+                    logger.error("Ingestion stage {} worker failed for {} batches", name, jobs.size(), e);
+                    fail(jobs, e);
+                } finally {
+                    jobs.clear();
+                }
+            }
+        }
+
+        /**
+         * Queue a job for this stage, waiting for space; the persist stage waits at most the
+         * persist offer timeout and drops the job after that
+         */
+        void handOver(Job job) throws InterruptedException {
+            if (!persist) {
+                queue.put(job);
+            } else if (!queue.offer(job, persistOfferTimeoutMs, TimeUnit.MILLISECONDS)) {
+                dropped.increment();
+                logger.warn("Ingestion stage {} full for {} ms, dropping {} courses",
+                    name, persistOfferTimeoutMs, job.courses.size());
+            }
+        }
+
+        /**
+         * Run the stage's work on {@code jobs}; false if it failed and the jobs were failed with it
+         */
+        boolean process(List<Job> jobs) {
+            long start = System.nanoTime();
+            try {
+                work.accept(jobs);
+                return true;
+            } catch (Throwable e) {
+                failures.increment();
+                logger.error("Ingestion stage {} failed for {} batches: {}", name, jobs.size(), e.toString());
+                fail(jobs, e);
+                return false;
+            } finally {
+                busyNanos.add(System.nanoTime() - start);
+                jobsProcessed.add(jobs.size());
+                jobs.forEach(job -> coursesProcessed.add(job.courses.size()));
+            }
+        }
+
+        Map<String, Object> statistics() {
+            long busyMs = busyNanos.sum() / 1_000_000;
+            Map<String, Object> statistics = new LinkedHashMap<>();
+            statistics.put("workers", workers);
+            statistics.put("queued", queue.size());
+            statistics.put("capacity", queue.size() + queue.remainingCapacity());
+            statistics.put("batches", jobsProcessed.sum());
+            statistics.put("courses", coursesProcessed.sum());
+            statistics.put("failures", failures.sum());
+            statistics.put("dropped", dropped.sum());
+            statistics.put("busyMs", busyMs);
+            statistics.put("coursesPerBusySecond", busyMs == 0 ? 0.0 : coursesProcessed.sum() * 1000.0 / busyMs);
+            return statistics;
+        }
+
+        @Override
+        public String toString() {
+            return name + "(" + workers + " workers)";
+        }
+    }
+}
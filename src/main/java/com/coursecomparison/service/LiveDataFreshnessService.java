@@ -0,0 +1,164 @@
+package com.coursecomparison.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stale-while-revalidate for live platform data, keyed by canonical keyword.
+ * A keyword fetched live within the soft TTL is answered from the database alone; past the soft
+ * TTL it is still answered from the database while a background live search refreshes it; only
+ * past the hard TTL (or never fetched) does the caller wait for the platforms.
+ */
+@Service
+public class LiveDataFreshnessService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveDataFreshnessService.class);
+
+    public enum Freshness {
+        FRESH, STALE, EXPIRED
+    }
+
+    @Autowired
+    private LiveCourseService liveCourseService;
+
+    @Autowired
+    private FallbackCourseService fallbackCourseService;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Autowired
+    @Qualifier("liveRefreshExecutor")
+    private ThreadPoolTaskExecutor liveRefreshExecutor;
+
+    @Value("${live.freshness.soft-ttl-minutes:60}")
+    private long softTtlMinutes;
+
+    @Value("${live.freshness.hard-ttl-minutes:1440}")
+    private long hardTtlMinutes;
+
+    @Value("${live.freshness.max-keywords:10000}")
+    private long maxKeywords;
+
+    // Canonical keyword -> time of the last live search that reached at least one platform
+    private Cache<String, Long> lastFetched;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong freshHits = new AtomicLong();
+    private final AtomicLong staleHits = new AtomicLong();
+    private final AtomicLong blockingFetches = new AtomicLong();
+    private final AtomicLong refreshesCompleted = new AtomicLong();
+    private final AtomicLong refreshesFailed = new AtomicLong();
+    private final AtomicLong refreshesRejected = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        lastFetched = Caffeine.newBuilder()
+                .maximumSize(maxKeywords)
+                .expireAfterWrite(hardTtlMinutes, TimeUnit.MINUTES)
+                .build();
+    }
+
+    public Freshness check(String keyword) {
+        Long fetchedAt = lastFetched.getIfPresent(SearchQueryCanonicalizer.canonicalKeyword(keyword));
+        if (fetchedAt == null) {
+            return Freshness.EXPIRED;
+        }
+        long age = System.currentTimeMillis() - fetchedAt;
+        if (age >= TimeUnit.MINUTES.toMillis(hardTtlMinutes)) {
+            return Freshness.EXPIRED;
+        }
+        return age < TimeUnit.MINUTES.toMillis(softTtlMinutes) ? Freshness.FRESH : Freshness.STALE;
+    }
+
+    /**
+     * Live courses to add to the local matches for {@code keyword}.
+     * Fresh and stale keywords return immediately with no live courses (curated fallbacks if there
+     * are no local matches either), a stale one also scheduling a background refresh. Expired
+     * keywords run a live search, passing platform batches to {@code listener} (may be null).
+     */
+    public PlatformFanOut.FanOutResult liveResults(String keyword, boolean haveLocal, PlatformFanOut.PlatformListener listener) {
+        String key = SearchQueryCanonicalizer.canonicalKeyword(keyword);
+        Freshness freshness = key.isEmpty() ? Freshness.EXPIRED : check(key);
+        if (freshness == Freshness.EXPIRED) {
+            blockingFetches.incrementAndGet();
+            return fetch(key, keyword, listener);
+        }
+
+        if (freshness == Freshness.FRESH) {
+            freshHits.incrementAndGet();
+        } else {
+            staleHits.incrementAndGet();
+            refreshInBackground(key, keyword);
+        }
+        logger.debug("Serving '{}' from local data ({})", key, freshness);
+        PlatformFanOut.FanOutResult local = PlatformFanOut.FanOutResult.empty();
+        return haveLocal ? local : local.withCourses(fallbackCourseService.getFallbackCourses(keyword));
+    }
+
+    private PlatformFanOut.FanOutResult fetch(String key, String keyword, PlatformFanOut.PlatformListener listener) {
+        PlatformFanOut.FanOutResult result = liveCourseService.searchLiveCoursesWithOutcomes(keyword, listener);
+        // A search no platform answered leaves the keyword expired so the next request retries
+        boolean answered = result.getOutcomes().stream()
+            .anyMatch(o -> o.getStatus() == PlatformFanOut.Status.SUCCESS || o.getStatus() == PlatformFanOut.Status.EMPTY);
+        if (answered && !key.isEmpty()) {
+            lastFetched.put(key, System.currentTimeMillis());
+        }
+        return result;
+    }
+
+    private void refreshInBackground(String key, String keyword) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            liveRefreshExecutor.execute(() -> {
+                try {
+                    FetchPriority.runAs(FetchPriority.BACKGROUND, () -> fetch(key, keyword, null));
+                    // Cached candidates for the keyword predate the refreshed rows
+                    searchResultCache.invalidateKeyword(key);
+                    refreshesCompleted.incrementAndGet();
+                    logger.info("Refreshed live data for '{}'", key);
+                } catch (Exception e) {
+                    refreshesFailed.incrementAndGet();
+                    logger.warn("Background live refresh failed for '{}': {}", key, e.getMessage());
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            // Refresh budget exhausted; a later request for the keyword tries again
+            refreshing.remove(key);
+            refreshesRejected.incrementAndGet();
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new HashMap<>();
+        statistics.put("trackedKeywords", lastFetched.estimatedSize());
+        statistics.put("freshHits", freshHits.get());
+        statistics.put("staleHits", staleHits.get());
+        statistics.put("blockingFetches", blockingFetches.get());
+        statistics.put("refreshesInProgress", refreshing.size());
+        statistics.put("refreshesCompleted", refreshesCompleted.get());
+        statistics.put("refreshesFailed", refreshesFailed.get());
+        statistics.put("refreshesRejected", refreshesRejected.get());
+        statistics.put("softTtlMinutes", softTtlMinutes);
+        statistics.put("hardTtlMinutes", hardTtlMinutes);
+        return statistics;
+    }
+}
@@ -0,0 +1,94 @@
+package com.coursecomparison.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load test of {@link LiveCourseService#searchLiveCourses}.
+ * Meant to run against {@link PlatformStubServer} ({@code http.stub.url}), so platforms are not
+ * hit; reports throughput and the latency distribution of the searches.
+ */
+@Service
+public class LiveSearchBenchmarkService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveSearchBenchmarkService.class);
+    private static final int MAX_REQUESTS = 1000;
+    private static final int MAX_CONCURRENCY = 64;
+
+    @Autowired
+    private LiveCourseService liveCourseService;
+
+    /**
+     * Run {@code requests} searches, cycling through {@code keywords}, from {@code concurrency}
+     * threads that each start the next search as soon as their previous one returns
+     */
+    public Map<String, Object> run(List<String> keywords, int requests, int concurrency) {
+        int total = Math.max(1, Math.min(requests, MAX_REQUESTS));
+        int threads = Math.max(1, Math.min(concurrency, MAX_CONCURRENCY));
+        long[] latencies = new long[total];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        AtomicLong courses = new AtomicLong();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                workers.add(executor.submit(() -> {
+                    for (int i = next.getAndIncrement(); i < total; i = next.getAndIncrement()) {
+                        long began = System.nanoTime();
+                        try {
+                            courses.addAndGet(liveCourseService.searchLiveCourses(keywords.get(i % keywords.size())).size());
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[i] = (System.nanoTime() - began) / 1_000_000;
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.error("Benchmark worker failed: {}", e.getMessage());
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+
+        int completed = Math.min(next.get(), total);
+        long[] sorted = Arrays.copyOf(latencies, completed);
+        Arrays.sort(sorted);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("requests", completed);
+        result.put("concurrency", threads);
+        result.put("keywords", keywords.size());
+        result.put("errors", errors.get());
+        result.put("coursesPerSearch", completed == 0 ? 0.0 : (double) courses.get() / completed);
+        result.put("elapsedMs", elapsedMs);
+        result.put("throughputPerSecond", completed * 1000.0 / elapsedMs);
+        result.put("p50Ms", percentile(sorted, 0.50));
+        result.put("p90Ms", percentile(sorted, 0.90));
+        result.put("p99Ms", percentile(sorted, 0.99));
+        result.put("maxMs", sorted.length == 0 ? 0 : sorted[sorted.length - 1]);
+        logger.info("Live search benchmark: {}", result);
+        return result;
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)];
+    }
+}
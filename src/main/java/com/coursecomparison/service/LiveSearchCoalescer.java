@@ -0,0 +1,213 @@
+package com.coursecomparison.service;
+
+import com.coursecomparison.model.Course;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight registry for live searches.
+ * The first search for a canonical keyword runs the platform fan-out; searches for the same
+ * keyword that arrive while it is running wait for its result instead of scraping the same pages
+ * again. Each waiter gives up at its own deadline. Platform listeners of waiters receive the
+ * batches the running search has already delivered, then every later batch as it arrives. Each
+ * waiter has its own delivery queue and runs its listener on its own thread, so a slow listener
+ * (such as a blocking stream send) holds up neither the running search nor the other waiters.
+ */
+@Component
+public class LiveSearchCoalescer {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveSearchCoalescer.class);
+
+    private final Map<String, Flight> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong leaders = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong waiterTimeouts = new AtomicLong();
+
+    /**
+     * Result of {@code search} for {@code key}, shared with concurrent callers of the same key.
+     * {@code search} is given the listener to report platform batches to. A caller that joins a
+     * running search and has no result by {@code waitDeadlineMillis} gets {@code onTimeout} instead.
+     */
+    public PlatformFanOut.FanOutResult run(String key, PlatformFanOut.PlatformListener listener, long waitDeadlineMillis,
+                                           Function<PlatformFanOut.PlatformListener, PlatformFanOut.FanOutResult> search,
+                                           Supplier<PlatformFanOut.FanOutResult> onTimeout) {
+        Flight flight = new Flight(listener);
+        Flight running = inFlight.putIfAbsent(key, flight);
+        if (running == null) {
+            leaders.incrementAndGet();
+            PlatformFanOut.FanOutResult result = null;
+            Throwable failure = null;
+            try {
+                result = search.apply(flight::deliver);
+                return result;
+            } catch (Throwable e) {
+                failure = e;
+                throw e;
+            } finally {
+                // Waiters are released whatever happened to the search
+                inFlight.remove(key, flight);
+                flight.finish(result, failure);
+            }
+        }
+
+        coalesced.incrementAndGet();
+        logger.debug("Joining running live search for '{}'", key);
+        Waiter waiter = running.join(listener);
+        try {
+            if (!waiter.drain(waitDeadlineMillis)) {
+                waiterTimeouts.incrementAndGet();
+                running.leave(waiter);
+                return onTimeout.get();
+            }
+            PlatformFanOut.FanOutResult shared = running.result.get();
+            // Callers may reorder or trim the list they get
+            return shared.withCourses(new ArrayList<>(shared.getCourses()));
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running.leave(waiter);
+            return onTimeout.get();
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new HashMap<>();
+        statistics.put("inFlight", inFlight.size());
+        statistics.put("leaders", leaders.get());
+        statistics.put("coalesced", coalesced.get());
+        statistics.put("waiterTimeouts", waiterTimeouts.get());
+        return statistics;
+    }
+
+    private static void notifyListener(PlatformFanOut.PlatformListener listener, PlatformFanOut.PlatformOutcome outcome,
+                               List<Course> courses) {
+        try {
+            // Each listener filters and ranks its own copy
+            listener.platformDone(outcome, new ArrayList<>(courses));
+        } catch (RuntimeException e) {
+            logger.warn("Platform listener failed for {}: {}", outcome.getPlatform(), e.getMessage());
+        }
+    }
+
+    /**
+     * One running search: its eventual result, the platform batches delivered so far and the
+     * waiters still interested in more. The leader's own listener is called on the delivering
+     * thread; waiters get the batches through their queues. No listener runs under the lock.
+     */
+    private static final class Flight {
+        private final PlatformFanOut.PlatformListener leaderListener;
+        private final CompletableFuture<PlatformFanOut.FanOutResult> result = new CompletableFuture<>();
+        private final List<Batch> batches = new ArrayList<>();
+        private final List<Waiter> waiters = new ArrayList<>();
+        private boolean finished;
+
+        Flight(PlatformFanOut.PlatformListener leaderListener) {
+            this.leaderListener = leaderListener;
+        }
+
+        /**
+         * Register a waiter, queueing the batches delivered so far
+         */
+        synchronized Waiter join(PlatformFanOut.PlatformListener listener) {
+            Waiter waiter = new Waiter(listener);
+            if (listener != null) {
+                batches.forEach(waiter.queue::add);
+            }
+            if (finished) {
+                waiter.queue.add(Batch.END);
+            } else {
+                waiters.add(waiter);
+            }
+            return waiter;
+        }
+
+        /**
+         * After this returns no more batches are queued for the waiter
+         */
+        synchronized void leave(Waiter waiter) {
+            waiters.remove(waiter);
+        }
+
+        void deliver(PlatformFanOut.PlatformOutcome outcome, List<Course> courses) {
+            Batch batch = new Batch(outcome, courses);
+            synchronized (this) {
+                batches.add(batch);
+                for (Waiter waiter : waiters) {
+                    if (waiter.listener != null) {
+                        waiter.queue.add(batch);
+                    }
+                }
+            }
+            if (leaderListener != null) {
+                notifyListener(leaderListener, outcome, courses);
+            }
+        }
+
+        void finish(PlatformFanOut.FanOutResult searchResult, Throwable failure) {
+            if (failure != null) {
+                result.completeExceptionally(failure);
+            } else {
+                result.complete(searchResult);
+            }
+            synchronized (this) {
+                finished = true;
+                waiters.forEach(waiter -> waiter.queue.add(Batch.END));
+                waiters.clear();
+            }
+        }
+    }
+
+    /**
+     * A caller waiting on someone else's search, with the batches not yet passed to its listener
+     */
+    private static final class Waiter {
+        private final PlatformFanOut.PlatformListener listener;
+        private final BlockingQueue<Batch> queue = new LinkedBlockingQueue<>();
+
+        Waiter(PlatformFanOut.PlatformListener listener) {
+            this.listener = listener;
+        }
+
+        /**
+         * Pass queued batches to the listener on the calling thread until the search finishes;
+         * false if {@code deadlineMillis} passed first
+         */
+        boolean drain(long deadlineMillis) throws InterruptedException {
+            while (true) {
+                Batch batch = queue.poll(Math.max(0, deadlineMillis - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+                if (batch == null) {
+                    return false;
+                }
+                if (batch == Batch.END) {
+                    return true;
+                }
+                notifyListener(listener, batch.outcome, batch.courses);
+            }
+        }
+    }
+
+    private static final class Batch {
+        static final Batch END = new Batch(null, null);
+
+        private final PlatformFanOut.PlatformOutcome outcome;
+        private final List<Course> courses;
+
+        Batch(PlatformFanOut.PlatformOutcome outcome, List<Course> courses) {
+            this.outcome = outcome;
+            this.courses = courses;
+        }
+    }
+}
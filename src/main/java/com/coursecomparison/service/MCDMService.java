@@ -96,6 +96,69 @@ public class MCDMService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Per-course score function equivalent to {@link #rankCourses} for the given algorithm.
+     * Candidate-wide statistics (the TOPSIS min/max of each criterion) are gathered in one pass
+     * here, so callers can score and select in a single further pass without building maps.
+     * Missing criterion values score as 0.
+     */
+    public java.util.function.ToDoubleFunction<Course> scorer(List<Course> courses, Algorithm algorithm, User user) {
+        Map<String, Double> weights = getUserWeights(user);
+        double[] w = {
+            weights.get("Content Quality"), weights.get("Instructor Rating"), weights.get("Value for Money"),
+            weights.get("Course Structure"), weights.get("Practical Exercises"), weights.get("Support Quality")
+        };
+
+        if (algorithm == Algorithm.AHP) {
+            return course -> weightedSum(criteriaValues(course), w);
+        }
+        if (algorithm == Algorithm.PERSONALIZED && user != null) {
+            return course -> weightedSum(criteriaValues(course), w)
+                + calculateInterestBonus(course, user) + calculateDifficultyBonus(course, user);
+        }
+
+        double[] min = new double[w.length];
+        double[] max = new double[w.length];
+        Arrays.fill(min, Double.POSITIVE_INFINITY);
+        Arrays.fill(max, Double.NEGATIVE_INFINITY);
+        for (Course course : courses) {
+            double[] values = criteriaValues(course);
+            for (int i = 0; i < values.length; i++) {
+                min[i] = Math.min(min[i], values[i]);
+                max[i] = Math.max(max[i], values[i]);
+            }
+        }
+        return course -> {
+            double[] values = criteriaValues(course);
+            double score = 0.0;
+            for (int i = 0; i < values.length; i++) {
+                double range = max[i] - min[i];
+                score += (range > 0 ? (values[i] - min[i]) / range : 0.0) * w[i];
+            }
+            return score;
+        };
+    }
+
+    private static double[] criteriaValues(Course course) {
+        return new double[] {
+            valueOrZero(course.getContentQuality()), valueOrZero(course.getInstructorRating()),
+            valueOrZero(course.getValueForMoney()), valueOrZero(course.getCourseStructure()),
+            valueOrZero(course.getPracticalExercises()), valueOrZero(course.getSupportQuality())
+        };
+    }
+
+    private static double valueOrZero(Double value) {
+        return value != null ? value : 0.0;
+    }
+
+    private static double weightedSum(double[] values, double[] weights) {
+        double sum = 0.0;
+        for (int i = 0; i < values.length; i++) {
+            sum += values[i] * weights[i];
+        }
+        return sum;
+    }
+
     /**
      * Get user-specific weights or default weights
      */
@@ -0,0 +1,177 @@
+package com.coursecomparison.service;
+
+import java.text.Normalizer;
+import java.util.*;
+
+/**
+ * MinHash signatures with LSH banding for near-duplicate lookup.
+ * A signature is split into {@code bands} bands of {@code rows} values; two items become
+ * candidates when any band hashes to the same bucket, so a lookup touches only the items
+ * sharing a bucket instead of the whole collection. Candidates are then checked against the
+ * estimated Jaccard similarity (fraction of equal signature values).
+ */
+public class MinHashIndex {
+
+    private static final int TITLE_SHINGLE_CHARS = 4;
+    private static final int DESCRIPTION_SHINGLE_WORDS = 3;
+    private static final int DESCRIPTION_MAX_WORDS = 60;
+
+    private final int bands;
+    private final int rows;
+    private final long[] seeds;
+
+    private final Map<Long, long[]> signatures = new HashMap<>();
+    private final List<Map<Long, List<Long>>> buckets;
+
+    public MinHashIndex(int numHashes, int bands) {
+        if (numHashes % bands != 0) {
+            throw new IllegalArgumentException("numHashes must be a multiple of bands");
+        }
+        this.bands = bands;
+        this.rows = numHashes / bands;
+        this.seeds = new long[numHashes];
+        Random random = new Random(31);
+        for (int i = 0; i < numHashes; i++) {
+            seeds[i] = random.nextLong();
+        }
+        this.buckets = new ArrayList<>(bands);
+        for (int b = 0; b < bands; b++) {
+            buckets.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * Shingles of a course text: character 4-grams of the normalized title, which tolerate small
+     * title edits, plus word 3-grams from the start of the normalized description
+     */
+    public static Set<Long> shingles(String title, String description) {
+        Set<Long> shingles = new HashSet<>();
+        String normalizedTitle = normalize(title);
+        if (normalizedTitle.length() <= TITLE_SHINGLE_CHARS) {
+            if (!normalizedTitle.isEmpty()) {
+                shingles.add(hash("t:" + normalizedTitle));
+            }
+        } else {
+            for (int i = 0; i + TITLE_SHINGLE_CHARS <= normalizedTitle.length(); i++) {
+                shingles.add(hash("t:" + normalizedTitle.substring(i, i + TITLE_SHINGLE_CHARS)));
+            }
+        }
+
+        String normalizedDescription = normalize(description);
+        if (!normalizedDescription.isEmpty()) {
+            String[] words = normalizedDescription.split(" ");
+            int limit = Math.min(words.length, DESCRIPTION_MAX_WORDS);
+            for (int i = 0; i + DESCRIPTION_SHINGLE_WORDS <= limit; i++) {
+                shingles.add(hash("d:" + words[i] + " " + words[i + 1] + " " + words[i + 2]));
+            }
+        }
+        return shingles;
+    }
+
+    /**
+     * Lowercase, strip accents and punctuation, collapse whitespace
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFKD).replaceAll("\\p{M}+", "");
+        return folded.toLowerCase().replaceAll("[^\\p{L}\\p{N}+#]+", " ").trim();
+    }
+
+    public long[] signature(Set<Long> shingles) {
+        long[] signature = new long[seeds.length];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        for (long shingle : shingles) {
+            for (int i = 0; i < seeds.length; i++) {
+                long value = mix(shingle ^ seeds[i]);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    public synchronized void add(long id, long[] signature) {
+        if (signatures.putIfAbsent(id, signature) != null) {
+            return;
+        }
+        for (int b = 0; b < bands; b++) {
+            buckets.get(b).computeIfAbsent(bandHash(signature, b), key -> new ArrayList<>(1)).add(id);
+        }
+    }
+
+    public synchronized void remove(long id) {
+        long[] signature = signatures.remove(id);
+        if (signature == null) {
+            return;
+        }
+        for (int b = 0; b < bands; b++) {
+            long key = bandHash(signature, b);
+            List<Long> bucket = buckets.get(b).get(key);
+            if (bucket != null) {
+                bucket.remove(Long.valueOf(id));
+                if (bucket.isEmpty()) {
+                    buckets.get(b).remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Ids sharing at least one band bucket with the signature, with their estimated similarity
+     */
+    public synchronized Map<Long, Double> candidates(long[] signature) {
+        Map<Long, Double> candidates = new HashMap<>();
+        for (int b = 0; b < bands; b++) {
+            List<Long> bucket = buckets.get(b).get(bandHash(signature, b));
+            if (bucket == null) {
+                continue;
+            }
+            for (Long id : bucket) {
+                candidates.computeIfAbsent(id, key -> similarity(signature, signatures.get(key)));
+            }
+        }
+        return candidates;
+    }
+
+    public synchronized int size() {
+        return signatures.size();
+    }
+
+    /**
+     * Estimated Jaccard similarity of the shingle sets behind two signatures
+     */
+    public static double similarity(long[] a, long[] b) {
+        int equal = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return equal / (double) a.length;
+    }
+
+    private long bandHash(long[] signature, int band) {
+        long hash = band * 0x9E3779B97F4A7C15L;
+        for (int r = band * rows; r < (band + 1) * rows; r++) {
+            hash = mix(hash ^ signature[r]);
+        }
+        return hash;
+    }
+
+    private static long hash(String text) {
+        long hash = 1125899906842597L;
+        for (int i = 0; i < text.length(); i++) {
+            hash = 31 * hash + text.charAt(i);
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
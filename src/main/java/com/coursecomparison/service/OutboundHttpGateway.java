@@ -0,0 +1,778 @@
+package com.coursecomparison.service;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.client.support.HttpRequestWrapper;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Single outbound HTTP client for all platform traffic.
+ * One JDK {@link HttpClient} (HTTP/2 where the server supports it, HTTP/1.1 keep-alive otherwise)
+ * keeps pooled connections per host, so repeated calls to a platform reuse the TLS session.
+ * The RestTemplate bean and Jsoup page fetches both go through it and share its timeouts,
+ * compression handling, {@link HttpDiskCache}, per-host metrics, {@link PolitenessScheduler}
+ * rate limits and {@link PlatformResilience} protection.
+ * Successful GETs can be recorded to {@link HttpFixtureStore}, and with {@code http.stub.url} set
+ * every request is sent to {@link PlatformStubServer} instead, keeping the platform host for rate
+ * limits, circuit breakers and metrics.
+ */
+@Component
+public class OutboundHttpGateway {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboundHttpGateway.class);
+    private static final String ACCEPT_ENCODING = "gzip, deflate";
+    public static final String BROWSER_USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36";
+
+    @Value("${rest.template.connection.timeout:5000}")
+    private int connectTimeoutMs;
+
+    @Value("${rest.template.read.timeout:5000}")
+    private int readTimeoutMs;
+
+    @Value("${http.gateway.total-timeout-ms:15000}")
+    private int totalTimeoutMs;
+
+    @Value("${http.gateway.max-html-bytes:1048576}")
+    private int maxHtmlBytes;
+
+    @Value("${http.gateway.keep-alive-seconds:120}")
+    private int keepAliveSeconds;
+
+    @Value("${http.stub.url:}")
+    private String stubUrl;
+
+    @Autowired
+    private PlatformResilience platformResilience;
+
+    @Autowired
+    private PolitenessScheduler politenessScheduler;
+
+    @Autowired
+    private HttpDiskCache httpDiskCache;
+
+    @Autowired
+    private HttpFixtureStore httpFixtureStore;
+
+    private HttpClient httpClient;
+    private ScheduledExecutorService deadlineTimer;
+    private final Map<String, HostMetrics> hostMetrics = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        // Read once by the JDK connection pool; only takes effect if no HttpClient was created before
+        if (System.getProperty("jdk.httpclient.keepalive.timeout") == null) {
+            System.setProperty("jdk.httpclient.keepalive.timeout", String.valueOf(keepAliveSeconds));
+        }
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        CustomizableThreadFactory timerThreads = new CustomizableThreadFactory("Http-deadline-");
+        timerThreads.setDaemon(true);
+        deadlineTimer = Executors.newSingleThreadScheduledExecutor(timerThreads);
+        logger.info("Outbound HTTP gateway ready (connect {} ms, read {} ms, total {} ms)",
+                   connectTimeoutMs, readTimeoutMs, totalTimeoutMs);
+        if (!stubUrl.isBlank()) {
+            logger.warn("Outbound HTTP routed to platform stub at {}", stubUrl);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        deadlineTimer.shutdownNow();
+    }
+
+    /**
+     * RestTemplate backed by the pooled client, with compression and per-host metrics
+     */
+    public RestTemplate createRestTemplate() {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        restTemplate.getInterceptors().add(new GatewayInterceptor());
+        return restTemplate;
+    }
+
+    /**
+     * GET an HTML page and parse it. {@code timeoutMillis} bounds the whole exchange and is
+     * capped by {@code http.gateway.total-timeout-ms}; only the first {@code http.gateway.max-html-bytes}
+     * of the page are read, since course cards sit near the top of search results.
+     */
+    public Document fetchDocument(String url, int timeoutMillis) throws IOException {
+        GatewayResponse response = get(url, Map.of("User-Agent", BROWSER_USER_AGENT,
+            "Accept", "text/html,application/xhtml+xml"), timeoutMillis, maxHtmlBytes);
+        if (response.getStatus() >= 400) {
+            throw new IOException("HTTP " + response.getStatus() + " fetching " + url);
+        }
+        return Jsoup.parse(new String(response.getBody(), response.getCharset()), response.getUri().toString());
+    }
+
+    /**
+     * GET with decompressed body, served from the disk cache while fresh and revalidated with a
+     * conditional request once stale. Throws IOException on connect, timeout or transport failure,
+     * or immediately when the platform's circuit is open, unless a cached copy can be served instead.
+     */
+    public GatewayResponse get(String url, Map<String, String> headers, int timeoutMillis) throws IOException {
+        return get(url, headers, timeoutMillis, Integer.MAX_VALUE);
+    }
+
+    /**
+     * As {@link #get(String, Map, int)}, reading at most {@code maxBodyBytes} of the decompressed
+     * body; the rest of the response is discarded. A body cut off at the cap is not stored in the
+     * disk cache, so callers with a larger cap never get the partial copy.
+     */
+    public GatewayResponse get(String url, Map<String, String> headers, int timeoutMillis, int maxBodyBytes) throws IOException {
+        URI uri = URI.create(url);
+        String host = uri.getHost();
+        HttpDiskCache.Entry cached = useDiskCache() ? httpDiskCache.lookup(url) : null;
+        if (cached != null && httpDiskCache.isFresh(cached, host)) {
+            GatewayResponse local = fromCache(uri, cached, maxBodyBytes);
+            if (local != null) {
+                return local;
+            }
+        }
+
+        Map<String, String> requestHeaders = new LinkedHashMap<>(headers);
+        if (cached != null) {
+            addValidators(cached, requestHeaders::put);
+        }
+        try {
+            GatewayResponse response = send(uri, "GET", requestHeaders, timeoutMillis, maxBodyBytes, false);
+            if (response.getStatus() == 304 && cached != null) {
+                httpDiskCache.markRevalidated(url);
+                GatewayResponse local = fromCache(uri, cached, maxBodyBytes);
+                if (local != null) {
+                    return local;
+                }
+            } else if (response.getStatus() == 200 && !response.isTruncated() && useDiskCache()) {
+                httpDiskCache.store(url, response.getEtag(), response.getLastModified(),
+                                    response.getContentType(), response.getBody());
+            }
+            return response;
+        } catch (IOException e) {
+            GatewayResponse stale = cached != null ? fromCache(uri, cached, maxBodyBytes) : null;
+            if (stale == null) {
+                throw e;
+            }
+            httpDiskCache.markServedStale();
+            logger.debug("Serving cached copy of {} after: {}", url, e.getMessage());
+            return stale;
+        }
+    }
+
+    /**
+     * Probe request such as a URL check, bypassing the disk cache since partial or empty bodies
+     * must not be cached. Probes wait in the background politeness lane, are refused while the
+     * platform's circuit is open, and are not retried. Their outcomes are left out of the circuit
+     * breaker and concurrency limit, so a batch of 403s or 404s on dead course pages cannot open
+     * the circuit for live searches.
+     */
+    public GatewayResponse probe(String method, String url, Map<String, String> headers,
+                                 int timeoutMillis, int maxBodyBytes) throws IOException {
+        URI uri = URI.create(url);
+        try {
+            return FetchPriority.runAs(FetchPriority.BACKGROUND, () -> {
+                try {
+                    return send(uri, method, headers, timeoutMillis, maxBodyBytes, true);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Network request; connection failures and 429/502/503/504 responses are retried with jittered
+     * backoff while the platform's retry budget and the timeout allow. A {@code probe} holds no
+     * resilience permit and is not retried. The timeout covers reading the body too: a body still
+     * streaming at the deadline is abandoned by closing its stream.
+     */
+    private GatewayResponse send(URI uri, String method, Map<String, String> headers,
+                                 int timeoutMillis, int maxBodyBytes, boolean probe) throws IOException {
+        String url = uri.toString();
+        String host = uri.getHost();
+        int timeout = Math.min(Math.max(1, timeoutMillis), totalTimeoutMs);
+        long deadline = System.currentTimeMillis() + timeout;
+        HostMetrics metrics = metricsFor(host);
+
+        for (int attempt = 0; ; attempt++) {
+            platformResilience.checkAvailable(host);
+            long queued = politenessScheduler.acquire(host, deadline);
+            if (FetchPriority.current() == FetchPriority.BACKGROUND) {
+                // Background work may queue behind user traffic without eating into its own timeout
+                deadline += queued;
+            }
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                throw new IOException("Timed out after " + timeout + " ms fetching " + url);
+            }
+            java.net.http.HttpRequest.Builder request = java.net.http.HttpRequest.newBuilder(route(uri))
+                    .timeout(Duration.ofMillis(remaining))
+                    .header("Accept-Encoding", ACCEPT_ENCODING)
+                    .method(method, java.net.http.HttpRequest.BodyPublishers.noBody());
+            headers.forEach(request::header);
+
+            PlatformResilience.Permit permit = probe ? null : platformResilience.acquire(host);
+            long start = System.nanoTime();
+            CompletableFuture<HttpResponse<InputStream>> pending =
+                httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+            try {
+                HttpResponse<InputStream> response = pending.get(remaining, TimeUnit.MILLISECONDS);
+                String encoding = response.headers().firstValue("Content-Encoding").orElse(null);
+                InputStream raw = response.body();
+                // Closing the stream wakes a blocked read, which then sees end of stream or an error
+                AtomicBoolean expired = new AtomicBoolean();
+                ScheduledFuture<?> expiry = deadlineTimer.schedule(() -> {
+                    expired.set(true);
+                    closeQuietly(raw);
+                }, Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+                byte[] body;
+                boolean truncated;
+                try (InputStream in = decode(raw, encoding)) {
+                    body = in.readNBytes(maxBodyBytes);
+                    truncated = body.length == maxBodyBytes && in.read() != -1;
+                } catch (IOException e) {
+                    if (expired.get()) {
+                        throw new TimeoutException("Body still streaming at the deadline");
+                    }
+                    throw e;
+                } finally {
+                    expiry.cancel(false);
+                }
+                if (expired.get()) {
+                    throw new TimeoutException("Body still streaming at the deadline");
+                }
+                int status = response.statusCode();
+                metrics.record(status, body.length, (System.nanoTime() - start) / 1_000_000);
+                if (permit != null && isPlatformFailure(status)) {
+                    permit.failure();
+                } else if (permit != null) {
+                    permit.success();
+                }
+                if (!probe && isRetryable(status) && backOff(host, attempt, deadline)) {
+                    continue;
+                }
+                java.net.http.HttpHeaders responseHeaders = response.headers();
+                String contentType = responseHeaders.firstValue("Content-Type").orElse(null);
+                if ("GET".equals(method) && stubUrl.isBlank()) {
+                    httpFixtureStore.record(uri, status, contentType, body);
+                }
+                return new GatewayResponse(status, stubUrl.isBlank() ? response.uri() : uri, body, contentType,
+                    responseHeaders.firstValue("ETag").orElse(null),
+                    responseHeaders.firstValue("Last-Modified").orElse(null), truncated);
+            } catch (TimeoutException e) {
+                pending.cancel(true);
+                failed(permit);
+                metrics.recordFailure((System.nanoTime() - start) / 1_000_000);
+                throw new IOException("Timed out after " + timeout + " ms fetching " + url, e);
+            } catch (ExecutionException e) {
+                failed(permit);
+                metrics.recordFailure((System.nanoTime() - start) / 1_000_000);
+                Throwable cause = e.getCause();
+                if (!probe && cause instanceof ConnectException && backOff(host, attempt, deadline)) {
+                    continue;
+                }
+                throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+            } catch (IOException e) {
+                // Body read or decompression failed after the response arrived
+                failed(permit);
+                metrics.recordFailure((System.nanoTime() - start) / 1_000_000);
+                throw e;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                pending.cancel(true);
+                if (permit != null) {
+                    permit.ignore();
+                }
+                throw new IOException("Interrupted fetching " + url, e);
+            }
+        }
+    }
+
+    private static void closeQuietly(InputStream in) {
+        try {
+            in.close();
+        } catch (IOException ignored) {
+            // the read it interrupts reports the failure
+        }
+    }
+
+    private static void failed(PlatformResilience.Permit permit) {
+        if (permit != null) {
+            permit.failure();
+        }
+    }
+
+    /**
+     * Cached copy as a 200 response, held to the same {@code maxBodyBytes} cap as a network read
+     */
+    private GatewayResponse fromCache(URI uri, HttpDiskCache.Entry cached, int maxBodyBytes) {
+        try {
+            byte[] body = cached.readBody();
+            boolean truncated = body.length > maxBodyBytes;
+            return new GatewayResponse(200, uri, truncated ? Arrays.copyOf(body, maxBodyBytes) : body,
+                                       cached.getContentType(), cached.getEtag(), cached.getLastModified(), truncated);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static void addValidators(HttpDiskCache.Entry cached, java.util.function.BiConsumer<String, String> header) {
+        if (cached.getEtag() != null) {
+            header.accept(HttpHeaders.IF_NONE_MATCH, cached.getEtag());
+        }
+        if (cached.getLastModified() != null) {
+            header.accept(HttpHeaders.IF_MODIFIED_SINCE, cached.getLastModified());
+        }
+    }
+
+    /**
+     * Stubbed runs measure the stub rather than pages cached from the platforms, and recording
+     * runs must reach the platforms to have anything to record
+     */
+    private boolean useDiskCache() {
+        return stubUrl.isBlank() && !httpFixtureStore.isRecording();
+    }
+
+    /**
+     * Where a request for {@code uri} is actually sent: the stub server when one is configured
+     */
+    private URI route(URI uri) {
+        if (stubUrl.isBlank()) {
+            return uri;
+        }
+        String base = stubUrl.endsWith("/") ? stubUrl.substring(0, stubUrl.length() - 1) : stubUrl;
+        if (uri.toString().startsWith(base + "/")) {
+            return uri;
+        }
+        String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+        return URI.create(base + "/" + uri.getHost() + path + (uri.getRawQuery() != null ? "?" + uri.getRawQuery() : ""));
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new TreeMap<>();
+        hostMetrics.forEach((host, metrics) -> statistics.put(host, metrics.snapshot()));
+        return statistics;
+    }
+
+    /**
+     * Sleep before retry {@code attempt} if the retry budget allows it and the backoff fits before
+     * the deadline; false means give up now
+     */
+    private boolean backOff(String host, int attempt, long deadline) throws IOException {
+        long backoff = platformResilience.backoffMillis(attempt);
+        if (System.currentTimeMillis() + backoff >= deadline || !platformResilience.tryRetry(host, attempt)) {
+            return false;
+        }
+        try {
+            Thread.sleep(backoff);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while backing off", e);
+        }
+    }
+
+    // Blocked (403), throttled (429) and server errors count against the platform; other 4xx do not
+    private static boolean isPlatformFailure(int status) {
+        return status >= 500 || status == 403 || status == 429;
+    }
+
+    private static boolean isRetryable(int status) {
+        return status == 429 || status == 502 || status == 503 || status == 504;
+    }
+
+    private HostMetrics metricsFor(String host) {
+        return hostMetrics.computeIfAbsent(host != null ? host.toLowerCase(Locale.ROOT) : "unknown", key -> new HostMetrics());
+    }
+
+    private static InputStream decode(InputStream body, String encoding) throws IOException {
+        if (encoding == null) {
+            return body;
+        }
+        switch (encoding.trim().toLowerCase(Locale.ROOT)) {
+            case "gzip":
+            case "x-gzip":
+                return new GZIPInputStream(body);
+            case "deflate":
+                return new InflaterInputStream(body);
+            default:
+                return body;
+        }
+    }
+
+    private static Charset charsetOf(String contentType) {
+        if (contentType != null) {
+            for (String part : contentType.split(";")) {
+                String trimmed = part.trim();
+                if (trimmed.toLowerCase(Locale.ROOT).startsWith("charset=")) {
+                    try {
+                        return Charset.forName(trimmed.substring(8).replace("\"", ""));
+                    } catch (Exception ignored) {
+                        // fall through to UTF-8
+                    }
+                }
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    /**
+     * Adds Accept-Encoding, decompresses bodies, records per-host metrics and applies the disk
+     * cache to GETs made through RestTemplate
+     */
+    private class GatewayInterceptor implements ClientHttpRequestInterceptor {
+        @Override
+        public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+            if (request.getMethod() != HttpMethod.GET) {
+                return exchange(request, body, execution);
+            }
+            String url = request.getURI().toString();
+            if (!useDiskCache()) {
+                return httpFixtureStore.isRecording() ? recorded(request, exchange(request, body, execution))
+                    : exchange(request, body, execution);
+            }
+            HttpDiskCache.Entry cached = httpDiskCache.lookup(url);
+            if (cached != null && httpDiskCache.isFresh(cached, request.getURI().getHost())) {
+                ClientHttpResponse local = cachedResponse(cached);
+                if (local != null) {
+                    return local;
+                }
+            }
+            if (cached != null) {
+                addValidators(cached, request.getHeaders()::set);
+            }
+
+            ClientHttpResponse response;
+            try {
+                response = exchange(request, body, execution);
+            } catch (IOException e) {
+                ClientHttpResponse stale = cached != null ? cachedResponse(cached) : null;
+                if (stale == null) {
+                    throw e;
+                }
+                httpDiskCache.markServedStale();
+                logger.debug("Serving cached copy of {} after: {}", url, e.getMessage());
+                return stale;
+            }
+
+            int status = response.getStatusCode().value();
+            if (status == 304 && cached != null) {
+                ClientHttpResponse local = cachedResponse(cached);
+                if (local != null) {
+                    response.close();
+                    httpDiskCache.markRevalidated(url);
+                    return local;
+                }
+            } else if (status == 200) {
+                byte[] content;
+                try (ClientHttpResponse original = response) {
+                    content = original.getBody().readAllBytes();
+                }
+                HttpHeaders headers = response.getHeaders();
+                httpDiskCache.store(url, headers.getETag(), headers.getFirst(HttpHeaders.LAST_MODIFIED),
+                                    headers.getFirst(HttpHeaders.CONTENT_TYPE), content);
+                return new BufferedResponse(response.getStatusCode(), headers, content);
+            }
+            return response;
+        }
+
+        private ClientHttpResponse exchange(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+            request.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, ACCEPT_ENCODING);
+            String host = request.getURI().getHost();
+            URI target = route(request.getURI());
+            HttpRequest routed = target == request.getURI() ? request : new HttpRequestWrapper(request) {
+                @Override
+                public URI getURI() {
+                    return target;
+                }
+            };
+            HostMetrics metrics = metricsFor(host);
+            long deadline = System.currentTimeMillis() + totalTimeoutMs;
+
+            for (int attempt = 0; ; attempt++) {
+                platformResilience.checkAvailable(host);
+                politenessScheduler.acquire(host, deadline);
+                PlatformResilience.Permit permit = platformResilience.acquire(host);
+                long start = System.nanoTime();
+                ClientHttpResponse response;
+                try {
+                    response = execution.execute(routed, body);
+                } catch (IOException e) {
+                    permit.failure();
+                    metrics.recordFailure((System.nanoTime() - start) / 1_000_000);
+                    if (e instanceof ConnectException && backOff(host, attempt, deadline)) {
+                        continue;
+                    }
+                    throw e;
+                }
+                int status = response.getStatusCode().value();
+                metrics.record(status, response.getHeaders().getContentLength(), (System.nanoTime() - start) / 1_000_000);
+                if (isPlatformFailure(status)) {
+                    permit.failure();
+                } else {
+                    permit.success();
+                }
+                if (isRetryable(status) && backOff(host, attempt, deadline)) {
+                    response.close();
+                    continue;
+                }
+                String encoding = response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+                return encoding != null ? new DecodedResponse(response, encoding) : response;
+            }
+        }
+
+        private ClientHttpResponse recorded(HttpRequest request, ClientHttpResponse response) throws IOException {
+            if (!response.getStatusCode().is2xxSuccessful()) {
+                return response;
+            }
+            byte[] content;
+            try (ClientHttpResponse original = response) {
+                content = original.getBody().readAllBytes();
+            }
+            HttpHeaders headers = response.getHeaders();
+            httpFixtureStore.record(request.getURI(), response.getStatusCode().value(),
+                                    headers.getFirst(HttpHeaders.CONTENT_TYPE), content);
+            return new BufferedResponse(response.getStatusCode(), headers, content);
+        }
+
+        private ClientHttpResponse cachedResponse(HttpDiskCache.Entry cached) {
+            try {
+                HttpHeaders headers = new HttpHeaders();
+                if (cached.getContentType() != null) {
+                    headers.set(HttpHeaders.CONTENT_TYPE, cached.getContentType());
+                }
+                return new BufferedResponse(HttpStatusCode.valueOf(200), headers, cached.readBody());
+            } catch (IOException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Response whose body is already in memory, from the cache or read once to be stored in it
+     */
+    private static final class BufferedResponse implements ClientHttpResponse {
+        private final HttpStatusCode status;
+        private final HttpHeaders headers;
+        private final byte[] body;
+
+        BufferedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return status;
+        }
+
+        @Override
+        public String getStatusText() {
+            return "";
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new java.io.ByteArrayInputStream(body);
+        }
+
+        @Override
+        public void close() {
+            // nothing to release
+        }
+    }
+
+    private static final class DecodedResponse implements ClientHttpResponse {
+        private final ClientHttpResponse delegate;
+        private final String encoding;
+        private final HttpHeaders headers;
+
+        DecodedResponse(ClientHttpResponse delegate, String encoding) {
+            this.delegate = delegate;
+            this.encoding = encoding;
+            this.headers = new HttpHeaders();
+            this.headers.putAll(delegate.getHeaders());
+            this.headers.remove(HttpHeaders.CONTENT_ENCODING);
+            this.headers.remove(HttpHeaders.CONTENT_LENGTH);
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return decode(delegate.getBody(), encoding);
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+
+    /**
+     * Request counts, status classes, bytes and latency for one host
+     */
+    private static final class HostMetrics {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder[] statusClasses = {new LongAdder(), new LongAdder(), new LongAdder(), new LongAdder()};
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder totalLatencyMs = new LongAdder();
+        private final AtomicLong maxLatencyMs = new AtomicLong();
+
+        void record(int status, long contentLength, long latencyMs) {
+            requests.increment();
+            int statusClass = status / 100 - 2;
+            if (statusClass >= 0 && statusClass < statusClasses.length) {
+                statusClasses[statusClass].increment();
+            }
+            if (contentLength > 0) {
+                bytes.add(contentLength);
+            }
+            totalLatencyMs.add(latencyMs);
+            maxLatencyMs.accumulateAndGet(latencyMs, Math::max);
+        }
+
+        void recordFailure(long latencyMs) {
+            requests.increment();
+            failures.increment();
+            totalLatencyMs.add(latencyMs);
+            maxLatencyMs.accumulateAndGet(latencyMs, Math::max);
+        }
+
+        Map<String, Object> snapshot() {
+            long count = requests.sum();
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            snapshot.put("requests", count);
+            snapshot.put("failures", failures.sum());
+            snapshot.put("2xx", statusClasses[0].sum());
+            snapshot.put("3xx", statusClasses[1].sum());
+            snapshot.put("4xx", statusClasses[2].sum());
+            snapshot.put("5xx", statusClasses[3].sum());
+            snapshot.put("bytesReceived", bytes.sum());
+            snapshot.put("avgLatencyMs", count > 0 ? totalLatencyMs.sum() / count : 0);
+            snapshot.put("maxLatencyMs", maxLatencyMs.get());
+            return snapshot;
+        }
+    }
+
+    /**
+     * Status, final URI (after redirects), decompressed body and cache validators of a gateway GET
+     */
+    public static class GatewayResponse {
+        private final int status;
+        private final URI uri;
+        private final byte[] body;
+        private final String contentType;
+        private final String etag;
+        private final String lastModified;
+        private final boolean truncated;
+
+        public GatewayResponse(int status, URI uri, byte[] body, String contentType, String etag, String lastModified) {
+            this(status, uri, body, contentType, etag, lastModified, false);
+        }
+
+        public GatewayResponse(int status, URI uri, byte[] body, String contentType, String etag, String lastModified,
+                               boolean truncated) {
+            this.status = status;
+            this.uri = uri;
+            this.body = body;
+            this.contentType = contentType;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.truncated = truncated;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public URI getUri() {
+            return uri;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        public Charset getCharset() {
+            return charsetOf(contentType);
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public String getLastModified() {
+            return lastModified;
+        }
+
+        /**
+         * Whether the body was cut off at the caller's size cap
+         */
+        public boolean isTruncated() {
+            return truncated;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.coursecomparison.service;
+
+import com.coursecomparison.model.Course;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+
+import java.util.List;
+
+/**
+ * Live search against one course platform.
+ * {@link #search} runs the platform's fetch strategies; page strategies {@link #parse} the
+ * course cards of a page, {@link #map} each card to a course and {@link #enrich} it with the
+ * platform's defaults. Each adapter declares a {@link Budget} that {@link PlatformAdapterRegistry}
+ * enforces and reports metrics against.
+ */
+public interface PlatformAdapter {
+
+    /**
+     * Platform name as stored on courses and reported in search outcomes
+     */
+    String getPlatform();
+
+    Budget getBudget();
+
+    boolean isEnabled();
+
+    /**
+     * Courses matching {@code keyword}, at most {@link Budget#getMaxResults()}; throws if the
+     * platform could not be searched, so a failure is never mistaken for an empty result
+     */
+    List<Course> search(String keyword);
+
+    /**
+     * Course cards of a search results page, in document order, at most {@code limit}
+     */
+    List<Element> parse(Document page, int limit);
+
+    /**
+     * Course read from one card, or null if the card holds no usable course
+     */
+    Course map(Element card);
+
+    /**
+     * Set the platform and fill descriptive fields (topic, language, difficulty) the source did not
+     * provide with the platform's defaults
+     */
+    void enrich(Course course);
+
+    /**
+     * Time budget within the live search deadline, result cap and concurrent searches of one adapter
+     */
+    final class Budget {
+        private final long timeBudgetMillis;
+        private final int maxResults;
+        private final int maxConcurrency;
+
+        public Budget(long timeBudgetMillis, int maxResults, int maxConcurrency) {
+            this.timeBudgetMillis = timeBudgetMillis;
+            this.maxResults = maxResults;
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        public long getTimeBudgetMillis() {
+            return timeBudgetMillis;
+        }
+
+        public int getMaxResults() {
+            return maxResults;
+        }
+
+        public int getMaxConcurrency() {
+            return maxConcurrency;
+        }
+
+        @Override
+        public String toString() {
+            return timeBudgetMillis + "ms/" + maxResults + " results/" + maxConcurrency + " concurrent";
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.coursecomparison.service;
+
+import com.coursecomparison.model.Course;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans a live search out to every enabled {@link PlatformAdapter} within its budget.
+ * Each adapter gets its own deadline (its time budget, capped by the search deadline) and a limit
+ * on concurrent searches; searches over the limit fail at once instead of queueing. Latency,
+ * yield and errors are recorded per adapter from the fan-out outcomes.
+ */
+@Component
+public class PlatformAdapterRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlatformAdapterRegistry.class);
+
+    @Autowired
+    private List<PlatformAdapter> adapters;
+
+    @Autowired
+    private PlatformFanOut platformFanOut;
+
+    private final Map<String, Semaphore> permits = new ConcurrentHashMap<>();
+    private final Map<String, AdapterMetrics> metrics = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        for (PlatformAdapter adapter : adapters) {
+            permits.put(adapter.getPlatform(), new Semaphore(Math.max(1, adapter.getBudget().getMaxConcurrency())));
+            metrics.put(adapter.getPlatform(), new AdapterMetrics());
+        }
+        logger.info("Registered {} platform adapters", adapters.size());
+    }
+
+    public List<PlatformAdapter> getAdapters() {
+        return Collections.unmodifiableList(adapters);
+    }
+
+    /**
+     * Search every enabled adapter for {@code keyword}, reporting each platform's result to
+     * {@code listener} (may be null) as it finishes
+     */
+    public PlatformFanOut.FanOutResult search(String stage, String keyword, long deadlineMillis,
+                                              PlatformFanOut.PlatformListener listener) {
+        long now = System.currentTimeMillis();
+        Map<String, Callable<List<Course>>> searches = new LinkedHashMap<>();
+        Map<String, Long> platformDeadlines = new HashMap<>();
+        for (PlatformAdapter adapter : adapters) {
+            if (!adapter.isEnabled()) {
+                continue;
+            }
+            String platform = adapter.getPlatform();
+            searches.put(platform, () -> searchWithinLimit(adapter, keyword));
+            platformDeadlines.put(platform, Math.min(deadlineMillis, now + adapter.getBudget().getTimeBudgetMillis()));
+        }
+
+        return platformFanOut.search(stage, searches, deadlineMillis, platformDeadlines, (outcome, courses) -> {
+            AdapterMetrics adapterMetrics = metrics.get(outcome.getPlatform());
+            if (adapterMetrics != null) {
+                adapterMetrics.record(outcome);
+            }
+            if (listener != null) {
+                listener.platformDone(outcome, courses);
+            }
+        });
+    }
+
+    private List<Course> searchWithinLimit(PlatformAdapter adapter, String keyword) {
+        // Acquired on the worker thread, so a search cancelled while queued never holds a permit
+        Semaphore semaphore = permits.get(adapter.getPlatform());
+        if (!semaphore.tryAcquire()) {
+            metrics.get(adapter.getPlatform()).concurrencyRejections.incrementAndGet();
+            throw new RejectedExecutionException(adapter.getPlatform() + " is at its limit of "
+                + adapter.getBudget().getMaxConcurrency() + " concurrent searches");
+        }
+        try {
+            return adapter.search(keyword);
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        for (PlatformAdapter adapter : adapters) {
+            Map<String, Object> adapterStatistics = metrics.get(adapter.getPlatform()).toMap();
+            adapterStatistics.put("enabled", adapter.isEnabled());
+            adapterStatistics.put("timeBudgetMs", adapter.getBudget().getTimeBudgetMillis());
+            adapterStatistics.put("maxResults", adapter.getBudget().getMaxResults());
+            adapterStatistics.put("maxConcurrency", adapter.getBudget().getMaxConcurrency());
+            adapterStatistics.put("activeSearches", adapter.getBudget().getMaxConcurrency()
+                - permits.get(adapter.getPlatform()).availablePermits());
+            statistics.put(adapter.getPlatform(), adapterStatistics);
+        }
+        return statistics;
+    }
+
+    /**
+     * Counters for one adapter, updated from its fan-out outcomes
+     */
+    private static final class AdapterMetrics {
+        private final AtomicLong searches = new AtomicLong();
+        private final AtomicLong successes = new AtomicLong();
+        private final AtomicLong empty = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private final AtomicLong timeouts = new AtomicLong();
+        private final AtomicLong concurrencyRejections = new AtomicLong();
+        private final AtomicLong courses = new AtomicLong();
+        private final AtomicLong totalLatencyMillis = new AtomicLong();
+        private final AtomicLong maxLatencyMillis = new AtomicLong();
+        private volatile String lastError;
+
+        void record(PlatformFanOut.PlatformOutcome outcome) {
+            searches.incrementAndGet();
+            switch (outcome.getStatus()) {
+                case SUCCESS:
+                    successes.incrementAndGet();
+                    break;
+                case EMPTY:
+                    empty.incrementAndGet();
+                    break;
+                case TIMED_OUT:
+                    timeouts.incrementAndGet();
+                    break;
+                default:
+                    failures.incrementAndGet();
+                    lastError = outcome.getError();
+            }
+            courses.addAndGet(outcome.getCourses());
+            totalLatencyMillis.addAndGet(outcome.getElapsedMillis());
+            maxLatencyMillis.accumulateAndGet(outcome.getElapsedMillis(), Math::max);
+        }
+
+        Map<String, Object> toMap() {
+            long count = searches.get();
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("searches", count);
+            map.put("successes", successes.get());
+            map.put("empty", empty.get());
+            map.put("failures", failures.get());
+            map.put("timeouts", timeouts.get());
+            map.put("concurrencyRejections", concurrencyRejections.get());
+            map.put("courses", courses.get());
+            map.put("coursesPerSearch", count == 0 ? 0.0 : (double) courses.get() / count);
+            map.put("avgLatencyMs", count == 0 ? 0 : totalLatencyMillis.get() / count);
+            map.put("maxLatencyMs", maxLatencyMillis.get());
+            map.put("lastError", lastError);
+            return map;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.coursecomparison.service;
+
+import com.coursecomparison.model.Course;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Runs one search per platform concurrently under a shared deadline.
+ * Results are collected in completion order; whatever has completed when the deadline passes is
+ * returned, and platforms still running are cancelled and reported as timed out, so a slow
+ * platform no longer delays the others.
+ */
+@Component
+public class PlatformFanOut {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlatformFanOut.class);
+
+    public enum Status {
+        SUCCESS, EMPTY, FAILED, TIMED_OUT, REJECTED
+    }
+
+    @Autowired
+    @Qualifier("liveSearchExecutor")
+    private ThreadPoolTaskExecutor liveSearchExecutor;
+
+    /**
+     * Called on the fanning-out thread as each platform search ends, in completion order
+     */
+    @FunctionalInterface
+    public interface PlatformListener {
+        void platformDone(PlatformOutcome outcome, List<Course> courses);
+    }
+
+    /**
+     * Run every platform search and wait until all finish or {@code deadlineMillis} (epoch millis) passes
+     */
+    public FanOutResult search(String stage, Map<String, Callable<List<Course>>> platformSearches, long deadlineMillis) {
+        return search(stage, platformSearches, deadlineMillis, null);
+    }
+
+    /**
+     * As {@link #search(String, Map, long)}, handing each platform's result to {@code listener}
+     * (may be null) as soon as it is available instead of after the slowest platform
+     */
+    public FanOutResult search(String stage, Map<String, Callable<List<Course>>> platformSearches, long deadlineMillis,
+                               PlatformListener listener) {
+        return search(stage, platformSearches, deadlineMillis, Collections.emptyMap(), listener);
+    }
+
+    /**
+     * As {@link #search(String, Map, long, PlatformListener)}, with earlier deadlines (epoch millis)
+     * for some platforms; a platform past its own deadline is cancelled and reported as timed out
+     * while the others keep running
+     */
+    public FanOutResult search(String stage, Map<String, Callable<List<Course>>> platformSearches, long deadlineMillis,
+                               Map<String, Long> platformDeadlines, PlatformListener listener) {
+        long start = System.currentTimeMillis();
+        Map<String, Future<List<Course>>> futures = new LinkedHashMap<>();
+        BlockingQueue<String> finished = new LinkedBlockingQueue<>();
+        List<PlatformOutcome> outcomes = new ArrayList<>();
+        List<Course> courses = new ArrayList<>();
+
+        for (Map.Entry<String, Callable<List<Course>>> search : platformSearches.entrySet()) {
+            String platform = search.getKey();
+            Callable<List<Course>> task = search.getValue();
+            try {
+                futures.put(platform, liveSearchExecutor.submit(() -> {
+                    try {
+                        return task.call();
+                    } finally {
+                        finished.add(platform);
+                    }
+                }));
+            } catch (RejectedExecutionException e) {
+                report(outcomes, listener, new PlatformOutcome(platform, stage, Status.REJECTED, 0, 0,
+                    "Live search executor is saturated"), Collections.emptyList());
+            }
+        }
+
+        Set<String> pending = new LinkedHashSet<>(futures.keySet());
+        while (!pending.isEmpty()) {
+            long now = System.currentTimeMillis();
+            if (now >= deadlineMillis) {
+                break;
+            }
+            long wakeAt = deadlineMillis;
+            for (Iterator<String> it = pending.iterator(); it.hasNext(); ) {
+                String platform = it.next();
+                long platformDeadline = platformDeadlines.getOrDefault(platform, deadlineMillis);
+                if (platformDeadline <= now) {
+                    it.remove();
+                    futures.get(platform).cancel(true);
+                    report(outcomes, listener, new PlatformOutcome(platform, stage, Status.TIMED_OUT, 0, now - start,
+                        "No result within the platform's time budget"), Collections.emptyList());
+                } else {
+                    wakeAt = Math.min(wakeAt, platformDeadline);
+                }
+            }
+            if (pending.isEmpty()) {
+                break;
+            }
+            String platform;
+            try {
+                platform = finished.poll(wakeAt - now, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            // Nothing finished: a platform budget or the overall deadline has passed. A platform already
+            // given up on can still show up here once its cancelled task ends.
+            if (platform == null || !pending.remove(platform)) {
+                continue;
+            }
+            Future<List<Course>> future = futures.get(platform);
+            try {
+                List<Course> result = future.get();
+                if (result == null) {
+                    result = Collections.emptyList();
+                }
+                courses.addAll(result);
+                report(outcomes, listener, new PlatformOutcome(platform, stage, result.isEmpty() ? Status.EMPTY : Status.SUCCESS,
+                    result.size(), System.currentTimeMillis() - start, null), result);
+            } catch (ExecutionException e) {
+                report(outcomes, listener, new PlatformOutcome(platform, stage, Status.FAILED, 0, System.currentTimeMillis() - start,
+                    e.getCause() != null ? e.getCause().getMessage() : e.getMessage()), Collections.emptyList());
+            } catch (InterruptedException | CancellationException e) {
+                report(outcomes, listener, new PlatformOutcome(platform, stage, Status.FAILED, 0, System.currentTimeMillis() - start,
+                    "Interrupted"), Collections.emptyList());
+            }
+        }
+
+        // Whatever is still running missed the deadline (or this thread was interrupted)
+        boolean interrupted = Thread.currentThread().isInterrupted();
+        for (String platform : pending) {
+            futures.get(platform).cancel(true);
+            report(outcomes, listener, new PlatformOutcome(platform, stage, interrupted ? Status.FAILED : Status.TIMED_OUT, 0,
+                System.currentTimeMillis() - start, interrupted ? "Interrupted" : "No result before the search deadline"),
+                Collections.emptyList());
+        }
+
+        long elapsed = System.currentTimeMillis() - start;
+        logger.info("{} fan-out over {} platforms finished in {} ms: {}", stage, platformSearches.size(), elapsed, outcomes);
+        return new FanOutResult(courses, outcomes);
+    }
+
+    private static void report(List<PlatformOutcome> outcomes, PlatformListener listener,
+                               PlatformOutcome outcome, List<Course> courses) {
+        outcomes.add(outcome);
+        if (listener == null) {
+            return;
+        }
+        try {
+            listener.platformDone(outcome, courses);
+        } catch (RuntimeException e) {
+            logger.warn("Platform listener failed for {}: {}", outcome.getPlatform(), e.getMessage());
+        }
+    }
+
+    /**
+     * How one platform search ended; {@code elapsedMillis} is measured from the start of the fan-out
+     */
+    public static class PlatformOutcome {
+        private final String platform;
+        private final String stage;
+        private final Status status;
+        private final int courses;
+        private final long elapsedMillis;
+        private final String error;
+
+        public PlatformOutcome(String platform, String stage, Status status, int courses, long elapsedMillis, String error) {
+            this.platform = platform;
+            this.stage = stage;
+            this.status = status;
+            this.courses = courses;
+            this.elapsedMillis = elapsedMillis;
+            this.error = error;
+        }
+
+        public String getPlatform() {
+            return platform;
+        }
+
+        public String getStage() {
+            return stage;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public int getCourses() {
+            return courses;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        @Override
+        public String toString() {
+            return platform + "=" + status + "(" + courses + ", " + elapsedMillis + " ms)";
+        }
+    }
+
+    /**
+     * Courses gathered by a live search together with the outcome of every platform it asked
+     */
+    public static class FanOutResult {
+        private final List<Course> courses;
+        private final List<PlatformOutcome> outcomes;
+
+        public FanOutResult(List<Course> courses, List<PlatformOutcome> outcomes) {
+            this.courses = courses;
+            this.outcomes = outcomes;
+        }
+
+        public static FanOutResult empty() {
+            return new FanOutResult(new ArrayList<>(), new ArrayList<>());
+        }
+
+        public List<Course> getCourses() {
+            return courses;
+        }
+
+        public List<PlatformOutcome> getOutcomes() {
+            return outcomes;
+        }
+
+        public FanOutResult withCourses(List<Course> replacement) {
+            return new FanOutResult(replacement, outcomes);
+        }
+    }
+}
@@ -0,0 +1,450 @@
+package com.coursecomparison.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-platform protection for outbound calls: a circuit breaker, an AIMD concurrency limit and a
+ * retry budget. A platform is identified by its registrable domain (api.coursera.org and
+ * www.coursera.org are both "coursera.org"), so every adapter talking to it shares one state.
+ * While a breaker is open, calls fail immediately instead of waiting for a connect or read timeout.
+ */
+@Component
+public class PlatformResilience {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlatformResilience.class);
+
+    // CircuitBreaker.tryAcquire results other than a probe's half-open round
+    private static final long NOT_ADMITTED = -1;
+    private static final long NO_PROBE = 0;
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    @Value("${resilience.breaker.window-size:20}")
+    private int windowSize;
+
+    @Value("${resilience.breaker.minimum-calls:6}")
+    private int minimumCalls;
+
+    @Value("${resilience.breaker.failure-rate-threshold:0.5}")
+    private double failureRateThreshold;
+
+    @Value("${resilience.breaker.slow-call-rate-threshold:0.8}")
+    private double slowCallRateThreshold;
+
+    @Value("${resilience.breaker.slow-call-ms:4000}")
+    private long slowCallMs;
+
+    @Value("${resilience.breaker.open-ms:30000}")
+    private long openMs;
+
+    @Value("${resilience.breaker.max-open-ms:300000}")
+    private long maxOpenMs;
+
+    @Value("${resilience.breaker.half-open-probes:2}")
+    private int halfOpenProbes;
+
+    @Value("${resilience.limit.initial:8}")
+    private int initialLimit;
+
+    @Value("${resilience.limit.max:32}")
+    private int maxLimit;
+
+    @Value("${resilience.retry.max-attempts:2}")
+    private int maxRetries;
+
+    @Value("${resilience.retry.budget-ratio:0.2}")
+    private double retryBudgetRatio;
+
+    @Value("${resilience.retry.backoff-base-ms:100}")
+    private long backoffBaseMs;
+
+    @Value("${resilience.retry.backoff-max-ms:1000}")
+    private long backoffMaxMs;
+
+    private final Map<String, PlatformState> platforms = new ConcurrentHashMap<>();
+
+    /**
+     * Admit one call to the host's platform, or fail fast when its breaker is open or its
+     * concurrency limit is reached. The returned permit must be completed exactly once.
+     */
+    public Permit acquire(String host) throws IOException {
+        PlatformState platform = stateFor(host);
+        long now = System.currentTimeMillis();
+        long probeRound = platform.breaker.tryAcquire(now);
+        if (probeRound == NOT_ADMITTED) {
+            platform.shortCircuited.increment();
+            throw new IOException("Circuit open for " + platform.name + ", retry after "
+                + Math.max(0, platform.breaker.openUntil - now) + " ms");
+        }
+        if (!platform.limit.tryAcquire()) {
+            platform.breaker.releaseProbe(probeRound);
+            platform.limited.increment();
+            throw new IOException("Concurrency limit " + platform.limit.getLimit() + " reached for " + platform.name);
+        }
+        return new Permit(platform, System.nanoTime(), probeRound);
+    }
+
+    /**
+     * Fail fast when the host's platform is known to be down, without taking a permit; lets callers
+     * skip queueing for a rate-limit slot they could not use
+     */
+    public void checkAvailable(String host) throws IOException {
+        PlatformState platform = stateFor(host);
+        if (platform.breaker.getState() == State.OPEN) {
+            platform.shortCircuited.increment();
+            throw new IOException("Circuit open for " + platform.name);
+        }
+    }
+
+    /**
+     * Whether a failed call may be retried: within the attempt cap and the platform's retry budget
+     */
+    public boolean tryRetry(String host, int attempt) {
+        if (attempt >= maxRetries) {
+            return false;
+        }
+        PlatformState platform = stateFor(host);
+        if (platform.breaker.getState() != State.CLOSED || !platform.retryBudget.tryWithdraw()) {
+            return false;
+        }
+        platform.retries.increment();
+        return true;
+    }
+
+    /**
+     * Full-jitter exponential backoff before retry {@code attempt} (0-based)
+     */
+    public long backoffMillis(int attempt) {
+        long ceiling = Math.min(backoffMaxMs, backoffBaseMs << Math.min(attempt, 16));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    public State getState(String host) {
+        return stateFor(host).breaker.getState();
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new TreeMap<>();
+        platforms.forEach((name, platform) -> statistics.put(name, platform.snapshot()));
+        return statistics;
+    }
+
+    /**
+     * Platform key for a host: its last two labels
+     */
+    static String platformOf(String host) {
+        if (host == null || host.isEmpty()) {
+            return "unknown";
+        }
+        String normalized = host.toLowerCase(Locale.ROOT);
+        int last = normalized.lastIndexOf('.');
+        int previous = last > 0 ? normalized.lastIndexOf('.', last - 1) : -1;
+        return previous >= 0 ? normalized.substring(previous + 1) : normalized;
+    }
+
+    private PlatformState stateFor(String host) {
+        return platforms.computeIfAbsent(platformOf(host), PlatformState::new);
+    }
+
+    /**
+     * One admitted call; report how it ended with {@link #success}, {@link #failure} or {@link #ignore}.
+     * A call admitted as a half-open probe remembers which half-open round it belongs to.
+     */
+    public final class Permit {
+        private final PlatformState platform;
+        private final long startNanos;
+        private final long probeRound;
+        private boolean completed;
+
+        private Permit(PlatformState platform, long startNanos, long probeRound) {
+            this.platform = platform;
+            this.startNanos = startNanos;
+            this.probeRound = probeRound;
+        }
+
+        public boolean isProbe() {
+            return probeRound != NO_PROBE;
+        }
+
+        public void success() {
+            complete(true);
+        }
+
+        public void failure() {
+            complete(false);
+        }
+
+        /**
+         * Release without recording an outcome, e.g. when the caller cancelled the call
+         */
+        public void ignore() {
+            if (!completed) {
+                completed = true;
+                platform.breaker.releaseProbe(probeRound);
+                platform.limit.release();
+            }
+        }
+
+        private void complete(boolean succeeded) {
+            if (completed) {
+                return;
+            }
+            completed = true;
+            long elapsedMs = (System.nanoTime() - startNanos) / 1_000_000;
+            boolean slow = elapsedMs >= slowCallMs;
+            boolean recovered = platform.breaker.record(probeRound, succeeded, slow, System.currentTimeMillis());
+            platform.limit.release(succeeded && !slow);
+            if (recovered) {
+                platform.limit.reset(initialLimit);
+            }
+            platform.retryBudget.deposit();
+        }
+    }
+
+    private final class PlatformState {
+        final String name;
+        final CircuitBreaker breaker;
+        final AdaptiveLimit limit;
+        final RetryBudget retryBudget = new RetryBudget(retryBudgetRatio, Math.max(1, maxRetries) * 5.0);
+        final LongAdder shortCircuited = new LongAdder();
+        final LongAdder limited = new LongAdder();
+        final LongAdder retries = new LongAdder();
+
+        PlatformState(String name) {
+            this.name = name;
+            this.breaker = new CircuitBreaker(name);
+            this.limit = new AdaptiveLimit(initialLimit, maxLimit);
+        }
+
+        Map<String, Object> snapshot() {
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            snapshot.put("state", breaker.getState().name());
+            snapshot.putAll(breaker.rates());
+            snapshot.put("concurrencyLimit", limit.getLimit());
+            snapshot.put("inFlight", limit.getInFlight());
+            snapshot.put("shortCircuited", shortCircuited.sum());
+            snapshot.put("limited", limited.sum());
+            snapshot.put("retries", retries.sum());
+            snapshot.put("retryBudget", Math.round(retryBudget.getBalance() * 100) / 100.0);
+            return snapshot;
+        }
+    }
+
+    /**
+     * Count-based breaker over the last {@code windowSize} calls. Opens on a high failure or slow-call
+     * rate, lets a few probes through after the open period, and doubles the open period each time
+     * a probe fails (up to {@code maxOpenMs}). Only probes of the current half-open round move the
+     * breaker out of HALF_OPEN; calls admitted earlier that finish late are not counted as probes.
+     */
+    private final class CircuitBreaker {
+        private final String name;
+        private final boolean[] failed = new boolean[windowSize];
+        private final boolean[] slow = new boolean[windowSize];
+        private int count;
+        private int next;
+        private int failures;
+        private int slowCalls;
+        private State state = State.CLOSED;
+        private volatile long openUntil;
+        private long currentOpenMs = openMs;
+        private int probesInFlight;
+        private int probeSuccesses;
+        private long probeRound = NO_PROBE;
+
+        CircuitBreaker(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Admit a call: the half-open round it probes, {@code NO_PROBE} for a call while closed,
+         * or {@code NOT_ADMITTED}
+         */
+        synchronized long tryAcquire(long now) {
+            if (state == State.OPEN) {
+                if (now < openUntil) {
+                    return NOT_ADMITTED;
+                }
+                state = State.HALF_OPEN;
+                probesInFlight = 0;
+                probeSuccesses = 0;
+                probeRound++;
+                logger.info("Circuit for {} half-open, probing", name);
+            }
+            if (state == State.HALF_OPEN) {
+                if (probesInFlight + probeSuccesses >= halfOpenProbes) {
+                    return NOT_ADMITTED;
+                }
+                probesInFlight++;
+                return probeRound;
+            }
+            return NO_PROBE;
+        }
+
+        synchronized void releaseProbe(long round) {
+            if (isCurrentProbe(round) && probesInFlight > 0) {
+                probesInFlight--;
+            }
+        }
+
+        private boolean isCurrentProbe(long round) {
+            return round != NO_PROBE && state == State.HALF_OPEN && round == probeRound;
+        }
+
+        /**
+         * Record a completed call; true when it was the probe that closed the circuit again
+         */
+        synchronized boolean record(long round, boolean succeeded, boolean slowCall, long now) {
+            if (isCurrentProbe(round)) {
+                probesInFlight = Math.max(0, probesInFlight - 1);
+                if (!succeeded || slowCall) {
+                    currentOpenMs = Math.min(maxOpenMs, currentOpenMs * 2);
+                    open(now);
+                } else if (++probeSuccesses >= halfOpenProbes) {
+                    state = State.CLOSED;
+                    currentOpenMs = openMs;
+                    reset();
+                    logger.info("Circuit for {} closed", name);
+                    return true;
+                }
+                return false;
+            }
+            if (state != State.CLOSED) {
+                // Admitted before the circuit opened, or a probe of an earlier round: no say in recovery
+                return false;
+            }
+
+            if (count == failed.length) {
+                failures -= failed[next] ? 1 : 0;
+                slowCalls -= slow[next] ? 1 : 0;
+            } else {
+                count++;
+            }
+            failed[next] = !succeeded;
+            slow[next] = slowCall;
+            failures += succeeded ? 0 : 1;
+            slowCalls += slowCall ? 1 : 0;
+            next = (next + 1) % failed.length;
+
+            if (count >= minimumCalls
+                    && (failures >= failureRateThreshold * count || slowCalls >= slowCallRateThreshold * count)) {
+                open(now);
+            }
+            return false;
+        }
+
+        synchronized State getState() {
+            return state == State.OPEN && System.currentTimeMillis() >= openUntil ? State.HALF_OPEN : state;
+        }
+
+        synchronized Map<String, Object> rates() {
+            Map<String, Object> rates = new LinkedHashMap<>();
+            rates.put("failureRate", count > 0 ? Math.round(100.0 * failures / count) / 100.0 : 0.0);
+            rates.put("slowCallRate", count > 0 ? Math.round(100.0 * slowCalls / count) / 100.0 : 0.0);
+            rates.put("windowCalls", count);
+            return rates;
+        }
+
+        private void open(long now) {
+            state = State.OPEN;
+            openUntil = now + currentOpenMs;
+            reset();
+            logger.warn("Circuit for {} opened for {} ms", name, currentOpenMs);
+        }
+
+        private void reset() {
+            Arrays.fill(failed, false);
+            Arrays.fill(slow, false);
+            count = 0;
+            next = 0;
+            failures = 0;
+            slowCalls = 0;
+        }
+    }
+
+    /**
+     * Additive-increase / multiplicative-decrease limit on concurrent calls: grows by one per
+     * limit's worth of fast successes, halves on a failure or slow call
+     */
+    private static final class AdaptiveLimit {
+        private final int max;
+        private double limit;
+        private int inFlight;
+
+        AdaptiveLimit(int initial, int max) {
+            this.max = Math.max(1, max);
+            this.limit = Math.min(this.max, Math.max(1, initial));
+        }
+
+        synchronized boolean tryAcquire() {
+            if (inFlight >= (int) limit) {
+                return false;
+            }
+            inFlight++;
+            return true;
+        }
+
+        synchronized void release(boolean healthy) {
+            inFlight = Math.max(0, inFlight - 1);
+            limit = healthy ? Math.min(max, limit + 1.0 / limit) : Math.max(1.0, limit / 2);
+        }
+
+        synchronized void release() {
+            inFlight = Math.max(0, inFlight - 1);
+        }
+
+        synchronized void reset(int initial) {
+            limit = Math.min(max, Math.max(1, initial));
+        }
+
+        synchronized int getLimit() {
+            return (int) limit;
+        }
+
+        synchronized int getInFlight() {
+            return inFlight;
+        }
+    }
+
+    /**
+     * Each completed call earns {@code ratio} of a retry, up to {@code cap}; a retry spends one,
+     * so retries stay a fixed fraction of traffic even when a platform fails every call
+     */
+    private static final class RetryBudget {
+        private final double ratio;
+        private final double cap;
+        private double balance;
+
+        RetryBudget(double ratio, double cap) {
+            this.ratio = ratio;
+            this.cap = cap;
+            this.balance = cap;
+        }
+
+        synchronized void deposit() {
+            balance = Math.min(cap, balance + ratio);
+        }
+
+        synchronized boolean tryWithdraw() {
+            if (balance < 1.0) {
+                return false;
+            }
+            balance -= 1.0;
+            return true;
+        }
+
+        synchronized double getBalance() {
+            return balance;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.coursecomparison.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Embedded HTTP server that stands in for the course platforms during load tests.
+ * Requests for {@code /<platform host>/<path>?<query>} are answered from {@link HttpFixtureStore}
+ * after a configurable latency, with injected server errors and 429 throttling at configurable
+ * rates. Point {@code http.stub.url} at it to route all outbound traffic here, or point single
+ * {@code api.*.url} properties at {@code http://localhost:<port>/<host>/...}.
+ * HEAD requests (URL checks) succeed without a fixture so live courses are not rejected as dead.
+ */
+@Component
+public class PlatformStubServer {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlatformStubServer.class);
+
+    @Autowired
+    private HttpFixtureStore httpFixtureStore;
+
+    @Value("${stub.server.enabled:false}")
+    private boolean enabled;
+
+    @Value("${stub.server.port:8089}")
+    private int port;
+
+    @Value("${stub.server.threads:32}")
+    private int threads;
+
+    @Value("${stub.server.latency-ms:100}")
+    private long latencyMs;
+
+    @Value("${stub.server.latency-jitter-ms:200}")
+    private long latencyJitterMs;
+
+    @Value("${stub.server.error-rate:0.0}")
+    private double errorRate;
+
+    @Value("${stub.server.throttle-rate:0.0}")
+    private double throttleRate;
+
+    @Value("${stub.server.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder missing = new LongAdder();
+    private final LongAdder injectedErrors = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+            executor = Executors.newFixedThreadPool(threads);
+            server.setExecutor(executor);
+            server.createContext("/", this::handle);
+            server.start();
+            logger.info("Platform stub server listening on port {} ({} ms + up to {} ms latency, {} errors, {} throttled)",
+                       port, latencyMs, latencyJitterMs, errorRate, throttleRate);
+        } catch (IOException e) {
+            logger.error("Could not start platform stub server on port {}: {}", port, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.increment();
+        try (exchange) {
+            sleep(latencyMs + (latencyJitterMs > 0 ? ThreadLocalRandom.current().nextLong(latencyJitterMs + 1) : 0));
+
+            double roll = ThreadLocalRandom.current().nextDouble();
+            if (roll < throttleRate) {
+                throttled.increment();
+                exchange.getResponseHeaders().set("Retry-After", String.valueOf(retryAfterSeconds));
+                exchange.sendResponseHeaders(429, -1);
+                return;
+            }
+            if (roll < throttleRate + errorRate) {
+                injectedErrors.increment();
+                exchange.sendResponseHeaders(ThreadLocalRandom.current().nextBoolean() ? 500 : 503, -1);
+                return;
+            }
+
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+
+            // First path segment is the platform host, the rest is the platform's own path
+            URI uri = exchange.getRequestURI();
+            String path = uri.getRawPath();
+            int slash = path.indexOf('/', 1);
+            String host = slash < 0 ? path.substring(1) : path.substring(1, slash);
+            String platformPath = slash < 0 ? "/" : path.substring(slash);
+            Optional<HttpFixtureStore.Fixture> fixture = host.isEmpty()
+                ? Optional.empty()
+                : httpFixtureStore.find(host, platformPath, uri.getRawQuery());
+            if (fixture.isEmpty()) {
+                missing.increment();
+                logger.debug("No fixture for {}", uri);
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            replayed.increment();
+            byte[] body = fixture.get().getBody();
+            if (fixture.get().getContentType() != null) {
+                exchange.getResponseHeaders().set("Content-Type", fixture.get().getContentType());
+            }
+            exchange.sendResponseHeaders(fixture.get().getStatus(), body.length == 0 ? -1 : body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new HashMap<>();
+        statistics.put("running", server != null);
+        statistics.put("port", port);
+        statistics.put("requests", requests.sum());
+        statistics.put("replayed", replayed.sum());
+        statistics.put("missing", missing.sum());
+        statistics.put("injectedErrors", injectedErrors.sum());
+        statistics.put("throttled", throttled.sum());
+        return statistics;
+    }
+}
@@ -0,0 +1,188 @@
+package com.coursecomparison.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Central admission for outbound requests: one token bucket per host, shared by user searches and
+ * scheduled refreshes. Waiting requests queue in two lanes; a token always goes to the oldest
+ * interactive request first, and background requests only take tokens while the bucket holds more
+ * than a reserve kept for interactive traffic. A request that cannot get a token before its
+ * deadline fails at once instead of queueing past it.
+ */
+@Component
+public class PolitenessScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(PolitenessScheduler.class);
+
+    @Value("${politeness.default.requests-per-second:2}")
+    private double defaultRate;
+
+    @Value("${politeness.default.burst:4}")
+    private double defaultBurst;
+
+    @Value("${politeness.host-rates:}")
+    private String hostRates;
+
+    @Value("${politeness.background.reserve:1}")
+    private double backgroundReserve;
+
+    @Value("${politeness.interactive.max-wait-ms:3000}")
+    private long interactiveMaxWaitMs;
+
+    @Value("${politeness.background.max-wait-ms:60000}")
+    private long backgroundMaxWaitMs;
+
+    private final Map<String, Double> rateOverrides = new HashMap<>();
+    private final Map<String, HostBucket> buckets = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        // host:rate pairs, e.g. "api.coursera.org:5,www.udemy.com:1"
+        for (String entry : hostRates.split(",")) {
+            int colon = entry.lastIndexOf(':');
+            if (colon <= 0) {
+                continue;
+            }
+            try {
+                rateOverrides.put(entry.substring(0, colon).trim().toLowerCase(Locale.ROOT),
+                                  Double.parseDouble(entry.substring(colon + 1).trim()));
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring invalid politeness rate '{}'", entry);
+            }
+        }
+    }
+
+    /**
+     * Wait for a token for {@code host} in the current thread's {@link FetchPriority} lane.
+     * Interactive requests wait at most until {@code callDeadlineMillis} (and the interactive cap);
+     * background requests may wait up to the background cap. Returns the time spent queueing.
+     */
+    public long acquire(String host, long callDeadlineMillis) throws IOException {
+        FetchPriority priority = FetchPriority.current();
+        long now = System.currentTimeMillis();
+        long deadline = priority == FetchPriority.INTERACTIVE
+            ? Math.min(callDeadlineMillis, now + interactiveMaxWaitMs)
+            : now + backgroundMaxWaitMs;
+        HostBucket bucket = bucketFor(host);
+        try {
+            return bucket.acquire(priority, deadline);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted waiting for a request slot to " + host, e);
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new TreeMap<>();
+        buckets.forEach((host, bucket) -> statistics.put(host, bucket.snapshot()));
+        return statistics;
+    }
+
+    private HostBucket bucketFor(String host) {
+        String key = host != null ? host.toLowerCase(Locale.ROOT) : "unknown";
+        return buckets.computeIfAbsent(key, name -> {
+            double rate = rateOverrides.getOrDefault(name, defaultRate);
+            return new HostBucket(name, rate, Math.max(1.0, defaultBurst));
+        });
+    }
+
+    private final class HostBucket {
+        private final String host;
+        private final double tokensPerMilli;
+        private final double burst;
+        private final Deque<Object> interactive = new ArrayDeque<>();
+        private final Deque<Object> background = new ArrayDeque<>();
+        private double tokens;
+        private long lastRefillNanos = System.nanoTime();
+        private final LongAdder[] granted = {new LongAdder(), new LongAdder()};
+        private final LongAdder[] rejected = {new LongAdder(), new LongAdder()};
+        private final LongAdder[] waitedMillis = {new LongAdder(), new LongAdder()};
+
+        HostBucket(String host, double requestsPerSecond, double burst) {
+            this.host = host;
+            this.tokensPerMilli = Math.max(0.001, requestsPerSecond) / 1000.0;
+            this.burst = burst;
+            this.tokens = burst;
+        }
+
+        synchronized long acquire(FetchPriority priority, long deadlineMillis) throws IOException, InterruptedException {
+            int lane = priority.ordinal();
+            Deque<Object> queue = priority == FetchPriority.INTERACTIVE ? interactive : background;
+            double needed = priority == FetchPriority.INTERACTIVE ? 1.0 : 1.0 + backgroundReserve;
+            long start = System.currentTimeMillis();
+
+            // Tokens owed to everyone queued ahead in this lane (and, for background, the interactive lane)
+            refill();
+            int ahead = queue.size() + (priority == FetchPriority.BACKGROUND ? interactive.size() : 0);
+            long expectedWait = millisUntil(ahead + needed);
+            if (start + expectedWait > deadlineMillis) {
+                rejected[lane].increment();
+                throw new IOException("Rate limit for " + host + ": expected wait " + expectedWait
+                    + " ms exceeds the request deadline");
+            }
+
+            Object ticket = new Object();
+            queue.addLast(ticket);
+            try {
+                while (true) {
+                    refill();
+                    boolean first = queue.peekFirst() == ticket
+                        && (priority == FetchPriority.INTERACTIVE || interactive.isEmpty());
+                    if (first && tokens >= needed) {
+                        tokens -= 1.0;
+                        long waited = System.currentTimeMillis() - start;
+                        granted[lane].increment();
+                        waitedMillis[lane].add(waited);
+                        return waited;
+                    }
+                    long remaining = deadlineMillis - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        rejected[lane].increment();
+                        throw new IOException("Rate limit for " + host + ": no request slot before the deadline");
+                    }
+                    wait(Math.max(1, Math.min(remaining, first ? millisUntil(needed) : remaining)));
+                }
+            } finally {
+                queue.remove(ticket);
+                notifyAll();
+            }
+        }
+
+        private void refill() {
+            long now = System.nanoTime();
+            tokens = Math.min(burst, tokens + (now - lastRefillNanos) / 1_000_000.0 * tokensPerMilli);
+            lastRefillNanos = now;
+        }
+
+        private long millisUntil(double level) {
+            return tokens >= level ? 0 : (long) Math.ceil((level - tokens) / tokensPerMilli);
+        }
+
+        synchronized Map<String, Object> snapshot() {
+            refill();
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            snapshot.put("requestsPerSecond", tokensPerMilli * 1000.0);
+            snapshot.put("tokens", Math.round(tokens * 100) / 100.0);
+            snapshot.put("queuedInteractive", interactive.size());
+            snapshot.put("queuedBackground", background.size());
+            for (FetchPriority priority : FetchPriority.values()) {
+                int lane = priority.ordinal();
+                long count = granted[lane].sum();
+                String name = priority.name().toLowerCase(Locale.ROOT);
+                snapshot.put(name + "Granted", count);
+                snapshot.put(name + "Rejected", rejected[lane].sum());
+                snapshot.put(name + "AvgWaitMs", count > 0 ? waitedMillis[lane].sum() / count : 0);
+            }
+            return snapshot;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.coursecomparison.service;
+
+import com.coursecomparison.model.Course;
+import com.coursecomparison.repository.CourseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Keyword search delivered as a sequence of events instead of one response.
+ * Local database hits are sent first, then each platform's valid, ranked courses as that
+ * platform finishes, each followed by a re-ranking of everything sent so far, so the first
+ * results arrive after a database query rather than after the slowest platform.
+ * Events: {@code local}, {@code platform}, {@code ranking}, then {@code done} with any courses
+ * not yet sent (such as fallbacks) and every platform's outcome. Keywords with recent live data
+ * skip the platforms, as in {@link LiveDataFreshnessService}.
+ */
+@Service
+public class ProgressiveSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProgressiveSearchService.class);
+    private static final int LOCAL_LIMIT = 100;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private LiveDataFreshnessService liveDataFreshnessService;
+
+    @Autowired
+    private CourseValidationService courseValidationService;
+
+    @Autowired
+    private HybridRanker hybridRanker;
+
+    /**
+     * Receives the events of one search; an IOException means the client went away
+     */
+    public interface EventSink {
+        void send(String event, Object data) throws IOException;
+
+        void complete();
+    }
+
+    /**
+     * Run the search, sending events to {@code sink} and completing it at the end
+     */
+    @Async("taskExecutor")
+    public void stream(String keyword, EventSink sink) {
+        Search search = new Search(keyword.trim(), sink);
+        try {
+            search.run();
+        } catch (Exception e) {
+            logger.error("Error streaming search for '{}': {}", keyword, e.getMessage());
+            search.send("error", Map.of("message", "Search failed"));
+        } finally {
+            sink.complete();
+        }
+    }
+
+    /**
+     * State of one streamed search. Platform batches arrive one at a time, on the streaming thread
+     * or, when the search joined an identical running one, on that search's thread; the shared
+     * result is only read after the last batch.
+     */
+    private final class Search {
+        private final String keyword;
+        private final EventSink sink;
+        private final long start = System.currentTimeMillis();
+        private final Map<String, Course> results = new LinkedHashMap<>();
+        private boolean open = true;
+
+        Search(String keyword, EventSink sink) {
+            this.keyword = keyword;
+            this.sink = sink;
+        }
+
+        void run() {
+            List<Course> local = accept(courseRepository.searchCourses(keyword, PageRequest.of(0, LOCAL_LIMIT)).getContent());
+            Map<String, Object> localEvent = new HashMap<>();
+            localEvent.put("elapsedMs", elapsed());
+            localEvent.put("courses", entries(rank(local)));
+            send("local", localEvent);
+
+            // Keywords fetched recently finish here with no platform events
+            PlatformFanOut.FanOutResult live = liveDataFreshnessService.liveResults(keyword, !local.isEmpty(), (outcome, courses) -> {
+                List<Course> batch = accept(courses);
+                Map<String, Object> platformEvent = new HashMap<>();
+                platformEvent.put("outcome", outcome);
+                platformEvent.put("elapsedMs", elapsed());
+                platformEvent.put("courses", entries(rank(batch)));
+                send("platform", platformEvent);
+                if (!batch.isEmpty()) {
+                    sendRanking();
+                }
+            });
+
+            // Courses that reached the result without a platform event, such as curated fallbacks
+            List<Course> remaining = accept(live.getCourses());
+            Map<String, Object> doneEvent = new HashMap<>();
+            doneEvent.put("elapsedMs", elapsed());
+            doneEvent.put("courses", entries(remaining));
+            doneEvent.put("total", results.size());
+            doneEvent.put("platforms", live.getOutcomes());
+            send("done", doneEvent);
+            logger.info("Streamed {} results for '{}' in {} ms", results.size(), keyword, elapsed());
+        }
+
+        /**
+         * Keep valid, trusted courses not sent before, and remember them
+         */
+        private List<Course> accept(List<Course> courses) {
+            List<Course> accepted = new ArrayList<>();
+            for (Course course : courses) {
+                if (!courseValidationService.validateCourseData(course) || !courseValidationService.isFromTrustedPlatform(course)) {
+                    continue;
+                }
+                String key = keyOf(course);
+                if (results.putIfAbsent(key, course) == null) {
+                    accepted.add(course);
+                }
+            }
+            return accepted;
+        }
+
+        private void sendRanking() {
+            List<String> order = rank(new ArrayList<>(results.values())).stream()
+                .map(ProgressiveSearchService::keyOf)
+                .collect(Collectors.toList());
+            Map<String, Object> rankingEvent = new HashMap<>();
+            rankingEvent.put("elapsedMs", elapsed());
+            rankingEvent.put("order", order);
+            send("ranking", rankingEvent);
+        }
+
+        private List<Course> rank(List<Course> courses) {
+            try {
+                return hybridRanker.rank(courses, keyword, null, courses.size(), null);
+            } catch (Exception e) {
+                logger.debug("Could not rank streamed batch: {}", e.getMessage());
+                return courses;
+            }
+        }
+
+        void send(String event, Object data) {
+            if (!open) {
+                return;
+            }
+            try {
+                sink.send(event, data);
+            } catch (IOException | IllegalStateException e) {
+                // Client disconnected; the live search still finishes and persists its results
+                open = false;
+                logger.debug("Search stream for '{}' closed: {}", keyword, e.getMessage());
+            }
+        }
+
+        private long elapsed() {
+            return System.currentTimeMillis() - start;
+        }
+    }
+
+    private static List<Map<String, Object>> entries(List<Course> courses) {
+        List<Map<String, Object>> entries = new ArrayList<>(courses.size());
+        for (Course course : courses) {
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("key", keyOf(course));
+            entry.put("course", course);
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    /**
+     * Stable client-side identity of a result: canonical URL, else id, else platform and title
+     */
+    private static String keyOf(Course course) {
+        String key = CourseUrlNormalizer.canonicalKey(course.getUrl());
+        if (key != null) {
+            return key;
+        }
+        return course.getId() != null ? "id:" + course.getId() : course.getPlatform() + "|" + course.getTitle();
+    }
+}
@@ -0,0 +1,247 @@
+package com.coursecomparison.service;
+
+import com.coursecomparison.model.Course;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds fully ranked result sets under short-lived snapshot ids so that cursor pagination
+ * can serve any page by slicing instead of re-querying and re-ranking.
+ * Snapshots are ordered by (score DESC, id ASC) and cursors carry the last (score, id) seen,
+ * so a page request is a binary search plus a sublist.
+ * Each snapshot belongs to one scope (the query's filters and the user it was ranked for), and
+ * cursors carry a hash of that scope so they cannot be replayed against another query or user.
+ */
+@Component
+public class RankedCursorStore {
+
+    @Value("${pagination.cursor.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    @Value("${pagination.cursor.max-snapshots:1000}")
+    private long maxSnapshots;
+
+    private Cache<String, RankedSnapshot> snapshots;
+
+    @PostConstruct
+    public void init() {
+        snapshots = Caffeine.newBuilder()
+                .maximumSize(maxSnapshots)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * Freeze a ranked list into a snapshot for {@code scope}. Each score and id is read once,
+     * before sorting, so a score written to the entity afterwards cannot change the order or the cursors.
+     */
+    public RankedSnapshot store(List<Course> rankedCourses, String scope) {
+        List<Entry> entries = new ArrayList<>(rankedCourses.size());
+        for (Course course : rankedCourses) {
+            entries.add(new Entry(course, score(course), course.getId() != null ? course.getId() : Long.MAX_VALUE));
+        }
+        entries.sort(Comparator.comparingDouble((Entry entry) -> entry.score).reversed()
+            .thenComparingLong(entry -> entry.id));
+
+        List<Course> ordered = new ArrayList<>(entries.size());
+        double[] scores = new double[entries.size()];
+        long[] ids = new long[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            ordered.add(entries.get(i).course);
+            scores[i] = entries.get(i).score;
+            ids[i] = entries.get(i).id;
+        }
+
+        RankedSnapshot snapshot = new RankedSnapshot(UUID.randomUUID().toString(), scopeHash(scope), ordered, scores, ids);
+        snapshots.put(snapshot.id, snapshot);
+        return snapshot;
+    }
+
+    public Optional<RankedSnapshot> find(String snapshotId) {
+        return Optional.ofNullable(snapshots.getIfPresent(snapshotId));
+    }
+
+    private static double score(Course course) {
+        return course.getMcdmScore() != null ? course.getMcdmScore() : 0.0;
+    }
+
+    private static final class Entry {
+        final Course course;
+        final double score;
+        final long id;
+
+        Entry(Course course, double score, long id) {
+            this.course = course;
+            this.score = score;
+            this.id = id;
+        }
+    }
+
+    /**
+     * Short digest of a scope, safe to hand out in cursors
+     */
+    public static String scopeHash(String scope) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(scope.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 12));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public static String encodeCursor(String snapshotId, String scopeHash, double score, long id) {
+        String raw = snapshotId + "|" + scopeHash + "|" + score + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor token, or throw IllegalArgumentException for a malformed token
+     */
+    public static Cursor decodeCursor(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            return new Cursor(parts[0], parts[1], Double.parseDouble(parts[2]), Long.parseLong(parts[3]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+
+    public static class Cursor {
+        private final String snapshotId;
+        private final String scopeHash;
+        private final double score;
+        private final long id;
+
+        public Cursor(String snapshotId, String scopeHash, double score, long id) {
+            this.snapshotId = snapshotId;
+            this.scopeHash = scopeHash;
+            this.score = score;
+            this.id = id;
+        }
+
+        public String getSnapshotId() {
+            return snapshotId;
+        }
+
+        public String getScopeHash() {
+            return scopeHash;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        public long getId() {
+            return id;
+        }
+    }
+
+    /**
+     * Immutable ranked result set
+     */
+    public static class RankedSnapshot {
+        private final String id;
+        private final String scopeHash;
+        private final List<Course> courses;
+        private final double[] scores;
+        private final long[] ids;
+
+        RankedSnapshot(String id, String scopeHash, List<Course> courses, double[] scores, long[] ids) {
+            this.id = id;
+            this.scopeHash = scopeHash;
+            this.courses = Collections.unmodifiableList(courses);
+            this.scores = scores;
+            this.ids = ids;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getScopeHash() {
+            return scopeHash;
+        }
+
+        public int size() {
+            return courses.size();
+        }
+
+        /**
+         * Position of the first entry strictly after (score, id) in (score DESC, id ASC) order
+         */
+        public int positionAfter(double score, long courseId) {
+            int low = 0;
+            int high = courses.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                boolean afterCursor = scores[mid] < score || (scores[mid] == score && ids[mid] > courseId);
+                if (afterCursor) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+
+        public CursorPage page(int from, int size) {
+            int start = Math.min(Math.max(0, from), courses.size());
+            int end = Math.min(start + size, courses.size());
+            List<Course> content = courses.subList(start, end);
+            List<Double> pageScores = new ArrayList<>(end - start);
+            for (int i = start; i < end; i++) {
+                pageScores.add(scores[i]);
+            }
+            String nextCursor = end < courses.size() && end > start
+                ? encodeCursor(id, scopeHash, scores[end - 1], ids[end - 1]) : null;
+            return new CursorPage(new ArrayList<>(content), pageScores, courses.size(), nextCursor);
+        }
+    }
+
+    /**
+     * One page of a ranked snapshot; {@code scores} holds the snapshot scores for {@code courses}
+     */
+    public static class CursorPage {
+        private final List<Course> courses;
+        private final List<Double> scores;
+        private final int total;
+        private final String nextCursor;
+
+        public CursorPage(List<Course> courses, List<Double> scores, int total, String nextCursor) {
+            this.courses = courses;
+            this.scores = scores;
+            this.total = total;
+            this.nextCursor = nextCursor;
+        }
+
+        public List<Course> getCourses() {
+            return courses;
+        }
+
+        public List<Double> getScores() {
+            return scores;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public String getNextCursor() {
+            return nextCursor;
+        }
+
+        public boolean isHasMore() {
+            return nextCursor != null;
+        }
+    }
+}
@@ -172,7 +172,9 @@ public class ScheduledCourseUpdateService {
             logger.debug("Updating course: {}", course.getTitle());
             
             // Search for updated information
-            List<Course> updatedCourses = liveCourseService.searchLiveCourses(course.getTitle());
+            // Refreshes queue behind user searches for the same platform hosts
+            List<Course> updatedCourses = FetchPriority.runAs(FetchPriority.BACKGROUND,
+                () -> liveCourseService.searchLiveCourses(course.getTitle()));
             
             if (!updatedCourses.isEmpty()) {
                 Course updatedCourse = updatedCourses.get(0);
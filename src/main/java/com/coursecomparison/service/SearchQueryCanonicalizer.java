@@ -0,0 +1,126 @@
+package com.coursecomparison.service;
+
+import com.coursecomparison.model.User;
+
+import java.util.*;
+
+/**
+ * Canonical forms for search cache keys.
+ * Equivalent requests (keyword case and spacing, filter order, numeric and boolean spellings)
+ * map to the same {@link SearchKey}; the user's weight vector and interests are reduced to a
+ * fingerprint so that users with identical preferences share ranked results.
+ */
+public final class SearchQueryCanonicalizer {
+
+    private static final Set<String> NUMERIC_FILTERS = Set.of("minPrice", "maxPrice", "minRating");
+    private static final Set<String> BOOLEAN_FILTERS = Set.of("hasCertificate");
+
+    public static final String ANONYMOUS_FINGERPRINT = "default";
+
+    private SearchQueryCanonicalizer() {
+    }
+
+    public static SearchKey key(String keyword, Map<String, Object> filters) {
+        return new SearchKey(canonicalKeyword(keyword), canonicalFilters(filters));
+    }
+
+    /**
+     * Trimmed, case-folded keyword with internal whitespace collapsed; "" for no keyword
+     */
+    public static String canonicalKeyword(String keyword) {
+        if (keyword == null) {
+            return "";
+        }
+        return keyword.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    /**
+     * Filters sorted by name with values in parsed form; unset values are dropped
+     */
+    public static SortedMap<String, String> canonicalFilters(Map<String, Object> filters) {
+        SortedMap<String, String> canonical = new TreeMap<>();
+        if (filters == null) {
+            return canonical;
+        }
+        for (Map.Entry<String, Object> filter : filters.entrySet()) {
+            String value;
+            if (NUMERIC_FILTERS.contains(filter.getKey())) {
+                Double number = CourseCatalogIndex.toDouble(filter.getValue());
+                value = number != null ? number.toString() : null;
+            } else if (BOOLEAN_FILTERS.contains(filter.getKey())) {
+                Boolean flag = CourseCatalogIndex.toBoolean(filter.getValue());
+                value = flag != null ? flag.toString() : null;
+            } else {
+                value = CourseCatalogIndex.toText(filter.getValue());
+            }
+            if (value != null) {
+                canonical.put(filter.getKey(), value);
+            }
+        }
+        return canonical;
+    }
+
+    /**
+     * Everything about the user that changes the ranking: criteria weights and interests
+     */
+    public static String userFingerprint(User user) {
+        if (user == null) {
+            return ANONYMOUS_FINGERPRINT;
+        }
+        StringBuilder fingerprint = new StringBuilder("w");
+        if (user.getPersonalCriteriaWeights() != null) {
+            new TreeMap<>(user.getPersonalCriteriaWeights()).forEach((criterion, weight) ->
+                fingerprint.append('|').append(criterion).append('=')
+                    .append(weight != null ? String.format(Locale.ROOT, "%.4f", weight) : "null"));
+        }
+        fingerprint.append("|i");
+        if (user.getInterests() != null) {
+            user.getInterests().stream()
+                .filter(Objects::nonNull)
+                .map(interest -> interest.trim().toLowerCase(Locale.ROOT))
+                .sorted()
+                .distinct()
+                .forEach(interest -> fingerprint.append('|').append(interest));
+        }
+        return fingerprint.toString();
+    }
+
+    /**
+     * Canonical query: compared field by field, so distinct queries never collide
+     */
+    public static final class SearchKey {
+        private final String keyword;
+        private final SortedMap<String, String> filters;
+
+        SearchKey(String keyword, SortedMap<String, String> filters) {
+            this.keyword = keyword;
+            this.filters = Collections.unmodifiableSortedMap(filters);
+        }
+
+        public String getKeyword() {
+            return keyword;
+        }
+
+        public SortedMap<String, String> getFilters() {
+            return filters;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof SearchKey)) return false;
+            SearchKey other = (SearchKey) o;
+            return keyword.equals(other.keyword) && filters.equals(other.filters);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(keyword, filters);
+        }
+
+        @Override
+        public String toString() {
+            return "q=" + keyword + " f=" + filters;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.coursecomparison.service;
+
+import com.coursecomparison.model.Course;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Cost-based planner for filtered searches.
+ * Estimates predicate selectivity from the catalog index statistics (value counts, distinct
+ * counts and bucket histograms), then picks the cheaper of the SQL and in-memory filter paths.
+ * The keyword is always matched before ranking: scores are normalized over the candidate set,
+ * so the plan must not change which set that is.
+ */
+@Service
+public class SearchQueryPlanner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchQueryPlanner.class);
+
+    // Rough per-operation cost estimates in microseconds
+    private static final double DB_ROUND_TRIP_US = 2000.0;
+    private static final double DB_SCAN_ROW_US = 0.2;
+    private static final double HIBERNATE_ROW_US = 20.0;
+    private static final double INDEX_CONTAINER_OP_US = 2.0;
+    private static final double INDEX_ROW_US = 0.05;
+    private static final double STALE_INDEX_PENALTY_US = 5000.0;
+
+    private static final int KEYWORD_SAMPLE_SIZE = 64;
+
+    public enum FilterPath {
+        DATABASE, INDEX
+    }
+
+    public enum KeywordOrder {
+        NONE, KEYWORD_THEN_RANK
+    }
+
+    @Autowired
+    private CourseCatalogIndex courseCatalogIndex;
+
+    @Value("${planner.index.max-staleness-ms:600000}")
+    private long maxIndexStalenessMs;
+
+    /**
+     * Choose the filter path for the given filters from selectivity estimates
+     */
+    public QueryPlan plan(String keyword, Map<String, Object> filters) {
+        QueryPlan plan = new QueryPlan();
+        CourseCatalogIndex.CatalogStatistics statistics = courseCatalogIndex.getStatistics();
+
+        if (statistics == null) {
+            plan.filterPath = FilterPath.DATABASE;
+            plan.notes.add("Catalog index not built; using SQL filter path");
+            return plan;
+        }
+
+        int rows = statistics.getRowCount();
+        double selectivity = 1.0;
+        for (Map.Entry<String, Object> filter : filters.entrySet()) {
+            Double columnSelectivity = estimateSelectivity(statistics, filters, filter.getKey(), filter.getValue());
+            if (columnSelectivity != null) {
+                plan.selectivity.put(filter.getKey(), round(columnSelectivity));
+                selectivity *= columnSelectivity;
+            }
+        }
+
+        int predicates = plan.selectivity.size();
+        double estimatedRows = rows * selectivity;
+        plan.tableRows = rows;
+        plan.estimatedRows = (int) Math.ceil(estimatedRows);
+
+        // The all-nullable JPQL predicate cannot use the column indexes, so assume a full scan
+        plan.databaseCost = DB_ROUND_TRIP_US + rows * DB_SCAN_ROW_US + estimatedRows * HIBERNATE_ROW_US;
+
+        int containers = (rows >>> 16) + 1;
+        plan.indexCost = Math.max(1, predicates) * containers * INDEX_CONTAINER_OP_US + estimatedRows * INDEX_ROW_US;
+        long staleness = System.currentTimeMillis() - statistics.getBuiltAtMillis();
+        if (staleness > maxIndexStalenessMs) {
+            plan.indexCost += STALE_INDEX_PENALTY_US;
+            plan.notes.add("Index is " + (staleness / 1000) + " s old; stale penalty applied");
+        }
+
+        plan.filterPath = plan.indexCost <= plan.databaseCost ? FilterPath.INDEX : FilterPath.DATABASE;
+        plan.keywordOrder = keyword == null || keyword.trim().isEmpty() ? KeywordOrder.NONE : KeywordOrder.KEYWORD_THEN_RANK;
+
+        logger.debug("Planned filter path {} (estimated {} of {} rows, db={}us, index={}us)",
+                    plan.filterPath, plan.estimatedRows, rows, round(plan.databaseCost), round(plan.indexCost));
+        return plan;
+    }
+
+    /**
+     * Record the sampled keyword selectivity on the plan. The keyword is matched before ranking
+     * whatever its selectivity, so that ranking normalizes over the keyword-matched set.
+     */
+    public void planKeyword(QueryPlan plan, List<Course> candidates, String keyword) {
+        if (keyword == null || keyword.trim().isEmpty() || candidates.isEmpty()) {
+            plan.keywordOrder = KeywordOrder.NONE;
+            return;
+        }
+
+        String needle = keyword.trim().toLowerCase();
+        int sampleSize = Math.min(KEYWORD_SAMPLE_SIZE, candidates.size());
+        int step = Math.max(1, candidates.size() / sampleSize);
+        int sampled = 0;
+        int matched = 0;
+        for (int i = 0; i < candidates.size() && sampled < sampleSize; i += step) {
+            sampled++;
+            if (matchesKeyword(candidates.get(i), needle)) {
+                matched++;
+            }
+        }
+        plan.selectivity.put("keyword", round((matched + 1.0) / (sampled + 2.0)));
+        plan.keywordOrder = KeywordOrder.KEYWORD_THEN_RANK;
+    }
+
+    /**
+     * Same matching rule as {@code CourseRepository.searchCourses}: substring of title,
+     * description, topic or instructor, case-insensitive
+     */
+    public static boolean matchesKeyword(Course course, String lowerCaseKeyword) {
+        return contains(course.getTitle(), lowerCaseKeyword)
+            || contains(course.getDescription(), lowerCaseKeyword)
+            || contains(course.getTopic(), lowerCaseKeyword)
+            || contains(course.getInstructor(), lowerCaseKeyword);
+    }
+
+    private static boolean contains(String text, String lowerCaseKeyword) {
+        return text != null && text.toLowerCase().contains(lowerCaseKeyword);
+    }
+
+    private Double estimateSelectivity(CourseCatalogIndex.CatalogStatistics statistics, Map<String, Object> filters,
+                                       String filter, Object value) {
+        int rows = Math.max(1, statistics.getRowCount());
+        switch (filter) {
+            case "platform":
+            case "difficulty":
+            case "language":
+            case "hasCertificate": {
+                String text = filter.equals("hasCertificate")
+                    ? String.valueOf(CourseCatalogIndex.toBoolean(value)) : CourseCatalogIndex.toText(value);
+                if (text == null || text.equals("null")) return null;
+                Map<String, Integer> counts = statistics.getValueCounts().get(filter);
+                if (counts == null || counts.isEmpty()) {
+                    return 1.0 / Math.max(1, statistics.getDistinctCount(filter));
+                }
+                return counts.getOrDefault(text, 0) / (double) rows;
+            }
+            case "topic": {
+                String text = CourseCatalogIndex.toText(value);
+                if (text == null) return null;
+                String needle = text.toLowerCase();
+                int matching = statistics.getValueCounts().getOrDefault(filter, Collections.emptyMap()).entrySet().stream()
+                    .filter(entry -> entry.getKey().toLowerCase().contains(needle))
+                    .mapToInt(Map.Entry::getValue)
+                    .sum();
+                return matching / (double) rows;
+            }
+            case "minPrice":
+                // Both price bounds constrain one column, so they are estimated together
+                return rangeSelectivity(statistics, CourseCatalogIndex.HISTOGRAM_PRICE,
+                    CourseCatalogIndex.toDouble(value), CourseCatalogIndex.toDouble(filters.get("maxPrice")));
+            case "maxPrice":
+                if (CourseCatalogIndex.toDouble(filters.get("minPrice")) != null) return null;
+                return rangeSelectivity(statistics, CourseCatalogIndex.HISTOGRAM_PRICE, null, CourseCatalogIndex.toDouble(value));
+            case "minRating":
+                return rangeSelectivity(statistics, CourseCatalogIndex.HISTOGRAM_RATING, CourseCatalogIndex.toDouble(value), null);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Fraction of rows in [min, max], assuming values are uniform within each histogram bucket
+     */
+    private Double rangeSelectivity(CourseCatalogIndex.CatalogStatistics statistics, String column, Double min, Double max) {
+        if (min == null && max == null) return null;
+        List<CourseCatalogIndex.HistogramBucket> histogram = statistics.getHistograms().get(column);
+        if (histogram == null || statistics.getRowCount() == 0) return 1.0;
+
+        double low = min != null ? min : Double.NEGATIVE_INFINITY;
+        double high = max != null ? max : Double.POSITIVE_INFINITY;
+        double matching = 0;
+        for (CourseCatalogIndex.HistogramBucket bucket : histogram) {
+            double from = bucket.getFrom();
+            double to = bucket.getTo() != null ? bucket.getTo() : Double.POSITIVE_INFINITY;
+            if (to <= low || from > high) continue;
+            if (from >= low && to <= high) {
+                matching += bucket.getCount();
+            } else if (Double.isInfinite(to)) {
+                matching += bucket.getCount() * 0.5;
+            } else {
+                double overlap = (Math.min(to, high) - Math.max(from, low)) / (to - from);
+                matching += bucket.getCount() * Math.max(0.0, Math.min(1.0, overlap));
+            }
+        }
+        return matching / statistics.getRowCount();
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000.0) / 1000.0;
+    }
+
+    /**
+     * Chosen execution strategy plus the estimates behind it; execution fills in the actuals
+     */
+    public static class QueryPlan {
+        private FilterPath filterPath = FilterPath.DATABASE;
+        private KeywordOrder keywordOrder = KeywordOrder.NONE;
+        private int tableRows;
+        private int estimatedRows;
+        private Integer actualRows;
+        private double databaseCost;
+        private double indexCost;
+        private Long filterMicros;
+        private Long rankMicros;
+        private final Map<String, Double> selectivity = new LinkedHashMap<>();
+        private final List<String> notes = new ArrayList<>();
+
+        public FilterPath getFilterPath() {
+            return filterPath;
+        }
+
+        public KeywordOrder getKeywordOrder() {
+            return keywordOrder;
+        }
+
+        public int getTableRows() {
+            return tableRows;
+        }
+
+        public int getEstimatedRows() {
+            return estimatedRows;
+        }
+
+        public Integer getActualRows() {
+            return actualRows;
+        }
+
+        public void setActualRows(Integer actualRows) {
+            this.actualRows = actualRows;
+        }
+
+        public double getDatabaseCost() {
+            return round(databaseCost);
+        }
+
+        public double getIndexCost() {
+            return round(indexCost);
+        }
+
+        public Long getFilterMicros() {
+            return filterMicros;
+        }
+
+        public void setFilterMicros(Long filterMicros) {
+            this.filterMicros = filterMicros;
+        }
+
+        public Long getRankMicros() {
+            return rankMicros;
+        }
+
+        public void setRankMicros(Long rankMicros) {
+            this.rankMicros = rankMicros;
+        }
+
+        public Map<String, Double> getSelectivity() {
+            return selectivity;
+        }
+
+        public List<String> getNotes() {
+            return notes;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.coursecomparison.service;
+
+import com.coursecomparison.model.Course;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Two-tier search cache keyed by canonical queries.
+ * The candidate tier holds the unpersonalized, unranked result of a query and is shared by all
+ * users; the ranked tier holds the final list per (query, user fingerprint), so users with the
+ * same weights and interests share it and everyone else only pays for a re-rank of cached candidates.
+ * Both tiers are single-flight: concurrent misses on the same key wait for one computation
+ * instead of each hitting the database or the live platforms.
+ * Ranked lists are stored as private copies and every hit gets its own copies, so scores written
+ * by later rankers or callers never reach a cached entry; candidate sets are read-only and are
+ * copied by the rankers.
+ */
+@Component
+public class SearchResultCache {
+
+    @Value("${search.cache.candidates.ttl-seconds:600}")
+    private long candidateTtlSeconds;
+
+    @Value("${search.cache.candidates.max-entries:500}")
+    private long candidateMaxEntries;
+
+    @Value("${search.cache.ranked.ttl-seconds:120}")
+    private long rankedTtlSeconds;
+
+    @Value("${search.cache.ranked.max-entries:2000}")
+    private long rankedMaxEntries;
+
+    private Cache<SearchQueryCanonicalizer.SearchKey, CompletableFuture<CandidateSet>> candidates;
+    private Cache<RankedKey, CompletableFuture<List<Course>>> ranked;
+
+    private final AtomicLong candidateHits = new AtomicLong();
+    private final AtomicLong candidateMisses = new AtomicLong();
+    private final AtomicLong rankedHits = new AtomicLong();
+    private final AtomicLong rankedMisses = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        candidates = Caffeine.newBuilder()
+                .maximumSize(candidateMaxEntries)
+                .expireAfterWrite(candidateTtlSeconds, TimeUnit.SECONDS)
+                .build();
+        ranked = Caffeine.newBuilder()
+                .maximumSize(rankedMaxEntries)
+                .expireAfterWrite(rankedTtlSeconds, TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * Ranked results for the query and user, ranking cached candidates on a ranked-tier miss
+     * and loading candidates on a candidate-tier miss
+     */
+    public List<Course> get(SearchQueryCanonicalizer.SearchKey key, String userFingerprint,
+                            Supplier<CandidateSet> candidateLoader,
+                            Function<CandidateSet, List<Course>> ranker) {
+        RankedKey rankedKey = new RankedKey(key, userFingerprint);
+        List<Course> scored = singleFlight(ranked, rankedKey, rankedHits, rankedMisses,
+            () -> List.copyOf(copies(ranker.apply(singleFlight(candidates, key, candidateHits, candidateMisses, candidateLoader)))));
+        return copies(scored);
+    }
+
+    private static List<Course> copies(List<Course> courses) {
+        List<Course> copies = new ArrayList<>(courses.size());
+        for (Course course : courses) {
+            copies.add(course.copy());
+        }
+        return copies;
+    }
+
+    public void invalidateAll() {
+        candidates.invalidateAll();
+        ranked.invalidateAll();
+    }
+
+    /**
+     * Drop every cached result for a canonical keyword, whatever its filters or user
+     */
+    public void invalidateKeyword(String keyword) {
+        candidates.asMap().keySet().removeIf(key -> keyword.equals(key.getKeyword()));
+        ranked.asMap().keySet().removeIf(key -> keyword.equals(key.query.getKeyword()));
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new HashMap<>();
+        statistics.put("candidateEntries", candidates.estimatedSize());
+        statistics.put("candidateHits", candidateHits.get());
+        statistics.put("candidateMisses", candidateMisses.get());
+        statistics.put("rankedEntries", ranked.estimatedSize());
+        statistics.put("rankedHits", rankedHits.get());
+        statistics.put("rankedMisses", rankedMisses.get());
+        statistics.put("coalescedWaits", coalesced.get());
+        return statistics;
+    }
+
+    /**
+     * Return the cached value, or compute it on the calling thread while concurrent callers for
+     * the same key wait on the same future. Failed computations, including errors, are not
+     * cached and are rethrown to every waiter.
+     */
+    private <K, V> V singleFlight(Cache<K, CompletableFuture<V>> cache, K key,
+                                  AtomicLong hits, AtomicLong misses, Supplier<V> loader) {
+        CompletableFuture<V> pending = new CompletableFuture<>();
+        CompletableFuture<V> existing = cache.asMap().putIfAbsent(key, pending);
+        if (existing != null) {
+            if (existing.isDone()) {
+                hits.incrementAndGet();
+            } else {
+                coalesced.incrementAndGet();
+            }
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+
+        misses.incrementAndGet();
+        try {
+            V value = loader.get();
+            pending.complete(value);
+            return value;
+        } catch (Throwable e) {
+            cache.asMap().remove(key, pending);
+            pending.completeExceptionally(e);
+            if (e instanceof Error) {
+                throw (Error) e;
+            }
+            throw e instanceof RuntimeException ? (RuntimeException) e : new CompletionException(e);
+        }
+    }
+
+    /**
+     * Unpersonalized result of a query together with how it should be ranked
+     */
+    public static class CandidateSet {
+        private final List<Course> courses;
+        private final SearchQueryPlanner.QueryPlan plan;
+        private final String matchedKeyword;
+
+        public CandidateSet(List<Course> courses, SearchQueryPlanner.QueryPlan plan) {
+            this(courses, plan, null);
+        }
+
+        /**
+         * Candidates found for {@code matchedKeyword} instead of the requested keyword, such as a
+         * spelling correction; rankers score relevance against it
+         */
+        public CandidateSet(List<Course> courses, SearchQueryPlanner.QueryPlan plan, String matchedKeyword) {
+            this.courses = Collections.unmodifiableList(courses);
+            this.plan = plan;
+            this.matchedKeyword = matchedKeyword;
+        }
+
+        /**
+         * Keyword to rank relevance against: the one the candidates matched, else {@code requested}
+         */
+        public String rankingKeyword(String requested) {
+            return matchedKeyword != null ? matchedKeyword : requested;
+        }
+
+        public List<Course> getCourses() {
+            return courses;
+        }
+
+        public SearchQueryPlanner.QueryPlan getPlan() {
+            return plan;
+        }
+    }
+
+    private static final class RankedKey {
+        private final SearchQueryCanonicalizer.SearchKey query;
+        private final String userFingerprint;
+
+        RankedKey(SearchQueryCanonicalizer.SearchKey query, String userFingerprint) {
+            this.query = query;
+            this.userFingerprint = userFingerprint;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof RankedKey)) return false;
+            RankedKey other = (RankedKey) o;
+            return query.equals(other.query) && userFingerprint.equals(other.userFingerprint);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * query.hashCode() + userFingerprint.hashCode();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.coursecomparison.service;
+
+import com.coursecomparison.model.Course;
+import com.coursecomparison.repository.CourseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Finds courses similar to a given course using an in-memory HNSW index over
+ * hashed TF-IDF + criterion vectors. Active courses are loaded once at startup; after that a
+ * short schedule reads only rows whose {@code lastUpdated} moved past the last sync, adding new
+ * courses and tombstoning deactivated ones, so neither a sync nor a lookup scans the catalogue.
+ */
+@Service
+public class SimilarCourseService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SimilarCourseService.class);
+    private static final int HNSW_M = 16;
+    private static final int HNSW_EF_CONSTRUCTION = 100;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Value("${similar.search.ef:64}")
+    private int efSearch;
+
+    // Rows can be stamped a little before they are committed, so each sync re-reads this window
+    @Value("${similar.index.sync-overlap-ms:300000}")
+    private long syncOverlapMs;
+
+    private final CourseVectorizer vectorizer = new CourseVectorizer();
+    private final HnswIndex index = new HnswIndex(HNSW_M, HNSW_EF_CONSTRUCTION);
+
+    private LocalDateTime watermark;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        syncIndex();
+    }
+
+    /**
+     * Apply courses changed since the last run: index active ones, tombstone inactive ones
+     */
+    @Scheduled(fixedDelayString = "${similar.index.sync-interval-ms:60000}",
+               initialDelayString = "${similar.index.sync-interval-ms:60000}")
+    public synchronized void syncIndex() {
+        try {
+            List<Course> changed = watermark == null
+                ? courseRepository.findByIsActiveTrue()
+                : courseRepository.findByLastUpdatedAfter(watermark.minus(Duration.ofMillis(syncOverlapMs)));
+            int added = 0;
+            int removed = 0;
+            for (Course course : changed) {
+                if (course.getId() == null) {
+                    continue;
+                }
+                if (Boolean.FALSE.equals(course.getIsActive())) {
+                    removed += index.remove(course.getId()) ? 1 : 0;
+                } else if (!index.contains(course.getId())) {
+                    index(course);
+                    added++;
+                }
+                if (course.getLastUpdated() != null && (watermark == null || course.getLastUpdated().isAfter(watermark))) {
+                    watermark = course.getLastUpdated();
+                }
+            }
+            if (watermark == null) {
+                watermark = LocalDateTime.now();
+            }
+            if (added > 0 || removed > 0) {
+                logger.info("Similarity index: {} added, {} removed ({} total)", added, removed, index.size());
+            }
+        } catch (Exception e) {
+            logger.error("Error updating similarity index", e);
+        }
+    }
+
+    /**
+     * Add a single persisted course to the index
+     */
+    public void index(Course course) {
+        if (course == null || course.getId() == null || Boolean.FALSE.equals(course.getIsActive())
+                || index.contains(course.getId())) {
+            return;
+        }
+        float[] vector = index.vectorOf(course.getId());
+        index.add(course.getId(), vector != null ? vector : vectorizer.addAndVectorize(course));
+    }
+
+    /**
+     * Nearest neighbours of the given course, most similar first
+     */
+    public List<Course> findSimilarCourses(Course course, int limit) {
+        if (course == null || course.getId() == null || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        float[] query = index.vectorOf(course.getId());
+        if (query == null) {
+            index(course);
+            query = index.vectorOf(course.getId());
+        }
+        if (query == null) {
+            return Collections.emptyList();
+        }
+
+        // Ask for one extra so the course itself can be dropped
+        List<HnswIndex.Neighbor> neighbors = index.search(query, limit + 1, efSearch);
+        List<Long> ids = neighbors.stream()
+            .map(HnswIndex.Neighbor::getId)
+            .filter(id -> !id.equals(course.getId()))
+            .limit(limit)
+            .collect(Collectors.toList());
+
+        Map<Long, Course> byId = courseRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Course::getId, Function.identity()));
+        // Rows deleted or deactivated since the last sync are tombstoned now
+        for (Long id : ids) {
+            Course neighbor = byId.get(id);
+            if (neighbor == null || Boolean.FALSE.equals(neighbor.getIsActive())) {
+                index.remove(id);
+                byId.remove(id);
+            }
+        }
+        return ids.stream()
+            .map(byId::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+
+    public int size() {
+        return index.size();
+    }
+}
@@ -0,0 +1,125 @@
+package com.coursecomparison.service;
+
+import com.coursecomparison.model.Course;
+import com.coursecomparison.repository.CourseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * "Did you mean" suggestions for search keywords.
+ * The vocabulary is every token of course titles, topics and descriptions, weighted by how
+ * often it occurs, with topic names counted extra so that subject names win ties.
+ */
+@Service
+public class SpellingSuggestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SpellingSuggestionService.class);
+    private static final int MAX_EDIT_DISTANCE = 2;
+    private static final int PREFIX_LENGTH = 7;
+    private static final long TOPIC_WEIGHT = 5;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Value("${spelling.auto-retry.enabled:true}")
+    private boolean autoRetryEnabled;
+
+    private volatile SymSpellDictionary dictionary;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${spelling.dictionary.refresh-interval-ms:900000}",
+               initialDelayString = "${spelling.dictionary.refresh-interval-ms:900000}")
+    public void rebuild() {
+        try {
+            long start = System.nanoTime();
+            Map<String, Long> frequencies = new HashMap<>();
+            for (Course course : courseRepository.findAll()) {
+                addWords(frequencies, course.getTitle(), 1);
+                addWords(frequencies, course.getDescription(), 1);
+                addWords(frequencies, course.getTopic(), TOPIC_WEIGHT);
+            }
+            dictionary = new SymSpellDictionary(frequencies, MAX_EDIT_DISTANCE, PREFIX_LENGTH);
+            logger.info("Spelling dictionary built with {} words in {} ms",
+                       frequencies.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            logger.error("Error building spelling dictionary", e);
+        }
+    }
+
+    public boolean isAutoRetryEnabled() {
+        return autoRetryEnabled;
+    }
+
+    /**
+     * Keyword with each unknown word replaced by its closest catalog word, or empty when
+     * nothing needs correcting
+     */
+    public Optional<String> suggest(String keyword) {
+        SymSpellDictionary current = dictionary;
+        if (current == null || keyword == null || keyword.isBlank()) {
+            return Optional.empty();
+        }
+
+        String[] words = tokenize(keyword).toArray(new String[0]);
+        boolean corrected = false;
+        for (int i = 0; i < words.length; i++) {
+            if (words[i].length() < 3 || !isWord(words[i])) {
+                continue;
+            }
+            Optional<String> correction = current.correct(words[i]);
+            if (correction.isPresent()) {
+                words[i] = correction.get();
+                corrected = true;
+            }
+        }
+        return corrected ? Optional.of(String.join(" ", words)) : Optional.empty();
+    }
+
+    public int size() {
+        SymSpellDictionary current = dictionary;
+        return current != null ? current.size() : 0;
+    }
+
+    private static void addWords(Map<String, Long> frequencies, String text, long weight) {
+        for (String word : tokenize(text)) {
+            if (word.length() > 1 && isWord(word)) {
+                frequencies.merge(word, weight, Long::sum);
+            }
+        }
+    }
+
+    private static List<String> tokenize(String text) {
+        if (text == null) {
+            return Collections.emptyList();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}+#]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // Numbers and version strings are never corrected
+    private static boolean isWord(String token) {
+        for (int i = 0; i < token.length(); i++) {
+            if (Character.isLetter(token.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
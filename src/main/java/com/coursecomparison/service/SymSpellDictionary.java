@@ -0,0 +1,139 @@
+package com.coursecomparison.service;
+
+import java.util.*;
+
+/**
+ * Symmetric-delete spelling dictionary (SymSpell).
+ * Every word is stored under all strings reachable by deleting up to {@code maxEditDistance}
+ * characters from its first {@code prefixLength} characters. A lookup generates the same deletes
+ * for the input, so candidates come from a handful of hash probes instead of a scan of the
+ * vocabulary; each candidate is then verified with the optimal string alignment distance.
+ * Immutable once built.
+ */
+public class SymSpellDictionary {
+
+    private final int maxEditDistance;
+    private final int prefixLength;
+    private final Map<String, Long> frequencies;
+    private final Map<String, String[]> deletes;
+
+    public SymSpellDictionary(Map<String, Long> wordFrequencies, int maxEditDistance, int prefixLength) {
+        this.maxEditDistance = maxEditDistance;
+        this.prefixLength = prefixLength;
+        this.frequencies = new HashMap<>(wordFrequencies);
+
+        Map<String, List<String>> building = new HashMap<>();
+        for (String word : wordFrequencies.keySet()) {
+            for (String delete : deletes(prefix(word))) {
+                building.computeIfAbsent(delete, key -> new ArrayList<>(2)).add(word);
+            }
+        }
+        this.deletes = new HashMap<>(building.size() * 4 / 3 + 1);
+        building.forEach((delete, words) -> deletes.put(delete, words.toArray(new String[0])));
+    }
+
+    public int size() {
+        return frequencies.size();
+    }
+
+    public boolean contains(String word) {
+        return frequencies.containsKey(word);
+    }
+
+    /**
+     * Closest dictionary word within the maximum edit distance, preferring smaller distance and
+     * then higher frequency; empty if the word is already known or nothing is close enough
+     */
+    public Optional<String> correct(String word) {
+        if (word.isEmpty() || frequencies.containsKey(word)) {
+            return Optional.empty();
+        }
+
+        String best = null;
+        int bestDistance = maxEditDistance + 1;
+        long bestFrequency = -1;
+        Set<String> checked = new HashSet<>();
+        for (String delete : deletes(prefix(word))) {
+            String[] candidates = deletes.get(delete);
+            if (candidates == null) {
+                continue;
+            }
+            for (String candidate : candidates) {
+                if (!checked.add(candidate) || Math.abs(candidate.length() - word.length()) > maxEditDistance) {
+                    continue;
+                }
+                int distance = distance(word, candidate, bestDistance + 1);
+                long frequency = frequencies.get(candidate);
+                if (distance < bestDistance || (distance == bestDistance && frequency > bestFrequency)) {
+                    best = candidate;
+                    bestDistance = distance;
+                    bestFrequency = frequency;
+                }
+            }
+        }
+        return bestDistance <= maxEditDistance ? Optional.ofNullable(best) : Optional.empty();
+    }
+
+    private String prefix(String word) {
+        return word.length() > prefixLength ? word.substring(0, prefixLength) : word;
+    }
+
+    /**
+     * The word plus every string obtained by deleting 1..maxEditDistance characters
+     */
+    private Set<String> deletes(String word) {
+        Set<String> result = new HashSet<>();
+        result.add(word);
+        List<String> frontier = List.of(word);
+        for (int d = 0; d < maxEditDistance; d++) {
+            List<String> next = new ArrayList<>();
+            for (String item : frontier) {
+                if (item.length() <= 1) {
+                    continue;
+                }
+                for (int i = 0; i < item.length(); i++) {
+                    String delete = item.substring(0, i) + item.substring(i + 1);
+                    if (result.add(delete)) {
+                        next.add(delete);
+                    }
+                }
+            }
+            frontier = next;
+        }
+        return result;
+    }
+
+    /**
+     * Optimal string alignment distance (Levenshtein plus adjacent transpositions);
+     * returns {@code limit} as soon as every alignment exceeds it
+     */
+    static int distance(String a, String b, int limit) {
+        int[] previousPrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMinimum = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previousPrevious[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMinimum = Math.min(rowMinimum, value);
+            }
+            if (rowMinimum >= limit) {
+                return limit;
+            }
+            int[] recycled = previousPrevious;
+            previousPrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[b.length()], limit);
+    }
+}
@@ -0,0 +1,36 @@
+package com.coursecomparison.service;
+
+import com.coursecomparison.model.Course;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Udacity: the public course API (deprecated, often 404), then the search page
+ */
+@Component
+@Order(4)
+public class UdacityPlatformAdapter extends AbstractPlatformAdapter {
+
+    private static final Map<String, CourseJsonExtractor.FieldReader> API_FIELDS = Map.of(
+        "title", CourseJsonExtractor.text(Course::setTitle),
+        "summary", CourseJsonExtractor.text(Course::setDescription),
+        "key", CourseJsonExtractor.text((course, key) -> course.setUrl("https://www.udacity.com/course/" + key)));
+
+    public UdacityPlatformAdapter() {
+        super("Udacity", "https://www.udacity.com",
+            ".course-card, .card, [data-testid='course-card']", "a[href*='udacity.com']",
+            defaults("Programming", "Intermediate"), new Budget(10000, 20, 5));
+    }
+
+    @Override
+    protected void addStrategies(String keyword, LinkedHashMap<String, Supplier<List<Course>>> strategies) {
+        strategies.put("udacity-api", () -> searchApi("https://www.udacity.com/public-api/v0/courses?search=" + encode(keyword),
+            "courses", API_FIELDS));
+        strategies.put("udacity-web", () -> searchPage("https://www.udacity.com/courses/all?search=" + encode(keyword), 10000));
+    }
+}
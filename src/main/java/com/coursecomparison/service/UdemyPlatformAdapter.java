@@ -0,0 +1,137 @@
+package com.coursecomparison.service;
+
+import com.coursecomparison.model.Course;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Udemy: the course API, then the search page for the plain keyword and for keyword variations,
+ * and last the bare course links of the search page
+ */
+@Component
+@Order(2)
+public class UdemyPlatformAdapter extends AbstractPlatformAdapter {
+
+    private static final Map<String, CourseJsonExtractor.FieldReader> API_FIELDS = Map.of(
+        "title", CourseJsonExtractor.text(Course::setTitle),
+        "headline", CourseJsonExtractor.text(Course::setDescription),
+        "visible_instructors", CourseJsonExtractor.first(
+            CourseJsonExtractor.field("display_name", CourseJsonExtractor.text(Course::setInstructor))),
+        "url", CourseJsonExtractor.text((course, path) -> course.setUrl("https://www.udemy.com" + path)),
+        "price_detail", CourseJsonExtractor.field("price_string", CourseJsonExtractor.text((course, price) ->
+            course.setPrice("Free".equals(price) ? Double.valueOf(0.0) : parsePrice(price)))),
+        "avg_rating", CourseJsonExtractor.number(Course::setRating),
+        "num_subscribers", CourseJsonExtractor.number((course, count) -> course.setStudentCount(count.intValue())),
+        "image_240x135", CourseJsonExtractor.text(Course::setCourseImageUrl),
+        "content_info_short", CourseJsonExtractor.text((course, info) -> course.setDurationHours(parseDurationHours(info))),
+        "instructional_level_simple", CourseJsonExtractor.text(Course::setDifficultyLevel));
+
+    @Value("${api.udemy.url:https://www.udemy.com/api-2.0/courses/?search=}")
+    private String apiUrl;
+
+    public UdemyPlatformAdapter() {
+        super("Udemy", "https://www.udemy.com",
+            "[data-testid='course-card'], .course-card, .ud-component--course-card", "a[href*='udemy.com']",
+            defaults("Programming", "Beginner"), new Budget(12000, 20, 5));
+    }
+
+    @Override
+    protected void addStrategies(String keyword, LinkedHashMap<String, Supplier<List<Course>>> strategies) {
+        strategies.put("udemy-api", () -> searchApi(apiUrl.trim() + encode(keyword) + "&page_size=" + getBudget().getMaxResults(),
+            "results", API_FIELDS));
+        strategies.put("udemy-web", () -> searchWeb(keyword));
+        for (String suffix : new String[] {"course", "tutorial", "training"}) {
+            strategies.put("udemy-" + suffix, () -> searchWeb(keyword + " " + suffix));
+        }
+        strategies.put("udemy-links", () -> searchLinks(keyword));
+    }
+
+    /**
+     * Every paid and free Udemy course comes with a certificate of completion
+     */
+    @Override
+    public void enrich(Course course) {
+        super.enrich(course);
+        course.setHasCertificate(true);
+    }
+
+    private List<Course> searchWeb(String keyword) {
+        return searchPage("https://www.udemy.com/courses/search/?q=" + encode(keyword), 15000);
+    }
+
+    /**
+     * Course title links of the search page, for when its cards cannot be read
+     */
+    private List<Course> searchLinks(String keyword) {
+        String url = "https://www.udemy.com/courses/search/?q=" + encode(keyword);
+        Document doc;
+        try {
+            doc = outboundHttpGateway.fetchDocument(url, 8000);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Udemy search links " + url + " failed: " + e.getMessage(), e);
+        }
+        Elements links = doc.select("a[data-purpose=search-course-card-title], a.udlite-custom-focus-visible");
+        if (links.isEmpty()) {
+            links = doc.select("a[href^=/course/]");
+        }
+
+        List<Course> courses = new ArrayList<>();
+        for (Element link : links) {
+            if (courses.size() >= getBudget().getMaxResults()) {
+                break;
+            }
+            String href = link.attr("href");
+            if (!href.startsWith("/course/")) {
+                continue;
+            }
+            String title = link.attr("title").isBlank() ? link.text() : link.attr("title");
+            if (title.isBlank()) {
+                continue;
+            }
+            Course course = new Course();
+            course.setTitle(title.trim());
+            course.setUrl("https://www.udemy.com" + href);
+            course.setDescription("Course from Udemy matching: " + keyword);
+            enrich(course);
+            courses.add(course);
+        }
+        return courses;
+    }
+
+    private static Double parsePrice(String priceText) {
+        try {
+            return Double.parseDouble(priceText.replaceAll("[^0-9.]", ""));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Hours from content info like "5.5 hours on-demand video", or null
+     */
+    private static Integer parseDurationHours(String contentInfo) {
+        if (contentInfo == null) {
+            return null;
+        }
+        String[] parts = contentInfo.split(" ");
+        for (int i = 1; i < parts.length; i++) {
+            if (parts[i].startsWith("hour")) {
+                try {
+                    return (int) Double.parseDouble(parts[i - 1]);
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+}
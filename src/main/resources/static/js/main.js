@@ -98,10 +98,15 @@ const App = {
         }
     },
     
-    // Perform search with API call
+    // Perform search, streaming results as they arrive when the browser supports it
     async performSearch(query) {
         if (!query.trim()) return;
         
+        if (typeof EventSource !== 'undefined' && document.querySelector('.search-results')) {
+            this.streamSearch(query);
+            return;
+        }
+        
         try {
             this.showLoading();
             
@@ -119,6 +124,79 @@ const App = {
         }
     },
     
+    // Progressive search over Server-Sent Events: local matches first, then each platform's batch
+    streamSearch(query) {
+        const resultsContainer = document.querySelector('.search-results');
+        
+        if (this.state.searchStream) {
+            this.state.searchStream.close();
+        }
+        
+        const cards = new Map();
+        let received = false;
+        const source = new EventSource(`${this.config.apiBaseUrl}/live/search/${encodeURIComponent(query.trim())}/stream`);
+        this.state.searchStream = source;
+        resultsContainer.innerHTML = '';
+        this.showLoading();
+        
+        const addBatch = (entries) => {
+            const added = [];
+            (entries || []).forEach(({ key, course }) => {
+                if (cards.has(key)) return;
+                const wrapper = document.createElement('div');
+                wrapper.innerHTML = this.renderCourseCard(course).trim();
+                const card = wrapper.firstElementChild;
+                card.dataset.resultKey = key;
+                cards.set(key, card);
+                resultsContainer.appendChild(card);
+                added.push(card.querySelector('.course-card'));
+            });
+            if (added.length > 0) {
+                received = true;
+                this.hideLoading();
+                this.animateNewElements(added);
+            }
+        };
+        
+        const finish = () => {
+            source.close();
+            if (this.state.searchStream === source) {
+                this.state.searchStream = null;
+            }
+            this.hideLoading();
+        };
+        
+        source.addEventListener('local', (e) => addBatch(JSON.parse(e.data).courses));
+        
+        source.addEventListener('platform', (e) => addBatch(JSON.parse(e.data).courses));
+        
+        // Re-order the cards already shown to the latest overall ranking
+        source.addEventListener('ranking', (e) => {
+            JSON.parse(e.data).order.forEach(key => {
+                const card = cards.get(key);
+                if (card) resultsContainer.appendChild(card);
+            });
+        });
+        
+        source.addEventListener('done', (e) => {
+            addBatch(JSON.parse(e.data).courses);
+            finish();
+            if (cards.size === 0) {
+                this.displaySearchResults([]);
+            }
+            this.addToSearchHistory(query);
+        });
+        
+        source.addEventListener('error', () => {
+            // Also fired when the server closes the stream after 'done'
+            if (this.state.searchStream !== source) return;
+            finish();
+            if (!received) {
+                this.showError('Search failed. Please try again.');
+            }
+        });
+    },
+    
     // Display search results
     displaySearchResults(courses) {
         const resultsContainer = document.querySelector('.search-results');
@@ -253,7 +331,7 @@ const App = {
                 }
             });
             
-            const url = `${this.config.apiBaseUrl}/courses/filter?${queryParams.toString()}`;
+            const url = `${this.config.apiBaseUrl}/courses/facets?${queryParams.toString()}`;
             console.log('Filter URL:', url);
             
             const response = await fetch(url);
@@ -266,9 +344,10 @@ const App = {
                 throw new Error(`HTTP error! status: ${response.status}`);
             }
             
-            const courses = await response.json();
-            console.log('Filter results:', courses);
-            this.displayFilteredResults(courses);
+            const result = await response.json();
+            console.log(`Filter results: ${result.total} courses in ${result.tookMicros} µs`);
+            this.displayFilteredResults(result.courses);
+            this.displayFacetCounts(filterForm, result.facets);
             
         } catch (error) {
             console.error('Filter error:', error);
@@ -307,6 +386,36 @@ const App = {
         this.animateNewElements(resultsContainer.querySelectorAll('.course-card'));
     },
     
+    // Show per-option counts from the facet response next to each filter choice
+    displayFacetCounts(filterForm, facets) {
+        if (!facets) return;
+        
+        Object.entries(facets).forEach(([name, counts]) => {
+            const select = filterForm.querySelector(`select[name="${name}"]`);
+            if (!select) return;
+            
+            select.querySelectorAll('option').forEach(option => {
+                if (!option.value) return;
+                if (!option.dataset.label) {
+                    option.dataset.label = option.textContent;
+                }
+                const count = Object.entries(counts)
+                    .filter(([value]) => value.toLowerCase() === option.value.toLowerCase())
+                    .reduce((total, [, n]) => total + n, 0);
+                option.textContent = `${option.dataset.label} (${count})`;
+            });
+        });
+        
+        const certificate = filterForm.querySelector('input[name="hasCertificate"]');
+        const certificateLabel = certificate ? filterForm.querySelector(`label[for="${certificate.id}"]`) : null;
+        if (certificateLabel && facets.hasCertificate) {
+            if (!certificateLabel.dataset.label) {
+                certificateLabel.dataset.label = certificateLabel.textContent.trim();
+            }
+            certificateLabel.textContent = `${certificateLabel.dataset.label} (${facets.hasCertificate['true'] || 0})`;
+        }
+    },
+    
     // Wishlist functionality
     setupWishlist() {
         // Load wishlist from localStorage
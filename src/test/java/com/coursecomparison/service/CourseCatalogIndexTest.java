@@ -0,0 +1,148 @@
+package com.coursecomparison.service;
+
+import com.coursecomparison.model.Course;
+import com.coursecomparison.repository.CourseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CourseCatalogIndexTest {
+
+    private CourseCatalogIndex index;
+    private CourseRepository courseRepository;
+    private List<Course> catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalog = List.of(
+            course(1L, "Udemy", "Python Programming", "Beginner", "English", 19.99, 4.6, 10, true),
+            course(2L, "udemy", "Advanced Python", "ADVANCED", "english", 89.0, 4.1, 30, false),
+            course(3L, "Coursera", "Machine Learning", "Intermediate", "English", 0.0, 4.8, 60, true),
+            course(4L, "Coursera", "Data Science", "beginner", "Spanish", 49.0, 3.9, 20, true),
+            course(5L, "edX", "Web Development", "Beginner", "English", null, null, null, false),
+            course(6L, "Udacity", "python for data analysis", "Intermediate", "English", 200.0, 4.5, 5, true));
+        courseRepository = mock(CourseRepository.class);
+        when(courseRepository.findByIsActiveTrue()).thenReturn(catalog);
+
+        index = new CourseCatalogIndex();
+        ReflectionTestUtils.setField(index, "courseRepository", courseRepository);
+        index.refresh();
+    }
+
+    @Test
+    void indexIsBuiltFromActiveCoursesOnly() {
+        verify(courseRepository).findByIsActiveTrue();
+        verify(courseRepository, never()).findAll();
+        assertEquals(catalog.size(), index.size());
+    }
+
+    @Test
+    void resultsMatchTheAdvancedFiltersQuery() {
+        List<Map<String, Object>> queries = List.of(
+            Map.of(),
+            Map.of("platform", "UDEMY"),
+            Map.of("difficulty", "beginner"),
+            Map.of("language", "ENGLISH", "difficulty", "Intermediate"),
+            Map.of("topic", "PYTHON"),
+            Map.of("topic", "data", "language", "english"),
+            Map.of("minPrice", 0.0, "maxPrice", 50.0),
+            Map.of("minPrice", "19.99", "maxPrice", "19.99"),
+            Map.of("minRating", 4.5),
+            Map.of("hasCertificate", true, "minRating", "4"),
+            Map.of("hasCertificate", "false"),
+            Map.of("platform", "Coursera", "maxPrice", 10.0));
+
+        for (Map<String, Object> filters : queries) {
+            assertEquals(expectedIds(filters), ids(index.filter(filters)), "filter " + filters);
+            assertEquals(expectedIds(filters), ids(index.query(filters).getCourses()), "query " + filters);
+        }
+    }
+
+    @Test
+    void valuesDifferingOnlyInCaseShareOneFacet() {
+        CourseCatalogIndex.FacetedResult result = index.query(Map.of("language", "English"));
+
+        assertEquals(Map.of("Beginner", 2, "ADVANCED", 1, "Intermediate", 2),
+            result.getFacets().get(CourseCatalogIndex.FACET_DIFFICULTY));
+        assertEquals(2, index.getStatistics().getValueCounts().get(CourseCatalogIndex.FACET_PLATFORM).get("UDEMY"));
+    }
+
+    @Test
+    void facetCountsIgnoreTheirOwnDimension() {
+        CourseCatalogIndex.FacetedResult result = index.query(Map.of("platform", "Coursera", "difficulty", "Beginner"));
+
+        assertEquals(1, result.getTotal());
+        assertEquals(Map.of("Udemy", 1, "Coursera", 1, "edX", 1),
+            result.getFacets().get(CourseCatalogIndex.FACET_PLATFORM));
+        assertEquals(Map.of("Beginner", 1, "Intermediate", 1),
+            result.getFacets().get(CourseCatalogIndex.FACET_DIFFICULTY));
+    }
+
+    @Test
+    void queriesReturnCopiesOfTheIndexedCourses() {
+        List<Course> first = index.filter(Map.of("platform", "Udemy"));
+        first.get(0).setTitle("Renamed");
+
+        assertNotSame(catalog.get(0), first.get(0));
+        assertEquals("Python Programming", index.filter(Map.of("platform", "Udemy")).get(0).getTitle());
+    }
+
+    @Test
+    void queryBeforeTheFirstRefreshFails() {
+        assertThrows(IllegalStateException.class, () -> new CourseCatalogIndex().query(Map.of()));
+    }
+
+    /**
+     * Reference predicate mirroring the JPQL of {@link CourseRepository#findCoursesByAdvancedFilters}
+     */
+    private List<Long> expectedIds(Map<String, Object> filters) {
+        Double minPrice = CourseCatalogIndex.toDouble(filters.get("minPrice"));
+        Double maxPrice = CourseCatalogIndex.toDouble(filters.get("maxPrice"));
+        Double minRating = CourseCatalogIndex.toDouble(filters.get("minRating"));
+        String platform = CourseCatalogIndex.toText(filters.get("platform"));
+        String topic = CourseCatalogIndex.toText(filters.get("topic"));
+        String difficulty = CourseCatalogIndex.toText(filters.get("difficulty"));
+        String language = CourseCatalogIndex.toText(filters.get("language"));
+        Boolean hasCertificate = CourseCatalogIndex.toBoolean(filters.get("hasCertificate"));
+        return catalog.stream()
+            .filter(c -> minPrice == null || (c.getPrice() != null && c.getPrice() >= minPrice))
+            .filter(c -> maxPrice == null || (c.getPrice() != null && c.getPrice() <= maxPrice))
+            .filter(c -> minRating == null || (c.getRating() != null && c.getRating() >= minRating))
+            .filter(c -> platform == null || platform.equalsIgnoreCase(c.getPlatform()))
+            .filter(c -> topic == null || (c.getTopic() != null && c.getTopic().toLowerCase().contains(topic.toLowerCase())))
+            .filter(c -> difficulty == null || difficulty.equalsIgnoreCase(c.getDifficultyLevel()))
+            .filter(c -> language == null || language.equalsIgnoreCase(c.getLanguage()))
+            .filter(c -> hasCertificate == null || hasCertificate.equals(c.getHasCertificate()))
+            .filter(Course::getIsActive)
+            .map(Course::getId)
+            .sorted()
+            .collect(Collectors.toList());
+    }
+
+    private static List<Long> ids(List<Course> courses) {
+        return courses.stream().map(Course::getId).sorted().collect(Collectors.toList());
+    }
+
+    private static Course course(Long id, String platform, String topic, String difficulty, String language,
+                                 Double price, Double rating, Integer durationHours, boolean hasCertificate) {
+        Course course = new Course();
+        course.setId(id);
+        course.setTitle(topic);
+        course.setPlatform(platform);
+        course.setTopic(topic);
+        course.setDifficultyLevel(difficulty);
+        course.setLanguage(language);
+        course.setPrice(price);
+        course.setRating(rating);
+        course.setDurationHours(durationHours);
+        course.setHasCertificate(hasCertificate);
+        course.setUrl("https://example.com/course/" + id);
+        return course;
+    }
+}
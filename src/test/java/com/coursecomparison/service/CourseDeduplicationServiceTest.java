@@ -0,0 +1,75 @@
+package com.coursecomparison.service;
+
+import com.coursecomparison.model.Course;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CourseDeduplicationServiceTest {
+
+    private static final String PYTHON_DESCRIPTION =
+        "Learn Python programming from scratch with hands-on exercises, quizzes and projects";
+
+    private CourseDeduplicationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new CourseDeduplicationService();
+        ReflectionTestUtils.setField(service, "similarityThreshold", 0.7);
+    }
+
+    @Test
+    void partsOfASeriesOnTheSamePlatformAreDistinct() {
+        Course part1 = course(1L, "Python Programming Part 1", "Udemy", "https://www.udemy.com/course/python-programming-part-1/");
+        Course part2 = course(null, "Python Programming Part 2", "Udemy", "https://www.udemy.com/course/python-programming-part-2/");
+        service.registerAll(List.of(part1));
+
+        assertTrue(service.findDuplicate(part2).isEmpty());
+        assertEquals(2, service.deduplicate(List.of(part1, part2)).size());
+    }
+
+    @Test
+    void versionNumbersOnTheSamePlatformAreDistinct() {
+        Course python2 = course(1L, "Learn Python 2", "Coursera", "https://www.coursera.org/learn/python-2");
+        Course python3 = course(null, "Learn Python 3", "Coursera", "https://www.coursera.org/learn/python-3");
+        service.registerAll(List.of(python2));
+
+        assertTrue(service.findDuplicate(python3).isEmpty());
+        assertEquals(2, service.deduplicate(List.of(python2, python3)).size());
+    }
+
+    @Test
+    void sameCanonicalUrlIsADuplicate() {
+        Course existing = course(1L, "Python Programming Part 1", "Udemy", "https://www.udemy.com/course/python-programming-part-1/");
+        Course tracked = course(null, "Python Programming - Part 1", "Udemy",
+            "https://www.udemy.com/course/python-programming-part-1/?utm_source=newsletter");
+        service.registerAll(List.of(existing));
+
+        assertEquals(1L, service.findDuplicate(tracked).orElseThrow());
+        assertEquals(1, service.deduplicate(List.of(existing, tracked)).size());
+    }
+
+    @Test
+    void crossPlatformNearDuplicateIsOnlyFlagged() {
+        Course udemy = course(1L, "Python Programming Part 1", "Udemy", "https://www.udemy.com/course/python-programming-part-1/");
+        Course coursera = course(null, "Python Programming Part 1", "Coursera", "https://www.coursera.org/learn/python-programming-part-1");
+        service.registerAll(List.of(udemy));
+
+        assertTrue(service.findDuplicate(coursera).isEmpty());
+        assertEquals(1L, service.getStatistics().get("crossPlatformFlagged"));
+    }
+
+    private static Course course(Long id, String title, String platform, String url) {
+        Course course = new Course();
+        course.setId(id);
+        course.setTitle(title);
+        course.setDescription(PYTHON_DESCRIPTION);
+        course.setPlatform(platform);
+        course.setUrl(url);
+        return course;
+    }
+}
@@ -0,0 +1,139 @@
+package com.coursecomparison.service;
+
+import com.coursecomparison.model.Course;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class IngestionPipelineTest {
+
+    private IngestionPipeline pipeline;
+    private CourseBulkIngestionService bulkIngestion;
+    private final BlockingQueue<List<Course>> persisted = new LinkedBlockingQueue<>();
+
+    @BeforeEach
+    void setUp() {
+        CourseDeduplicationService deduplication = mock(CourseDeduplicationService.class);
+        when(deduplication.deduplicate(anyList())).thenAnswer(call -> new ArrayList<>(call.<List<Course>>getArgument(0)));
+        CourseValidationService validation = mock(CourseValidationService.class);
+        when(validation.validateCourseData(any())).thenAnswer(call -> call.<Course>getArgument(0).getUrl() != null);
+        when(validation.admit(any())).thenReturn(true);
+        bulkIngestion = mock(CourseBulkIngestionService.class);
+        when(bulkIngestion.upsert(anyList())).thenAnswer(call -> {
+            List<Course> courses = call.getArgument(0);
+            persisted.add(courses);
+            return courses.size();
+        });
+
+        pipeline = new IngestionPipeline();
+        ReflectionTestUtils.setField(pipeline, "courseDeduplicationService", deduplication);
+        ReflectionTestUtils.setField(pipeline, "courseValidationService", validation);
+        ReflectionTestUtils.setField(pipeline, "courseBulkIngestionService", bulkIngestion);
+        ReflectionTestUtils.setField(pipeline, "queueCapacity", 8);
+        ReflectionTestUtils.setField(pipeline, "dedupeWorkers", 1);
+        ReflectionTestUtils.setField(pipeline, "validateWorkers", 1);
+        ReflectionTestUtils.setField(pipeline, "scoreWorkers", 1);
+        ReflectionTestUtils.setField(pipeline, "persistWorkers", 1);
+        ReflectionTestUtils.setField(pipeline, "persistMaxBatches", 4);
+        ReflectionTestUtils.setField(pipeline, "persistOfferTimeoutMs", 20L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.stop();
+    }
+
+    @Test
+    void ticketYieldsValidatedAndScoredCourses() {
+        pipeline.start();
+
+        List<Course> scored = pipeline.submit(List.of(course("Python Basics", "https://www.udemy.com/course/python/"),
+            course("No URL", null)), course -> course.setContentQuality(0.9)).await(deadline());
+
+        assertEquals(1, scored.size());
+        assertEquals("Python Basics", scored.get(0).getTitle());
+        assertEquals(0.9, scored.get(0).getContentQuality());
+    }
+
+    @Test
+    void ticketCoursesAreCopiesThePersistStageNeverTouches() throws Exception {
+        pipeline.start();
+
+        List<Course> scored = pipeline.submit(List.of(course("Python Basics", "https://www.udemy.com/course/python/")),
+            course -> course.setContentQuality(0.9)).await(deadline());
+        List<Course> written = persisted.poll(5, TimeUnit.SECONDS);
+
+        assertNotNull(written);
+        assertEquals(1, written.size());
+        assertNotSame(written.get(0), scored.get(0));
+        written.get(0).setId(42L);
+        assertNull(scored.get(0).getId());
+    }
+
+    @Test
+    void failingBatchDoesNotStopTheStageWorkers() {
+        pipeline.start();
+
+        List<Course> failed = pipeline.submit(List.of(course("Broken", "https://www.udemy.com/course/broken/")),
+            course -> {
+                throw new AssertionError("scorer bug");
+            }).await(deadline());
+        List<Course> next = pipeline.submit(List.of(course("Python Basics", "https://www.udemy.com/course/python/")),
+            course -> course.setContentQuality(0.9)).await(deadline());
+
+        assertTrue(failed.isEmpty());
+        assertEquals(1, next.size());
+        assertTrue((Long) stage("score").get("failures") >= 1);
+    }
+
+    @Test
+    void fullPersistQueueDropsBatchesAfterTheOfferTimeout() throws Exception {
+        ReflectionTestUtils.setField(pipeline, "queueCapacity", 1);
+        ReflectionTestUtils.setField(pipeline, "persistMaxBatches", 1);
+        CountDownLatch unblock = new CountDownLatch(1);
+        when(bulkIngestion.upsert(anyList())).thenAnswer(call -> {
+            unblock.await(5, TimeUnit.SECONDS);
+            return 1;
+        });
+        pipeline.start();
+
+        for (int i = 0; i < 4; i++) {
+            List<Course> scored = pipeline.submit(List.of(course("Course " + i, "https://www.udemy.com/course/c" + i + "/")),
+                course -> course.setContentQuality(0.9)).await(deadline());
+            assertEquals(1, scored.size(), "scoring goes on while persistence is stuck");
+        }
+        long until = System.currentTimeMillis() + 5000;
+        while ((Long) stage("persist").get("dropped") == 0 && System.currentTimeMillis() < until) {
+            Thread.sleep(10);
+        }
+        unblock.countDown();
+
+        assertTrue((Long) stage("persist").get("dropped") > 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> stage(String name) {
+        return (Map<String, Object>) pipeline.getStatistics().get(name);
+    }
+
+    private static long deadline() {
+        return System.currentTimeMillis() + 5000;
+    }
+
+    private static Course course(String title, String url) {
+        Course course = new Course();
+        course.setTitle(title);
+        course.setPlatform("Udemy");
+        course.setUrl(url);
+        return course;
+    }
+}
@@ -0,0 +1,210 @@
+package com.coursecomparison.service;
+
+import com.coursecomparison.model.Course;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LiveSearchCoalescerTest {
+
+    private static final String KEY = "python";
+
+    private LiveSearchCoalescer coalescer;
+    private ExecutorService threads;
+
+    @BeforeEach
+    void setUp() {
+        coalescer = new LiveSearchCoalescer();
+        threads = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        threads.shutdownNow();
+    }
+
+    @Test
+    void concurrentSearchesForOneKeyShareOneFetch() throws Exception {
+        AtomicInteger fetches = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Future<PlatformFanOut.FanOutResult> leader = threads.submit(() -> coalescer.run(KEY, null, deadline(5000),
+            listener -> {
+                fetches.incrementAndGet();
+                await(release);
+                return result(course("Python Basics"));
+            }, this::fallback));
+        awaitInFlight();
+
+        Future<PlatformFanOut.FanOutResult> waiter = threads.submit(() -> coalescer.run(KEY, null, deadline(5000),
+            listener -> {
+                fetches.incrementAndGet();
+                return result();
+            }, this::fallback));
+        awaitCoalesced(1);
+        release.countDown();
+
+        assertEquals(1, fetches.get());
+        assertEquals("Python Basics", leader.get(5, TimeUnit.SECONDS).getCourses().get(0).getTitle());
+        assertEquals("Python Basics", waiter.get(5, TimeUnit.SECONDS).getCourses().get(0).getTitle());
+        assertEquals(0, coalescer.getStatistics().get("inFlight"));
+    }
+
+    @Test
+    void waiterReceivesBatchesDeliveredBeforeAndAfterItJoined() throws Exception {
+        CountDownLatch joined = new CountDownLatch(1);
+        Future<PlatformFanOut.FanOutResult> leader = threads.submit(() -> coalescer.run(KEY, null, deadline(5000),
+            listener -> {
+                listener.platformDone(outcome("Udemy"), List.of(course("Early")));
+                await(joined);
+                listener.platformDone(outcome("Coursera"), List.of(course("Late")));
+                return result(course("Early"), course("Late"));
+            }, this::fallback));
+        awaitInFlight();
+
+        List<String> seen = Collections.synchronizedList(new ArrayList<>());
+        Future<PlatformFanOut.FanOutResult> waiter = threads.submit(() -> coalescer.run(KEY,
+            (outcome, courses) -> seen.add(outcome.getPlatform() + ":" + courses.get(0).getTitle()),
+            deadline(5000), listener -> result(), this::fallback));
+        awaitCoalesced(1);
+        joined.countDown();
+
+        leader.get(5, TimeUnit.SECONDS);
+        assertEquals(2, waiter.get(5, TimeUnit.SECONDS).getCourses().size());
+        assertEquals(List.of("Udemy:Early", "Coursera:Late"), seen);
+    }
+
+    @Test
+    void slowWaiterListenerDoesNotHoldUpTheLeader() throws Exception {
+        CountDownLatch joined = new CountDownLatch(1);
+        CountDownLatch unblockListener = new CountDownLatch(1);
+        Future<PlatformFanOut.FanOutResult> leader = threads.submit(() -> coalescer.run(KEY, null, deadline(5000),
+            listener -> {
+                await(joined);
+                listener.platformDone(outcome("Udemy"), List.of(course("Python Basics")));
+                return result(course("Python Basics"));
+            }, this::fallback));
+        awaitInFlight();
+
+        Future<PlatformFanOut.FanOutResult> waiter = threads.submit(() -> coalescer.run(KEY,
+            (outcome, courses) -> await(unblockListener), deadline(5000), listener -> result(), this::fallback));
+        awaitCoalesced(1);
+        joined.countDown();
+
+        assertEquals(1, leader.get(2, TimeUnit.SECONDS).getCourses().size());
+        assertFalse(waiter.isDone());
+        unblockListener.countDown();
+        assertEquals(1, waiter.get(5, TimeUnit.SECONDS).getCourses().size());
+    }
+
+    @Test
+    void waiterFallsBackAtItsOwnDeadline() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Future<PlatformFanOut.FanOutResult> leader = threads.submit(() -> coalescer.run(KEY, null, deadline(5000),
+            listener -> {
+                await(release);
+                return result(course("Python Basics"));
+            }, this::fallback));
+        awaitInFlight();
+
+        PlatformFanOut.FanOutResult waited = coalescer.run(KEY, null, deadline(50), listener -> result(), this::fallback);
+        release.countDown();
+
+        assertEquals("Fallback", waited.getCourses().get(0).getTitle());
+        assertEquals(1L, coalescer.getStatistics().get("waiterTimeouts"));
+        assertEquals("Python Basics", leader.get(5, TimeUnit.SECONDS).getCourses().get(0).getTitle());
+    }
+
+    @Test
+    void failedSearchReleasesWaitersWithTheSameFailure() throws Exception {
+        CountDownLatch joined = new CountDownLatch(1);
+        Future<PlatformFanOut.FanOutResult> leader = threads.submit(() -> coalescer.run(KEY, null, deadline(5000),
+            listener -> {
+                await(joined);
+                throw new IllegalStateException("fan-out failed");
+            }, this::fallback));
+        awaitInFlight();
+
+        Future<PlatformFanOut.FanOutResult> waiter = threads.submit(() -> coalescer.run(KEY, null, deadline(5000),
+            listener -> result(), this::fallback));
+        awaitCoalesced(1);
+        joined.countDown();
+
+        ExecutionException leaderFailure = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+        ExecutionException waiterFailure = assertThrows(ExecutionException.class, () -> waiter.get(5, TimeUnit.SECONDS));
+        assertEquals("fan-out failed", leaderFailure.getCause().getMessage());
+        assertEquals("fan-out failed", waiterFailure.getCause().getMessage());
+        assertEquals(0, coalescer.getStatistics().get("inFlight"));
+    }
+
+    @Test
+    void waitersGetTheirOwnCopyOfTheCourseList() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Future<PlatformFanOut.FanOutResult> leader = threads.submit(() -> coalescer.run(KEY, null, deadline(5000),
+            listener -> {
+                await(release);
+                return result(course("Python Basics"));
+            }, this::fallback));
+        awaitInFlight();
+
+        Future<PlatformFanOut.FanOutResult> waiter = threads.submit(() -> coalescer.run(KEY, null, deadline(5000),
+            listener -> result(), this::fallback));
+        awaitCoalesced(1);
+        release.countDown();
+
+        waiter.get(5, TimeUnit.SECONDS).getCourses().clear();
+        assertEquals(1, leader.get(5, TimeUnit.SECONDS).getCourses().size());
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        awaitStatistic("inFlight", 1);
+    }
+
+    private void awaitCoalesced(long count) throws InterruptedException {
+        awaitStatistic("coalesced", count);
+    }
+
+    private void awaitStatistic(String name, long expected) throws InterruptedException {
+        long until = System.currentTimeMillis() + 5000;
+        while (((Number) coalescer.getStatistics().get(name)).longValue() < expected) {
+            assertTrue(System.currentTimeMillis() < until, "timed out waiting for " + name);
+            Thread.sleep(5);
+        }
+    }
+
+    private PlatformFanOut.FanOutResult fallback() {
+        return result(course("Fallback"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static long deadline(long millis) {
+        return System.currentTimeMillis() + millis;
+    }
+
+    private static PlatformFanOut.FanOutResult result(Course... courses) {
+        return new PlatformFanOut.FanOutResult(new ArrayList<>(List.of(courses)), new ArrayList<>());
+    }
+
+    private static PlatformFanOut.PlatformOutcome outcome(String platform) {
+        return new PlatformFanOut.PlatformOutcome(platform, "enhanced", PlatformFanOut.Status.SUCCESS, 1, 10, null);
+    }
+
+    private static Course course(String title) {
+        Course course = new Course();
+        course.setTitle(title);
+        course.setPlatform("Udemy");
+        return course;
+    }
+}
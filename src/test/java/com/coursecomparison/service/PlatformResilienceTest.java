@@ -0,0 +1,128 @@
+package com.coursecomparison.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlatformResilienceTest {
+
+    private static final String HOST = "www.udemy.com";
+    private static final long OPEN_MS = 200;
+
+    private PlatformResilience resilience;
+
+    @BeforeEach
+    void setUp() {
+        resilience = new PlatformResilience();
+        ReflectionTestUtils.setField(resilience, "windowSize", 10);
+        ReflectionTestUtils.setField(resilience, "minimumCalls", 4);
+        ReflectionTestUtils.setField(resilience, "failureRateThreshold", 0.5);
+        ReflectionTestUtils.setField(resilience, "slowCallRateThreshold", 0.8);
+        ReflectionTestUtils.setField(resilience, "slowCallMs", 60_000L);
+        ReflectionTestUtils.setField(resilience, "openMs", OPEN_MS);
+        ReflectionTestUtils.setField(resilience, "maxOpenMs", 1_000L);
+        ReflectionTestUtils.setField(resilience, "halfOpenProbes", 2);
+        ReflectionTestUtils.setField(resilience, "initialLimit", 64);
+        ReflectionTestUtils.setField(resilience, "maxLimit", 64);
+        ReflectionTestUtils.setField(resilience, "maxRetries", 2);
+        ReflectionTestUtils.setField(resilience, "retryBudgetRatio", 0.2);
+        ReflectionTestUtils.setField(resilience, "backoffBaseMs", 100L);
+        ReflectionTestUtils.setField(resilience, "backoffMaxMs", 1_000L);
+    }
+
+    @Test
+    void hostsOfOnePlatformShareState() {
+        assertEquals("coursera.org", PlatformResilience.platformOf("api.coursera.org"));
+        assertEquals("coursera.org", PlatformResilience.platformOf("WWW.Coursera.org"));
+    }
+
+    @Test
+    void opensOnceTheFailureRateIsReachedAndFailsFast() throws IOException {
+        openCircuit();
+
+        assertEquals(PlatformResilience.State.OPEN, resilience.getState(HOST));
+        assertThrows(IOException.class, () -> resilience.acquire(HOST));
+        assertThrows(IOException.class, () -> resilience.checkAvailable("api.udemy.com"));
+    }
+
+    @Test
+    void successfulProbesCloseTheCircuit() throws Exception {
+        openCircuit();
+        Thread.sleep(OPEN_MS + 20);
+
+        PlatformResilience.Permit first = resilience.acquire(HOST);
+        assertTrue(first.isProbe());
+        first.success();
+        assertEquals(PlatformResilience.State.HALF_OPEN, resilience.getState(HOST));
+
+        PlatformResilience.Permit second = resilience.acquire(HOST);
+        assertTrue(second.isProbe());
+        assertThrows(IOException.class, () -> resilience.acquire(HOST), "no probes beyond the configured two");
+        second.success();
+        assertEquals(PlatformResilience.State.CLOSED, resilience.getState(HOST));
+        assertFalse(resilience.acquire(HOST).isProbe());
+    }
+
+    @Test
+    void failedProbeReopensTheCircuit() throws Exception {
+        openCircuit();
+        Thread.sleep(OPEN_MS + 20);
+
+        resilience.acquire(HOST).failure();
+
+        assertEquals(PlatformResilience.State.OPEN, resilience.getState(HOST));
+    }
+
+    @Test
+    void callAdmittedWhileClosedIsNotCountedAsAProbe() throws Exception {
+        PlatformResilience.Permit late = resilience.acquire(HOST);
+        openCircuit();
+        Thread.sleep(OPEN_MS + 20);
+        PlatformResilience.Permit probe = resilience.acquire(HOST);
+
+        late.failure();
+        assertEquals(PlatformResilience.State.HALF_OPEN, resilience.getState(HOST));
+
+        probe.success();
+        resilience.acquire(HOST).success();
+        assertEquals(PlatformResilience.State.CLOSED, resilience.getState(HOST));
+    }
+
+    @Test
+    void probeOfAnEarlierRoundDoesNotCountInTheNextOne() throws Exception {
+        openCircuit();
+        Thread.sleep(OPEN_MS + 20);
+        PlatformResilience.Permit stale = resilience.acquire(HOST);
+        resilience.acquire(HOST).failure();
+        Thread.sleep(2 * OPEN_MS + 20);
+        PlatformResilience.Permit probe = resilience.acquire(HOST);
+
+        stale.success();
+        probe.success();
+        assertEquals(PlatformResilience.State.HALF_OPEN, resilience.getState(HOST));
+    }
+
+    @Test
+    void retriesStopAtTheAttemptCap() {
+        assertTrue(resilience.tryRetry(HOST, 0));
+        assertTrue(resilience.tryRetry(HOST, 1));
+        assertFalse(resilience.tryRetry(HOST, 2));
+    }
+
+    @Test
+    void noRetriesWhileTheCircuitIsOpen() throws IOException {
+        openCircuit();
+
+        assertFalse(resilience.tryRetry(HOST, 0));
+    }
+
+    private void openCircuit() throws IOException {
+        for (int i = 0; i < 4; i++) {
+            resilience.acquire(HOST).failure();
+        }
+    }
+}
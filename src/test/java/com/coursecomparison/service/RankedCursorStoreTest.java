@@ -0,0 +1,113 @@
+package com.coursecomparison.service;
+
+import com.coursecomparison.model.Course;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankedCursorStoreTest {
+
+    private static final String SCOPE = "topic=python|user=7";
+
+    private RankedCursorStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new RankedCursorStore();
+        ReflectionTestUtils.setField(store, "ttlSeconds", 600L);
+        ReflectionTestUtils.setField(store, "maxSnapshots", 100L);
+        store.init();
+    }
+
+    @Test
+    void snapshotIsOrderedByScoreThenId() {
+        RankedCursorStore.RankedSnapshot snapshot = store.store(List.of(
+            course(3L, 0.5), course(1L, 0.9), course(2L, 0.5), course(4L, null)), SCOPE);
+
+        RankedCursorStore.CursorPage page = snapshot.page(0, 10);
+        assertEquals(List.of(1L, 2L, 3L, 4L), ids(page.getCourses()));
+        assertEquals(List.of(0.9, 0.5, 0.5, 0.0), page.getScores());
+        assertFalse(page.isHasMore());
+        assertSame(snapshot, store.find(snapshot.getId()).orElseThrow());
+    }
+
+    @Test
+    void followingNextCursorsVisitsEveryCourseOnce() {
+        List<Course> ranked = new ArrayList<>();
+        for (long id = 1; id <= 7; id++) {
+            ranked.add(course(id, id % 3 * 0.25));
+        }
+        RankedCursorStore.RankedSnapshot snapshot = store.store(ranked, SCOPE);
+
+        List<Long> seen = new ArrayList<>();
+        RankedCursorStore.CursorPage page = snapshot.page(0, 3);
+        seen.addAll(ids(page.getCourses()));
+        while (page.isHasMore()) {
+            RankedCursorStore.Cursor cursor = RankedCursorStore.decodeCursor(page.getNextCursor());
+            assertEquals(snapshot.getId(), cursor.getSnapshotId());
+            page = snapshot.page(snapshot.positionAfter(cursor.getScore(), cursor.getId()), 3);
+            seen.addAll(ids(page.getCourses()));
+        }
+
+        assertEquals(List.of(2L, 5L, 1L, 4L, 7L, 3L, 6L), seen);
+    }
+
+    @Test
+    void scoresWrittenAfterStoringDoNotReorderTheSnapshot() {
+        Course first = course(1L, 0.9);
+        Course second = course(2L, 0.1);
+        RankedCursorStore.RankedSnapshot snapshot = store.store(List.of(second, first), SCOPE);
+
+        second.setMcdmScore(1.0);
+
+        RankedCursorStore.CursorPage page = snapshot.page(0, 1);
+        assertEquals(List.of(1L), ids(page.getCourses()));
+        RankedCursorStore.Cursor cursor = RankedCursorStore.decodeCursor(page.getNextCursor());
+        assertEquals(1, snapshot.positionAfter(cursor.getScore(), cursor.getId()));
+    }
+
+    @Test
+    void cursorsCarryTheScopeOfTheirSnapshot() {
+        RankedCursorStore.RankedSnapshot snapshot = store.store(List.of(course(1L, 0.9), course(2L, 0.5)), SCOPE);
+
+        RankedCursorStore.Cursor cursor = RankedCursorStore.decodeCursor(snapshot.page(0, 1).getNextCursor());
+
+        assertEquals(RankedCursorStore.scopeHash(SCOPE), snapshot.getScopeHash());
+        assertEquals(snapshot.getScopeHash(), cursor.getScopeHash());
+        assertNotEquals(RankedCursorStore.scopeHash("topic=python|user=8"), cursor.getScopeHash());
+        assertNotEquals(RankedCursorStore.scopeHash("topic=java|user=7"), cursor.getScopeHash());
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        String missingParts = token("snapshot|0.5");
+        String badScore = token("snapshot|scope|high|1");
+
+        assertThrows(IllegalArgumentException.class, () -> RankedCursorStore.decodeCursor("not base64!"));
+        assertThrows(IllegalArgumentException.class, () -> RankedCursorStore.decodeCursor(missingParts));
+        assertThrows(IllegalArgumentException.class, () -> RankedCursorStore.decodeCursor(badScore));
+    }
+
+    private static String token(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<Long> ids(List<Course> courses) {
+        return courses.stream().map(Course::getId).collect(Collectors.toList());
+    }
+
+    private static Course course(Long id, Double score) {
+        Course course = new Course();
+        course.setId(id);
+        course.setTitle("Course " + id);
+        course.setPlatform("Udemy");
+        course.setMcdmScore(score);
+        return course;
+    }
+}